@@ -0,0 +1,13 @@
+package de.aboutyou;
+
+/**
+ * Stands in for the resource class generated by the Android build of the library; the benchmarks never load
+ * resources
+ */
+public final class R {
+
+    public static final class drawable {
+        public static final int ic_close = 0;
+    }
+
+}
@@ -0,0 +1,104 @@
+package de.aboutyou.benchmark;
+
+import com.squareup.okhttp.OkAuthenticator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import de.aboutyou.ShopApiClient;
+import de.aboutyou.internal.communication.ShopAuthenticationRequestInterceptor;
+import retrofit.RequestInterceptor;
+
+/**
+ * Measures the per-request cost of adding the Authorization header, compared to encoding the credentials for every
+ * request as the interceptor used to do
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthorizationHeaderBenchmark {
+
+    private static final String APP_ID = "1234";
+    private static final String APP_SECRET = "0123456789abcdef0123456789abcdef";
+
+    private ShopAuthenticationRequestInterceptor mInterceptor;
+    private ShopAuthenticationRequestInterceptor mProviderInterceptor;
+
+    @Setup
+    public void setUp() {
+        mInterceptor = new ShopAuthenticationRequestInterceptor(APP_ID, APP_SECRET);
+
+        mProviderInterceptor = new ShopAuthenticationRequestInterceptor(APP_ID, APP_SECRET);
+        mProviderInterceptor.setCredentialProvider(new ShopApiClient.CredentialProvider() {
+            @Override
+            public String getAppId() {
+                return APP_ID;
+            }
+
+            @Override
+            public String getAppSecret() {
+                return APP_SECRET;
+            }
+        });
+    }
+
+    @Benchmark
+    public void encodePerRequest(Blackhole blackhole) {
+        blackhole.consume(OkAuthenticator.Credential.basic(APP_ID, APP_SECRET).getHeaderValue());
+    }
+
+    @Benchmark
+    public void cachedHeader(Blackhole blackhole) {
+        mInterceptor.intercept(new HeaderFacade(blackhole));
+    }
+
+    @Benchmark
+    public void credentialProvider(Blackhole blackhole) {
+        mProviderInterceptor.intercept(new HeaderFacade(blackhole));
+    }
+
+    private static class HeaderFacade implements RequestInterceptor.RequestFacade {
+
+        private final Blackhole mBlackhole;
+
+        private HeaderFacade(Blackhole blackhole) {
+            mBlackhole = blackhole;
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            mBlackhole.consume(value);
+        }
+
+        @Override
+        public void addPathParam(String name, String value) {
+        }
+
+        @Override
+        public void addEncodedPathParam(String name, String value) {
+        }
+
+        @Override
+        public void addQueryParam(String name, String value) {
+        }
+
+        @Override
+        public void addEncodedQueryParam(String name, String value) {
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+package de.aboutyou.benchmark;
+
+import java.io.IOException;
+
+import de.aboutyou.ClientConfiguration;
+import de.aboutyou.ShopApiClient;
+import de.aboutyou.enums.Endpoint;
+import de.aboutyou.internal.communication.OperationTimeoutClient;
+import retrofit.client.Request;
+import retrofit.client.Response;
+
+/**
+ * A {@link de.aboutyou.ShopApiClient} talking to a {@link de.aboutyou.benchmark.StubCollinsServer} over OkHttp, with
+ * the connection pool and timeouts of a default {@link de.aboutyou.ClientConfiguration}
+ */
+public class BenchmarkShopApiClient extends ShopApiClient {
+
+    public BenchmarkShopApiClient(StubCollinsServer server) {
+        this(server, new ClientConfiguration.Builder().build());
+    }
+
+    private BenchmarkShopApiClient(StubCollinsServer server, ClientConfiguration configuration) {
+        super("benchmark", "benchmark", Endpoint.STAGE, null, configuration, new RedirectingClient(server, configuration));
+    }
+
+    /** The client the {@link de.aboutyou.ShopApiClient} builds from the configuration, sending all requests to the server */
+    private static class RedirectingClient extends OperationTimeoutClient {
+
+        private final StubCollinsServer mServer;
+
+        private RedirectingClient(StubCollinsServer server, ClientConfiguration configuration) {
+            super(configuration.createOkHttpClient(), configuration.getReadTimeoutsMillis());
+            mServer = server;
+        }
+
+        @Override
+        public Response execute(Request request) throws IOException {
+            return super.execute(mServer.redirect(request));
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package de.aboutyou.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import de.aboutyou.ShopApiClient;
+import de.aboutyou.models.CategoryTree;
+import de.aboutyou.models.LiveVariant;
+import de.aboutyou.models.Product;
+import de.aboutyou.models.ProductSearch;
+import de.aboutyou.request.LiveVariantRequest;
+import de.aboutyou.request.ProductSearchRequest;
+import de.aboutyou.request.ProductsRequest;
+
+/**
+ * Measures complete calls through OkHttp, Retrofit and Gson against a local
+ * {@link de.aboutyou.benchmark.StubCollinsServer}. The sample time mode reports the latency distribution including
+ * p50 and p99, the throughput mode requests per second. Concurrency is set with JMH's thread count, e.g.
+ * {@code -Pjmh="EndToEndBenchmark -t 8 -p latencyMillis=20"}.
+ * <p>
+ * All caches of the client are disabled, so every call goes over the network.
+ */
+@BenchmarkMode({Mode.SampleTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EndToEndBenchmark {
+
+    /** Number of products, variants or root categories in each response */
+    @Param({"10", "100"})
+    public int size;
+
+    /** Time the stub server waits before answering, simulating the backend and the network */
+    @Param({"0", "20"})
+    public long latencyMillis;
+
+    private StubCollinsServer mServer;
+    private ShopApiClient mShopApiClient;
+
+    private ProductSearchRequest mProductSearchRequest;
+    private ProductsRequest mProductsRequest;
+    private LiveVariantRequest mLiveVariantRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        mServer = new StubCollinsServer(size, latencyMillis);
+        mServer.start();
+
+        mShopApiClient = new BenchmarkShopApiClient(mServer);
+        mShopApiClient.setLiveVariantCacheTtl(0, TimeUnit.MILLISECONDS);
+
+        List<Long> productIds = new ArrayList<>(size);
+        List<Long> variantIds = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            productIds.add(100000l + i);
+            variantIds.add(500000l + i);
+        }
+
+        mProductSearchRequest = new ProductSearchRequest.Builder("benchmark").limit(size).build();
+        mProductsRequest = new ProductsRequest.Builder().filterByProductIds(productIds).build();
+        mLiveVariantRequest = new LiveVariantRequest.Builder().filterByVariantIds(variantIds).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        mServer.stop();
+    }
+
+    @Benchmark
+    public ProductSearch productSearch() {
+        return mShopApiClient.requestProductSearch(mProductSearchRequest);
+    }
+
+    @Benchmark
+    public List<Product> products() {
+        return mShopApiClient.requestProducts(mProductsRequest);
+    }
+
+    @Benchmark
+    public List<LiveVariant> liveVariants() {
+        return mShopApiClient.requestLiveVariants(mLiveVariantRequest);
+    }
+
+    @Benchmark
+    public CategoryTree categoryTree() {
+        return mShopApiClient.requestCategoryTree();
+    }
+
+}
@@ -0,0 +1,165 @@
+package de.aboutyou.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+import de.aboutyou.internal.response.BasketResponse;
+import de.aboutyou.internal.response.CategoryTreeResponse;
+import de.aboutyou.internal.response.FacetsResponse;
+import de.aboutyou.internal.response.ProductSearchResponse;
+import de.aboutyou.internal.response.ProductsResponse;
+import de.aboutyou.internal.response.SuggestResponse;
+import de.aboutyou.internal.util.GsonFactory;
+import de.aboutyou.internal.wrapper.ProductSearchStreamReader;
+import de.aboutyou.internal.wrapper.ResponseEnvelope;
+import de.aboutyou.models.Product;
+import de.aboutyou.models.ProductSearch;
+import de.aboutyou.models.Suggest;
+import retrofit.mime.TypedByteArray;
+
+/**
+ * Measures deserialization of response bodies with the Gson configuration of the
+ * {@link de.aboutyou.ShopApiClient}, reading from a byte stream like the Retrofit converter does. Run with the GC
+ * profiler to see the allocation rate of each parse path. The benchmarks ending in Reflective parse the same payloads
+ * with the reflective suggest deserializer used before, as a baseline.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseBenchmark {
+
+    private static final String MIME_TYPE = "application/json; charset=UTF-8";
+
+    private static final Type PRODUCT_SEARCH_TYPE = new TypeToken<ResponseEnvelope<ProductSearchResponse>>() {}.getType();
+    private static final Type PRODUCTS_TYPE = new TypeToken<ResponseEnvelope<ProductsResponse>>() {}.getType();
+    private static final Type CATEGORY_TREE_TYPE = new TypeToken<ResponseEnvelope<CategoryTreeResponse>>() {}.getType();
+    private static final Type FACETS_TYPE = new TypeToken<ResponseEnvelope<FacetsResponse>>() {}.getType();
+    private static final Type BASKET_TYPE = new TypeToken<ResponseEnvelope<BasketResponse>>() {}.getType();
+    private static final Type SUGGEST_TYPE = new TypeToken<ResponseEnvelope<SuggestResponse>>() {}.getType();
+
+    /** Number of products, order lines, facets, suggestions or root categories in each payload */
+    @Param({"10", "100", "500"})
+    public int size;
+
+    private Gson mGson;
+    /** The Gson configuration with the reflective suggest deserializer used before the streaming type adapter */
+    private Gson mReflectiveGson;
+
+    private byte[] mProductSearch;
+    private byte[] mProducts;
+    private byte[] mCategoryTree;
+    private byte[] mFacets;
+    private byte[] mBasket;
+    private byte[] mSuggest;
+    private byte[] mSuggestError;
+
+    @Setup
+    public void setUp() {
+        mGson = GsonFactory.create();
+        mReflectiveGson = GsonFactory.builder()
+                .registerTypeAdapter(Suggest.class, new ReflectiveSuggestDeserializer())
+                .create();
+
+        mProductSearch = Payloads.productSearch(size);
+        mProducts = Payloads.products(size);
+        mCategoryTree = Payloads.categoryTree(size);
+        mFacets = Payloads.facets(size);
+        mBasket = Payloads.basket(size);
+        mSuggest = Payloads.suggest(size);
+        mSuggestError = Payloads.suggestError();
+    }
+
+    @Benchmark
+    public Object productSearch() throws IOException {
+        return parse(mProductSearch, PRODUCT_SEARCH_TYPE);
+    }
+
+    @Benchmark
+    public ProductSearch productSearchStreamed(final Blackhole blackhole) throws IOException {
+        return ProductSearchStreamReader.read(mGson, new TypedByteArray(MIME_TYPE, mProductSearch), new ProductSearchStreamReader.ProductHandler() {
+            @Override
+            public void handle(Product product) {
+                blackhole.consume(product);
+            }
+        });
+    }
+
+    @Benchmark
+    public Object products() throws IOException {
+        return parse(mProducts, PRODUCTS_TYPE);
+    }
+
+    /** Includes building the index of the {@link de.aboutyou.models.CategoryTree} */
+    @Benchmark
+    public Object categoryTree() throws IOException {
+        return parse(mCategoryTree, CATEGORY_TREE_TYPE).unwrap().get();
+    }
+
+    @Benchmark
+    public Object facets() throws IOException {
+        return parse(mFacets, FACETS_TYPE);
+    }
+
+    @Benchmark
+    public Object basket() throws IOException {
+        return parse(mBasket, BASKET_TYPE);
+    }
+
+    @Benchmark
+    public Object suggest() throws IOException {
+        return parse(mSuggest, SUGGEST_TYPE);
+    }
+
+    @Benchmark
+    public Object suggestReflective() throws IOException {
+        return parse(mReflectiveGson, mSuggest, SUGGEST_TYPE);
+    }
+
+    /** Does not depend on the size, the error object is the same for every payload */
+    @Benchmark
+    public Object suggestError() throws IOException {
+        return parse(mSuggestError, SUGGEST_TYPE);
+    }
+
+    @Benchmark
+    public Object suggestErrorReflective() throws IOException {
+        return parse(mReflectiveGson, mSuggestError, SUGGEST_TYPE);
+    }
+
+    private ResponseEnvelope<?> parse(byte[] body, Type type) throws IOException {
+        return parse(mGson, body, type);
+    }
+
+    private static ResponseEnvelope<?> parse(Gson gson, byte[] body, Type type) throws IOException {
+        Reader reader = new InputStreamReader(new ByteArrayInputStream(body), "UTF-8");
+        try {
+            return gson.fromJson(reader, type);
+        } finally {
+            reader.close();
+        }
+    }
+
+}
@@ -0,0 +1,170 @@
+package de.aboutyou.benchmark;
+
+import java.nio.charset.Charset;
+
+/**
+ * Builds response bodies shaped like the ones recorded from the live API, with a configurable number of elements.
+ * The values are deterministic, so runs with the same size parse exactly the same bytes.
+ */
+public abstract class Payloads {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final int VARIANTS_PER_PRODUCT = 4;
+    private static final int IMAGES_PER_VARIANT = 3;
+    private static final int SUB_CATEGORIES = 8;
+
+    public static byte[] productSearch(int productCount) {
+        StringBuilder json = new StringBuilder("[{\"product_search\":{\"product_count\":").append(productCount * 10);
+        json.append(",\"facets\":{\"prices\":{\"ranges\":[{\"count\":12,\"from\":0,\"to\":2000,\"total_count\":12,\"total\":18000,\"mean\":1500.0}]},");
+        json.append("\"sale\":{\"total\":").append(productCount).append(",\"other\":0,\"missing\":0,\"terms\":[{\"count\":3,\"term\":\"1\"}]},");
+        json.append("\"categories\":[{\"count\":").append(productCount).append(",\"term\":16077}]},\"products\":[");
+        for (int i = 0; i < productCount; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(100000 + i).append(",\"name\":\"Sneaker ").append(i).append("\"}");
+        }
+        return json.append("]}}]").toString().getBytes(UTF_8);
+    }
+
+    public static byte[] products(int productCount) {
+        StringBuilder json = new StringBuilder("[{\"products\":{\"ids\":{");
+        for (int i = 0; i < productCount; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            long id = 100000 + i;
+            json.append('"').append(id).append("\":");
+            appendProduct(json, id);
+        }
+        return json.append("}}}]").toString().getBytes(UTF_8);
+    }
+
+    public static byte[] categoryTree(int rootCount) {
+        StringBuilder json = new StringBuilder("[{\"category_tree\":[");
+        long id = 1;
+        for (int i = 0; i < rootCount; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            long rootId = id++;
+            json.append("{\"id\":").append(rootId).append(",\"name\":\"Kategorie ").append(rootId)
+                    .append("\",\"parent\":null,\"active\":true,\"position\":").append(i).append(",\"sub_categories\":[");
+            for (int j = 0; j < SUB_CATEGORIES; j++) {
+                if (j > 0) {
+                    json.append(',');
+                }
+                long subId = id++;
+                json.append("{\"id\":").append(subId).append(",\"name\":\"Kategorie ").append(subId)
+                        .append("\",\"parent\":").append(rootId).append(",\"active\":").append(j % 3 != 0)
+                        .append(",\"position\":").append(j).append(",\"sub_categories\":[]}");
+            }
+            json.append("]}");
+        }
+        return json.append("]}]").toString().getBytes(UTF_8);
+    }
+
+    public static byte[] facets(int facetCount) {
+        StringBuilder json = new StringBuilder("[{\"facets\":{\"facet\":[");
+        for (int i = 0; i < facetCount; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i % 7).append(",\"facet_id\":").append(1000 + i)
+                    .append(",\"name\":\"Facette ").append(i).append("\",\"value\":\"facette_").append(i)
+                    .append("\",\"group_name\":\"group_").append(i % 7).append("\"}");
+        }
+        return json.append("],\"hits\":").append(facetCount).append("}}]").toString().getBytes(UTF_8);
+    }
+
+    public static byte[] basket(int orderLineCount) {
+        StringBuilder json = new StringBuilder("[{\"basket\":{\"total_price\":").append(orderLineCount * 4999)
+                .append(",\"total_net\":").append(orderLineCount * 4201).append(",\"total_vat\":").append(orderLineCount * 798)
+                .append(",\"order_lines\":[");
+        for (int i = 0; i < orderLineCount; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"line").append(i).append("\",\"variant_id\":").append(500000 + i).append('}');
+        }
+        json.append("],\"products\":{");
+        for (int i = 0; i < orderLineCount; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            long id = 100000 + i;
+            json.append('"').append(id).append("\":");
+            appendProduct(json, id);
+        }
+        return json.append("}}}]").toString().getBytes(UTF_8);
+    }
+
+    public static byte[] suggest(int suggestionCount) {
+        StringBuilder json = new StringBuilder("[{\"suggest\":[");
+        for (int i = 0; i < suggestionCount; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("\"schuhe ").append(i).append('"');
+        }
+        return json.append("]}]").toString().getBytes(UTF_8);
+    }
+
+    /** A suggest response in which the backend replaced the result with an error object */
+    public static byte[] suggestError() {
+        return "[{\"suggest\":{\"error_code\":400,\"error_message\":[\"searchword: This value should not be blank.\"]}}]".getBytes(UTF_8);
+    }
+
+    public static byte[] liveVariants(int variantCount) {
+        StringBuilder json = new StringBuilder("[{\"live_variant\":{");
+        for (int i = 0; i < variantCount; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            long id = 500000 + i;
+            json.append('"').append(id).append("\":{\"id\":").append(id).append(",\"product_id\":").append(100000 + i / VARIANTS_PER_PRODUCT)
+                    .append(",\"available_stock\":").append(i % 20).append(",\"price\":3999}");
+        }
+        return json.append("}}]").toString().getBytes(UTF_8);
+    }
+
+    private static void appendProduct(StringBuilder json, long id) {
+        json.append("{\"id\":").append(id).append(",\"name\":\"Sneaker ").append(id)
+                .append("\",\"active\":true,\"sale\":").append(id % 2 == 0).append(",\"brand_id\":").append(id % 50)
+                .append(",\"min_price\":3999,\"max_price\":5999")
+                .append(",\"description_short\":\"Ein leichter Sneaker aus Leder\"")
+                .append(",\"description_long\":\"Ein leichter Sneaker aus Leder mit Gummisohle und gepolstertem Schaft.\"")
+                .append(",\"default_image\":");
+        appendImage(json, id);
+        json.append(",\"variants\":[");
+        for (int i = 0; i < VARIANTS_PER_PRODUCT; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            long variantId = id * 10 + i;
+            json.append("{\"id\":").append(variantId).append(",\"ean\":\"40").append(variantId)
+                    .append("\",\"default\":").append(i == 0).append(",\"price\":3999,\"old_price\":5999,\"retail_price\":3999")
+                    .append(",\"quantity\":").append(i * 3)
+                    .append(",\"updated_date\":\"01-04-2014 12:30:00\",\"first_sale_date\":\"01-03-2014 08:00:00\"")
+                    .append(",\"first_active_date\":\"28-02-2014 18:15:00\",\"images\":[");
+            for (int j = 0; j < IMAGES_PER_VARIANT; j++) {
+                if (j > 0) {
+                    json.append(',');
+                }
+                appendImage(json, variantId * 10 + j);
+            }
+            json.append("],\"attributes\":{\"attributes_0\":[").append(id % 50).append("],\"attributes_1\":[")
+                    .append(40 + i).append("],\"attributes_2\":[").append(570 + i).append(',').append(571 + i)
+                    .append("],\"attributes_206\":[").append(9000 + i).append("]}}");
+        }
+        json.append("]}");
+    }
+
+    private static void appendImage(StringBuilder json, long seed) {
+        json.append("{\"hash\":\"").append(Long.toHexString(seed * 0x9E3779B97F4A7C15L))
+                .append("\",\"ext\":\".jpg\",\"mime\":\"image/jpeg\",\"size\":").append(40000 + seed % 1000)
+                .append(",\"image\":{\"width\":800,\"height\":1200}}");
+    }
+
+}
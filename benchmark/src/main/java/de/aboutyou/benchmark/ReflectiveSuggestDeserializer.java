@@ -0,0 +1,81 @@
+package de.aboutyou.benchmark;
+
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.aboutyou.models.Suggest;
+
+/**
+ * The tree based deserializer {@link de.aboutyou.models.Suggest} was parsed with before
+ * {@link de.aboutyou.internal.typeadapter.SuggestTypeAdapter}: it sets the list through reflection and looks up the
+ * error fields of {@link de.aboutyou.models.BaseModel} by their annotations on every call. Kept as the baseline of
+ * {@link de.aboutyou.benchmark.ParseBenchmark}.
+ */
+public class ReflectiveSuggestDeserializer implements JsonDeserializer<Suggest> {
+
+    @Override
+    public Suggest deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
+        Suggest suggest = new Suggest();
+        boolean isErrorObject = false;
+
+        try {
+            List<String> objects = context.deserialize(json, new TypeToken<ArrayList<String>>() {
+            }.getType());
+
+            Field delegate = Suggest.class.getDeclaredField("delegate");
+            delegate.setAccessible(true);
+            delegate.set(suggest, objects);
+        } catch (JsonParseException e) {
+            isErrorObject = true;
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new JsonParseException("");
+        }
+
+        if (isErrorObject) {
+            deserializeError(json, suggest, context);
+        }
+
+        return suggest;
+    }
+
+    private static void deserializeError(JsonElement json, Suggest target, JsonDeserializationContext context) {
+        JsonObject errorObject = json.getAsJsonObject();
+
+        Field[] fields = target.getClass().getSuperclass().getDeclaredFields();
+        for (Field field : fields) {
+            String fieldName = field.getName();
+            Type fieldType = field.getType();
+
+            String serializedName;
+            if (field.isAnnotationPresent(SerializedName.class)) {
+                SerializedName annotation = field.getAnnotation(SerializedName.class);
+                serializedName = annotation.value();
+            } else {
+                serializedName = fieldName;
+            }
+
+            try {
+                JsonElement elem = errorObject.get(serializedName);
+                if (elem != null) {
+                    Object fieldData = context.deserialize(elem, fieldType);
+
+                    field.setAccessible(true);
+                    field.set(target, fieldData);
+                }
+            } catch (IllegalAccessException e) {
+                throw new JsonParseException(String.format("Error parsing %s into %s.", serializedName, fieldName));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+package de.aboutyou.benchmark;
+
+import com.google.gson.Gson;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import de.aboutyou.enums.Direction;
+import de.aboutyou.enums.FacetType;
+import de.aboutyou.enums.ProductFields;
+import de.aboutyou.enums.Sortby;
+import de.aboutyou.internal.util.GsonFactory;
+import de.aboutyou.internal.wrapper.RequestEnvelope;
+import de.aboutyou.models.AddOrderLine;
+import de.aboutyou.models.OrderLine;
+import de.aboutyou.request.BasketModifyRequest;
+import de.aboutyou.request.ProductSearchRequest;
+import de.aboutyou.request.ProductsRequest;
+
+/** Measures serialization of request envelopes with the Gson configuration of the {@link de.aboutyou.ShopApiClient} */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    /** Number of product ids, order lines and facet ids in each request */
+    @Param({"10", "100", "500"})
+    public int size;
+
+    private Gson mGson;
+
+    private RequestEnvelope<ProductSearchRequest> mProductSearchRequest;
+    private RequestEnvelope<ProductsRequest> mProductsRequest;
+    private RequestEnvelope<BasketModifyRequest> mBasketModifyRequest;
+
+    @Setup
+    public void setUp() {
+        mGson = GsonFactory.create();
+
+        List<Long> ids = new ArrayList<>(size);
+        List<OrderLine> orderLines = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ids.add(100000l + i);
+            orderLines.add(new AddOrderLine("line" + i, 500000l + i));
+        }
+
+        Map<FacetType, List<Long>> facets = new HashMap<>();
+        facets.put(FacetType.COLOR, ids);
+        facets.put(FacetType.BRAND, Arrays.asList(1l, 2l, 3l));
+
+        mProductSearchRequest = RequestEnvelope.wrap(new ProductSearchRequest.Builder("benchmark")
+                .filterByCategories(Arrays.asList(16077l, 16080l))
+                .filterByFacets(facets)
+                .filterByMinPrice(1000)
+                .filterByMaxPrice(10000)
+                .sortBy(Sortby.PRICE, Direction.ASC)
+                .limit(100)
+                .build());
+        mProductsRequest = RequestEnvelope.wrap(new ProductsRequest.Builder()
+                .filterByProductIds(ids)
+                .listFields(Arrays.asList(ProductFields.values()))
+                .build());
+        mBasketModifyRequest = RequestEnvelope.wrap(new BasketModifyRequest.Builder("benchmark")
+                .setOrderLines(orderLines)
+                .build());
+    }
+
+    @Benchmark
+    public String productSearchRequest() {
+        return mGson.toJson(mProductSearchRequest);
+    }
+
+    @Benchmark
+    public String productsRequest() {
+        return mGson.toJson(mProductsRequest);
+    }
+
+    @Benchmark
+    public String basketModifyRequest() {
+        return mGson.toJson(mBasketModifyRequest);
+    }
+
+}
@@ -0,0 +1,130 @@
+package de.aboutyou.benchmark;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import retrofit.client.Request;
+
+/**
+ * An in-process HTTP server standing in for the shop API. It answers every operation of a request envelope with a
+ * canned response slot from {@link de.aboutyou.benchmark.Payloads} of the configured size, after the configured
+ * latency.
+ */
+public class StubCollinsServer {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final String API_PATH = "/api";
+
+    private final int mPayloadSize;
+    private final long mLatencyMillis;
+    private final Map<String, String> mSlots = new HashMap<>();
+
+    private HttpServer mServer;
+    private ExecutorService mExecutor;
+
+    public StubCollinsServer(int payloadSize, long latencyMillis) {
+        mPayloadSize = payloadSize;
+        mLatencyMillis = latencyMillis;
+
+        addSlot(Payloads.productSearch(payloadSize));
+        addSlot(Payloads.products(payloadSize));
+        addSlot(Payloads.categoryTree(payloadSize));
+        addSlot(Payloads.facets(payloadSize));
+        addSlot(Payloads.basket(payloadSize));
+        addSlot(Payloads.suggest(payloadSize));
+        addSlot(Payloads.liveVariants(payloadSize));
+    }
+
+    public void start() throws IOException {
+        mServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        mExecutor = Executors.newCachedThreadPool();
+        mServer.setExecutor(mExecutor);
+        mServer.createContext(API_PATH, new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                try {
+                    respond(exchange);
+                } finally {
+                    exchange.close();
+                }
+            }
+        });
+        mServer.start();
+    }
+
+    public void stop() {
+        mServer.stop(0);
+        mExecutor.shutdownNow();
+    }
+
+    public String getUrl() {
+        return String.format("http://127.0.0.1:%d", mServer.getAddress().getPort());
+    }
+
+    public int getPayloadSize() {
+        return mPayloadSize;
+    }
+
+    /** Returns the given request sent to this server instead of the configured endpoint */
+    public Request redirect(Request request) {
+        String url = request.getUrl();
+        int pathStart = url.indexOf('/', url.indexOf("://") + 3);
+        String redirectedUrl = getUrl() + (pathStart >= 0 ? url.substring(pathStart) : "");
+        return new Request(request.getMethod(), redirectedUrl, request.getHeaders(), request.getBody());
+    }
+
+    private void addSlot(byte[] envelope) {
+        JsonObject slot = new JsonParser().parse(new String(envelope, UTF_8)).getAsJsonArray().get(0).getAsJsonObject();
+        for (Entry<String, JsonElement> entry : slot.entrySet()) {
+            mSlots.put(entry.getKey(), slot.toString());
+        }
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        JsonArray operations = new JsonParser().parse(new InputStreamReader(exchange.getRequestBody(), UTF_8)).getAsJsonArray();
+
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < operations.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            String operation = operations.get(i).getAsJsonObject().entrySet().iterator().next().getKey();
+            String slot = mSlots.get(operation);
+            json.append(slot != null ? slot : "{}");
+        }
+        byte[] body = json.append(']').toString().getBytes(UTF_8);
+
+        if (mLatencyMillis > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(mLatencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(200, body.length);
+        OutputStream out = exchange.getResponseBody();
+        out.write(body);
+        out.close();
+    }
+
+}
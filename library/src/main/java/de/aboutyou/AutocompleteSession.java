@@ -0,0 +1,297 @@
+package de.aboutyou;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import de.aboutyou.enums.AutocompleteType;
+import de.aboutyou.exceptions.CollinsException;
+import de.aboutyou.internal.util.SearchwordUtil;
+import de.aboutyou.models.Autocomplete;
+import de.aboutyou.models.BatchResult;
+import de.aboutyou.models.Category;
+import de.aboutyou.models.Product;
+import de.aboutyou.models.Suggest;
+import de.aboutyou.request.AutocompleteRequest;
+import de.aboutyou.request.CollinsRequest;
+import de.aboutyou.request.SuggestRequest;
+
+/**
+ * Requests autocompletions and suggestions while the user types into a search box
+ * <p>
+ * Obtain an instance using {@link de.aboutyou.ShopApiClient#autocompleteSession(de.aboutyou.ShopApiClient.AutocompleteListener)}
+ * and pass every change of the text to {@link #setSearchword(String)}. A request is only made once the text has not
+ * changed for the debounce interval; autocompletion and suggestions are fetched in a single batch. A new searchword
+ * cancels the request for the previous one, and results for outdated searchwords are never reported.
+ * <p>
+ * Results are remembered per searchword. If the results for a prefix of the searchword were complete, i.e. fewer than
+ * the limit, the results for the longer searchword are filtered from them locally by a case insensitive match on the
+ * product and category names and the suggestions, without a network call.
+ */
+public class AutocompleteSession {
+
+    /** Runs the debounced requests, replaceable to drive the debounce without waiting in tests */
+    interface Scheduler {
+        public Future<?> schedule(Runnable command, long delay, TimeUnit unit);
+    }
+
+    private static final long DEFAULT_DEBOUNCE_MILLIS = 150;
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_CACHED_RESULTS = 32;
+
+    private final ShopApiClient mShopApiClient;
+    private final ShopApiClient.AutocompleteListener mListener;
+    private final Map<String, Results> mResults = new LinkedHashMap<String, Results>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Results> eldest) {
+            return size() > MAX_CACHED_RESULTS;
+        }
+    };
+
+    private long mDebounceMillis = DEFAULT_DEBOUNCE_MILLIS;
+    private int mLimit = DEFAULT_LIMIT;
+    private List<AutocompleteType> mTypes;
+    private boolean mAutocompleteEnabled = true;
+    private boolean mSuggestEnabled = true;
+
+    private Scheduler mScheduler;
+    private int mGeneration;
+    private Future<?> mPending;
+
+    AutocompleteSession(final ShopApiClient shopApiClient, ShopApiClient.AutocompleteListener listener) {
+        mShopApiClient = shopApiClient;
+        mListener = listener;
+        mScheduler = new Scheduler() {
+            @Override
+            public Future<?> schedule(Runnable command, long delay, TimeUnit unit) {
+                return shopApiClient.schedule(command, delay, unit);
+            }
+        };
+    }
+
+    synchronized AutocompleteSession setScheduler(Scheduler scheduler) {
+        mScheduler = scheduler;
+        return this;
+    }
+
+    /** Sets how long the searchword has to stay unchanged before a request is made, defaults to 150 milliseconds */
+    public synchronized AutocompleteSession setDebounce(long debounce, TimeUnit unit) {
+        if (debounce < 0) {
+            throw new IllegalArgumentException("debounce must not be negative");
+        }
+        mDebounceMillis = unit.toMillis(debounce);
+        return this;
+    }
+
+    /** Sets the maximum number of results per type, defaults to 10 */
+    public synchronized AutocompleteSession setLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        mLimit = limit;
+        mResults.clear();
+        return this;
+    }
+
+    /** Restricts autocompletion to the given types, null for all types */
+    public synchronized AutocompleteSession setTypes(List<AutocompleteType> types) {
+        mTypes = types;
+        mResults.clear();
+        return this;
+    }
+
+    /** Sets whether autocompletion and suggestions are requested, both default to true */
+    public synchronized AutocompleteSession setEnabled(boolean autocompleteEnabled, boolean suggestEnabled) {
+        if (!autocompleteEnabled && !suggestEnabled) {
+            throw new IllegalArgumentException("At least one of autocompletion and suggestions must be enabled");
+        }
+        mAutocompleteEnabled = autocompleteEnabled;
+        mSuggestEnabled = suggestEnabled;
+        mResults.clear();
+        return this;
+    }
+
+    /**
+     * Updates the searchword, call this for every change of the text in the search box
+     *
+     * @param searchword The current text, null or blank to only cancel the pending request
+     */
+    public synchronized void setSearchword(final String searchword) {
+        final int generation = ++mGeneration;
+        cancelPending();
+        if (searchword == null || searchword.trim().isEmpty()) {
+            return;
+        }
+
+        final String key = SearchwordUtil.normalize(searchword);
+        final Results cachedResults = findResults(key);
+        if (cachedResults != null) {
+            mPending = mShopApiClient.submitAsync(new Callable<Results>() {
+                @Override
+                public Results call() {
+                    return cachedResults;
+                }
+            }, new ResultCallback(searchword, generation));
+        } else if (mDebounceMillis == 0) {
+            mPending = request(searchword, key, generation);
+        } else {
+            mPending = mScheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (AutocompleteSession.this) {
+                        if (generation == mGeneration) {
+                            mPending = request(searchword, key, generation);
+                        }
+                    }
+                }
+            }, mDebounceMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Cancels the pending request; results for the current searchword are not reported anymore */
+    public synchronized void cancel() {
+        mGeneration++;
+        cancelPending();
+    }
+
+    private void cancelPending() {
+        if (mPending != null) {
+            mPending.cancel(true);
+            mPending = null;
+        }
+    }
+
+    private Future<Results> request(String searchword, final String key, int generation) {
+        final int limit = mLimit;
+        final AutocompleteRequest autocompleteRequest = mAutocompleteEnabled
+                ? new AutocompleteRequest.Builder(searchword).limit(limit).filterByTypes(mTypes).build()
+                : null;
+        final SuggestRequest suggestRequest = mSuggestEnabled
+                ? new SuggestRequest.Builder(searchword).limit(limit).build()
+                : null;
+
+        return mShopApiClient.submitAsync(new Callable<Results>() {
+            @Override
+            public Results call() {
+                List<CollinsRequest> requests = new ArrayList<>(2);
+                if (autocompleteRequest != null) {
+                    requests.add(autocompleteRequest);
+                }
+                if (suggestRequest != null) {
+                    requests.add(suggestRequest);
+                }
+
+                BatchResult batchResult = mShopApiClient.requestBatch(requests);
+                Results results = new Results(
+                        autocompleteRequest != null ? batchResult.get(autocompleteRequest) : null,
+                        suggestRequest != null ? batchResult.get(suggestRequest) : null);
+                synchronized (AutocompleteSession.this) {
+                    if (limit == mLimit) {
+                        mResults.put(key, results);
+                    }
+                }
+                return results;
+            }
+        }, new ResultCallback(searchword, generation));
+    }
+
+    /** Returns the results for the key, either remembered or filtered from the complete results of a prefix */
+    private Results findResults(String key) {
+        Results results = mResults.get(key);
+        if (results != null) {
+            return results;
+        }
+
+        for (int length = key.length() - 1; length > 0; length--) {
+            Results prefixResults = mResults.get(key.substring(0, length));
+            if (prefixResults != null && prefixResults.isComplete(mLimit)) {
+                return prefixResults.filter(key);
+            }
+        }
+        return null;
+    }
+
+    private synchronized boolean isCurrent(int generation) {
+        return generation == mGeneration;
+    }
+
+    private class ResultCallback implements ShopApiClient.RequestCallback<Results> {
+
+        private final String mSearchword;
+        private final int mGeneration;
+
+        private ResultCallback(String searchword, int generation) {
+            mSearchword = searchword;
+            mGeneration = generation;
+        }
+
+        @Override
+        public void onSuccess(Results results) {
+            if (isCurrent(mGeneration)) {
+                mListener.onResult(mSearchword, results.mAutocomplete, results.mSuggest);
+            }
+        }
+
+        @Override
+        public void onFailure(CollinsException exception) {
+            if (isCurrent(mGeneration)) {
+                mListener.onFailure(mSearchword, exception);
+            }
+        }
+    }
+
+    private static class Results {
+
+        private final Autocomplete mAutocomplete;
+        private final Suggest mSuggest;
+
+        private Results(Autocomplete autocomplete, Suggest suggest) {
+            mAutocomplete = autocomplete;
+            mSuggest = suggest;
+        }
+
+        private boolean isComplete(int limit) {
+            if (mAutocomplete != null && (mAutocomplete.getProducts().size() >= limit || mAutocomplete.getCategories().size() >= limit)) {
+                return false;
+            }
+            return mSuggest == null || mSuggest.size() < limit;
+        }
+
+        private Results filter(String key) {
+            Autocomplete autocomplete = null;
+            if (mAutocomplete != null) {
+                List<Product> products = new ArrayList<>();
+                for (Product product : mAutocomplete.getProducts()) {
+                    if (SearchwordUtil.matches(product.getName(), key)) {
+                        products.add(product);
+                    }
+                }
+                List<Category> categories = new ArrayList<>();
+                for (Category category : mAutocomplete.getCategories()) {
+                    if (SearchwordUtil.matches(category.getName(), key)) {
+                        categories.add(category);
+                    }
+                }
+                autocomplete = new Autocomplete();
+                autocomplete.setProducts(products);
+                autocomplete.setCategories(categories);
+            }
+
+            Suggest suggest = null;
+            if (mSuggest != null) {
+                suggest = new Suggest();
+                for (String suggestion : mSuggest) {
+                    if (SearchwordUtil.matches(suggestion, key)) {
+                        suggest.add(suggestion);
+                    }
+                }
+            }
+            return new Results(autocomplete, suggest);
+        }
+    }
+
+}
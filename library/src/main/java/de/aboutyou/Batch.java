@@ -0,0 +1,60 @@
+package de.aboutyou;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import de.aboutyou.models.BatchResult;
+import de.aboutyou.request.CollinsRequest;
+
+/**
+ * Collects several requests to be sent to the shop API in a single round trip
+ * <p>
+ * Obtain an instance using {@link de.aboutyou.ShopApiClient#batch()}, add any number of requests and call
+ * {@link #execute()} to run all of them at once. The results can be retrieved from the returned
+ * {@link de.aboutyou.models.BatchResult} using the request instances as keys.
+ */
+public class Batch {
+
+    private final ShopApiClient mShopApiClient;
+    private final List<CollinsRequest> mRequests = new ArrayList<>();
+
+    Batch(ShopApiClient shopApiClient) {
+        mShopApiClient = shopApiClient;
+    }
+
+    /** Adds a request to the batch */
+    public Batch add(CollinsRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Request must not be null");
+        }
+        mRequests.add(request);
+        return this;
+    }
+
+    /**
+     * Executes all requests of this batch in a single network call
+     *
+     * @return A {@link de.aboutyou.models.BatchResult} holding the results for all requests of this batch
+     */
+    public BatchResult execute() {
+        if (mRequests.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one request");
+        }
+        return mShopApiClient.requestBatch(mRequests);
+    }
+
+    /**
+     * Executes all requests of this batch in a single network call on a background thread
+     *
+     * @param callback An optional {@link de.aboutyou.ShopApiClient.RequestCallback} to be called with the result
+     * @return A {@link java.util.concurrent.Future} holding the {@link de.aboutyou.models.BatchResult}
+     */
+    public Future<BatchResult> executeAsync(ShopApiClient.RequestCallback<BatchResult> callback) {
+        if (mRequests.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one request");
+        }
+        return mShopApiClient.requestBatchAsync(new ArrayList<>(mRequests), callback);
+    }
+
+}
@@ -0,0 +1,197 @@
+package de.aboutyou;
+
+import com.squareup.okhttp.ConnectionPool;
+import com.squareup.okhttp.OkHttpClient;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import de.aboutyou.enums.Operation;
+
+/**
+ * HTTP settings of a {@link de.aboutyou.ShopApiClient}
+ * <p>
+ * The shop API and the Me API are accessed through a single {@link com.squareup.okhttp.OkHttpClient} and share its
+ * connection pool. Build an instance using a {@link de.aboutyou.ClientConfiguration.Builder} and pass it to
+ * {@link de.aboutyou.ShopApiClient#ShopApiClient(String, String, de.aboutyou.enums.Endpoint, de.aboutyou.ShopApiClient.Logger, ClientConfiguration)}.
+ */
+public class ClientConfiguration {
+
+    private static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+    private static final long DEFAULT_KEEP_ALIVE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final long DEFAULT_CONNECT_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    private static final long DEFAULT_READ_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private final OkHttpClient mOkHttpClient;
+    private final int mMaxIdleConnections;
+    private final long mKeepAliveMillis;
+    private final boolean mConnectionPoolConfigured;
+    private final long mConnectTimeoutMillis;
+    private final long mReadTimeoutMillis;
+    private final Map<Operation, Long> mReadTimeoutsMillis;
+    private final boolean mGzipResponses;
+    private final long mMinRequestGzipBytes;
+
+    private ClientConfiguration(Builder builder) {
+        mOkHttpClient = builder.mOkHttpClient;
+        mMaxIdleConnections = builder.mMaxIdleConnections;
+        mKeepAliveMillis = builder.mKeepAliveMillis;
+        mConnectionPoolConfigured = builder.mConnectionPoolConfigured;
+        mConnectTimeoutMillis = builder.mConnectTimeoutMillis;
+        mReadTimeoutMillis = builder.mReadTimeoutMillis;
+        mReadTimeoutsMillis = Collections.unmodifiableMap(new EnumMap<>(builder.mReadTimeoutsMillis));
+        mGzipResponses = builder.mGzipResponses;
+        mMinRequestGzipBytes = builder.mMinRequestGzipBytes;
+    }
+
+    public int getMaxIdleConnections() {
+        return mMaxIdleConnections;
+    }
+
+    public long getKeepAliveMillis() {
+        return mKeepAliveMillis;
+    }
+
+    public long getConnectTimeoutMillis() {
+        return mConnectTimeoutMillis;
+    }
+
+    /** Returns the default read timeout for operations without a timeout of their own */
+    public long getReadTimeoutMillis() {
+        return mReadTimeoutMillis;
+    }
+
+    /** Returns the read timeout for requests of the given operation */
+    public long getReadTimeoutMillis(Operation operation) {
+        Long readTimeoutMillis = mReadTimeoutsMillis.get(operation);
+        return readTimeoutMillis != null ? readTimeoutMillis : mReadTimeoutMillis;
+    }
+
+    /** Returns the read timeouts configured for single operations */
+    public Map<Operation, Long> getReadTimeoutsMillis() {
+        return mReadTimeoutsMillis;
+    }
+
+    /** Whether gzip compressed responses are requested from the shop API */
+    public boolean isGzipResponses() {
+        return mGzipResponses;
+    }
+
+    /** Returns the minimum size of request bodies sent gzip compressed, or -1 if requests are never compressed */
+    public long getMinRequestGzipBytes() {
+        return mMinRequestGzipBytes;
+    }
+
+    /**
+     * Creates the client shared by all requests of a {@link de.aboutyou.ShopApiClient}, based on the client passed to
+     * {@link de.aboutyou.ClientConfiguration.Builder#okHttpClient(com.squareup.okhttp.OkHttpClient)} if any
+     * <p>
+     * An OkHttpClient without a pool of its own lazily uses {@link com.squareup.okhttp.ConnectionPool#getDefault()},
+     * so a passed client without a pool is given that pool explicitly to keep sharing it.
+     */
+    public OkHttpClient createOkHttpClient() {
+        OkHttpClient okHttpClient = mOkHttpClient != null ? mOkHttpClient.clone() : new OkHttpClient();
+        if (mConnectionPoolConfigured || (mOkHttpClient == null && okHttpClient.getConnectionPool() == null)) {
+            okHttpClient.setConnectionPool(new ConnectionPool(mMaxIdleConnections, mKeepAliveMillis));
+        } else if (okHttpClient.getConnectionPool() == null) {
+            okHttpClient.setConnectionPool(ConnectionPool.getDefault());
+        }
+        okHttpClient.setConnectTimeout(mConnectTimeoutMillis, TimeUnit.MILLISECONDS);
+        okHttpClient.setReadTimeout(mReadTimeoutMillis, TimeUnit.MILLISECONDS);
+        return okHttpClient;
+    }
+
+    public static class Builder {
+
+        private OkHttpClient mOkHttpClient;
+        private int mMaxIdleConnections = DEFAULT_MAX_IDLE_CONNECTIONS;
+        private long mKeepAliveMillis = DEFAULT_KEEP_ALIVE_MILLIS;
+        private boolean mConnectionPoolConfigured;
+        private long mConnectTimeoutMillis = DEFAULT_CONNECT_TIMEOUT_MILLIS;
+        private long mReadTimeoutMillis = DEFAULT_READ_TIMEOUT_MILLIS;
+        private final Map<Operation, Long> mReadTimeoutsMillis = new EnumMap<>(Operation.class);
+        private boolean mGzipResponses = true;
+        private long mMinRequestGzipBytes = -1;
+
+        /**
+         * Sets a client to base the SDK's client on, e.g. the one used by the rest of your app, so connections and
+         * the connection pool are shared with it. The given client itself is not modified.
+         */
+        public Builder okHttpClient(OkHttpClient okHttpClient) {
+            mOkHttpClient = okHttpClient;
+            return this;
+        }
+
+        /**
+         * Sets up a connection pool, replacing the pool of a client passed to {@link #okHttpClient(com.squareup.okhttp.OkHttpClient)}
+         *
+         * @param maxIdleConnections The maximum number of idle connections kept open, defaults to 5
+         * @param keepAlive How long an idle connection is kept open, defaults to 5 minutes
+         */
+        public Builder connectionPool(int maxIdleConnections, long keepAlive, TimeUnit unit) {
+            if (maxIdleConnections < 0) {
+                throw new IllegalArgumentException("maxIdleConnections must not be negative");
+            }
+            mMaxIdleConnections = maxIdleConnections;
+            mKeepAliveMillis = toMillis(keepAlive, unit, "keepAlive");
+            mConnectionPoolConfigured = true;
+            return this;
+        }
+
+        /** Sets the connect timeout for all requests, defaults to 5 seconds */
+        public Builder connectTimeout(long timeout, TimeUnit unit) {
+            mConnectTimeoutMillis = toMillis(timeout, unit, "timeout");
+            return this;
+        }
+
+        /** Sets the read timeout for all operations without a timeout of their own, defaults to 10 seconds */
+        public Builder readTimeout(long timeout, TimeUnit unit) {
+            mReadTimeoutMillis = toMillis(timeout, unit, "timeout");
+            return this;
+        }
+
+        /**
+         * Sets the read timeout for requests of a single operation, e.g. a longer one for product searches. A batch
+         * uses the longest read timeout of the operations it contains.
+         */
+        public Builder readTimeout(Operation operation, long timeout, TimeUnit unit) {
+            if (operation == null) {
+                throw new IllegalArgumentException("operation must not be null");
+            }
+            mReadTimeoutsMillis.put(operation, toMillis(timeout, unit, "timeout"));
+            return this;
+        }
+
+        /** Sets whether gzip compressed responses are requested from the shop API, defaults to true */
+        public Builder gzipResponses(boolean gzipResponses) {
+            mGzipResponses = gzipResponses;
+            return this;
+        }
+
+        /**
+         * Sends request bodies of at least the given size gzip compressed. Disabled by default, only enable it if the
+         * backend you connect to accepts compressed request bodies.
+         */
+        public Builder gzipRequests(long minBytes) {
+            if (minBytes < 0) {
+                throw new IllegalArgumentException("minBytes must not be negative");
+            }
+            mMinRequestGzipBytes = minBytes;
+            return this;
+        }
+
+        public ClientConfiguration build() {
+            return new ClientConfiguration(this);
+        }
+
+        private static long toMillis(long duration, TimeUnit unit, String name) {
+            if (duration < 0) {
+                throw new IllegalArgumentException(String.format("%s must not be negative", name));
+            }
+            return unit.toMillis(duration);
+        }
+    }
+
+}
@@ -0,0 +1,257 @@
+package de.aboutyou;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import de.aboutyou.enums.FacetType;
+import de.aboutyou.exceptions.CollinsException;
+import de.aboutyou.internal.cache.FacetCatalogStore;
+import de.aboutyou.internal.cache.FacetIndex;
+import de.aboutyou.internal.response.FacetsResponse;
+import de.aboutyou.models.Attributes;
+import de.aboutyou.models.Facet;
+import de.aboutyou.request.FacetsRequest;
+
+/**
+ * All facets of selected {@link de.aboutyou.enums.FacetType FacetTypes}, e.g. to render the attributes of variants
+ * without network calls
+ * <p>
+ * Obtain the instance of a client using {@link de.aboutyou.ShopApiClient#getFacetCatalog()} and fill it with
+ * {@link #preload(java.util.Collection)}, which requests the facets page by page, all pages in parallel on the async
+ * executor of the {@link de.aboutyou.ShopApiClient}. Lookups by group and facet id take constant time and do not
+ * wait for preloads. If a cache file was set up using {@link de.aboutyou.ShopApiClient#setFacetCatalogCache(java.io.File)},
+ * loaded facets are stored in it and restored in the background as soon as the cache is set up; only a lookup made
+ * while that restore is still running waits for it.
+ */
+public class FacetCatalog {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final ShopApiClient mShopApiClient;
+    private volatile FacetIndex[] mGroups = new FacetIndex[FacetType.values().length];
+    private volatile boolean mRestored = true;
+    private FacetCatalogStore mStore;
+
+    FacetCatalog(ShopApiClient shopApiClient) {
+        mShopApiClient = shopApiClient;
+    }
+
+    synchronized void setStore(FacetCatalogStore store) {
+        mStore = store;
+        mGroups = new FacetIndex[FacetType.values().length];
+        mRestored = store == null;
+        if (store != null) {
+            mShopApiClient.submitAsync(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    getGroups();
+                    return null;
+                }
+            }, null);
+        }
+    }
+
+    /** Returns the facet with the given group and facet id, or null if it has not been loaded */
+    public Facet getFacet(int groupId, long facetId) {
+        FacetType facetType = FacetType.fromInteger(groupId);
+        return facetType != null ? getFacet(facetType, facetId) : null;
+    }
+
+    /** Returns the facet of the given type with the given id, or null if it has not been loaded */
+    public Facet getFacet(FacetType facetType, long facetId) {
+        FacetIndex group = getGroups()[facetType.ordinal()];
+        return group != null ? group.get(facetId) : null;
+    }
+
+    /** Returns all loaded facets of the given type, an empty list if the type has not been loaded */
+    public List<Facet> getFacets(FacetType facetType) {
+        FacetIndex group = getGroups()[facetType.ordinal()];
+        return group != null ? group.getFacets() : Collections.<Facet>emptyList();
+    }
+
+    /**
+     * Resolves the facet ids of a group in the attributes of a {@link de.aboutyou.models.Variant}
+     *
+     * @return The facets in the order of their ids in the attributes; ids which have not been loaded are left out
+     */
+    public List<Facet> getFacets(Attributes attributes, FacetType facetType) {
+        int count = attributes.getFacetCount(facetType.getId());
+        List<Facet> facets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Facet facet = getFacet(facetType, attributes.getFacetId(facetType.getId(), i));
+            if (facet != null) {
+                facets.add(facet);
+            }
+        }
+        return facets;
+    }
+
+    public boolean isLoaded(FacetType facetType) {
+        return getGroups()[facetType.ordinal()] != null;
+    }
+
+    /** Returns the time the facets of the given type were loaded in milliseconds since the epoch, 0 if they were not loaded */
+    public long getLoadTime(FacetType facetType) {
+        FacetIndex group = getGroups()[facetType.ordinal()];
+        return group != null ? group.getTimestamp() : 0;
+    }
+
+    /**
+     * Requests all facets of the given types, replacing the ones loaded before
+     * <p>
+     * The first page of every type is requested right away; once the total number of facets is known, all remaining
+     * pages are requested at once. This method blocks until all pages are loaded, so call it on a background thread,
+     * but not on the async executor of the {@link de.aboutyou.ShopApiClient} itself.
+     *
+     * @throws de.aboutyou.exceptions.CollinsException If a page could not be loaded; the catalog is left unchanged then
+     */
+    public void preload(Collection<FacetType> facetTypes) {
+        Map<FacetType, List<Facet>> facetsByType = new EnumMap<>(FacetType.class);
+        List<Future<FacetsResponse>> futures = new ArrayList<>();
+        try {
+            Map<FacetType, Future<FacetsResponse>> firstPages = new EnumMap<>(FacetType.class);
+            for (FacetType facetType : new LinkedHashSet<>(facetTypes)) {
+                firstPages.put(facetType, requestPage(facetType, 0, futures));
+            }
+
+            Map<FacetType, List<Future<FacetsResponse>>> remainingPages = new EnumMap<>(FacetType.class);
+            for (Map.Entry<FacetType, Future<FacetsResponse>> entry : firstPages.entrySet()) {
+                FacetsResponse firstPage = await(entry.getValue());
+                List<Facet> facets = new ArrayList<>(getFacets(firstPage));
+                facetsByType.put(entry.getKey(), facets);
+
+                List<Future<FacetsResponse>> pages = new ArrayList<>();
+                if (firstPage.getHits() != null) {
+                    for (int offset = PAGE_SIZE; offset < firstPage.getHits(); offset += PAGE_SIZE) {
+                        pages.add(requestPage(entry.getKey(), offset, futures));
+                    }
+                } else {
+                    // without the total, page on until a page is not full
+                    List<Facet> page = getFacets(firstPage);
+                    while (page.size() == PAGE_SIZE) {
+                        page = getFacets(await(requestPage(entry.getKey(), facets.size(), futures)));
+                        facets.addAll(page);
+                    }
+                }
+                remainingPages.put(entry.getKey(), pages);
+            }
+
+            for (Map.Entry<FacetType, List<Future<FacetsResponse>>> entry : remainingPages.entrySet()) {
+                for (Future<FacetsResponse> page : entry.getValue()) {
+                    facetsByType.get(entry.getKey()).addAll(getFacets(await(page)));
+                }
+            }
+        } finally {
+            for (Future<FacetsResponse> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        update(facetsByType, System.currentTimeMillis());
+    }
+
+    private void update(Map<FacetType, List<Facet>> facetsByType, long timestamp) {
+        FacetCatalogStore store;
+        synchronized (this) {
+            FacetIndex[] groups = getGroups().clone();
+            for (Map.Entry<FacetType, List<Facet>> entry : facetsByType.entrySet()) {
+                groups[entry.getKey().ordinal()] = new FacetIndex(entry.getKey().getId(), entry.getValue(), timestamp);
+            }
+            mGroups = groups;
+            store = mStore;
+        }
+
+        if (store != null) {
+            write(store);
+        }
+    }
+
+    /** Writes the current groups; runs outside the lock of the catalog, so lookups never wait for the file */
+    private void write(FacetCatalogStore store) {
+        // writes are serialized, and each one takes the groups at that time, so the last write stores the latest groups
+        synchronized (store) {
+            List<FacetIndex> loadedGroups = new ArrayList<>();
+            for (FacetIndex group : mGroups) {
+                if (group != null) {
+                    loadedGroups.add(group);
+                }
+            }
+            try {
+                store.write(loadedGroups);
+            } catch (IOException e) {
+                mShopApiClient.log(String.format("Could not store facet catalog: %s", e.getMessage()));
+            }
+        }
+    }
+
+    private FacetIndex[] getGroups() {
+        if (!mRestored) {
+            restore();
+        }
+        return mGroups;
+    }
+
+    private synchronized void restore() {
+        if (mRestored) {
+            return;
+        }
+
+        FacetIndex[] groups = new FacetIndex[FacetType.values().length];
+        try {
+            for (FacetIndex group : mStore.read()) {
+                FacetType facetType = FacetType.fromInteger(group.getGroupId());
+                if (facetType != null) {
+                    groups[facetType.ordinal()] = group;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // a damaged file is dropped, the catalog starts empty instead of failing every lookup
+            groups = new FacetIndex[FacetType.values().length];
+            mStore.delete();
+        }
+        mGroups = groups;
+        mRestored = true;
+    }
+
+    private Future<FacetsResponse> requestPage(FacetType facetType, int offset, List<Future<FacetsResponse>> futures) {
+        final FacetsRequest facetsRequest = new FacetsRequest.Builder()
+                .filterByFacetTypes(Collections.singletonList(facetType))
+                .limit(PAGE_SIZE)
+                .offset(offset)
+                .build();
+        Future<FacetsResponse> future = mShopApiClient.submitAsync(new Callable<FacetsResponse>() {
+            @Override
+            public FacetsResponse call() {
+                return mShopApiClient.requestFacetsResponse(facetsRequest);
+            }
+        }, null);
+        futures.add(future);
+        return future;
+    }
+
+    private static List<Facet> getFacets(FacetsResponse response) {
+        List<Facet> facets = response.get();
+        return facets != null ? facets : Collections.<Facet>emptyList();
+    }
+
+    private static FacetsResponse await(Future<FacetsResponse> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CollinsException(e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof CollinsException ? (CollinsException) e.getCause() : new CollinsException(e.getCause());
+        }
+    }
+
+}
@@ -0,0 +1,237 @@
+package de.aboutyou;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import de.aboutyou.exceptions.CollinsException;
+import de.aboutyou.models.BatchResult;
+import de.aboutyou.models.LiveVariant;
+import de.aboutyou.models.LiveVariantChange;
+import de.aboutyou.request.CollinsRequest;
+import de.aboutyou.request.LiveVariantRequest;
+
+/**
+ * Polls the stock and price of all variants currently subscribed to, see
+ * {@link de.aboutyou.ShopApiClient#subscribeLiveVariants(java.util.Collection, de.aboutyou.ShopApiClient.LiveVariantListener)}
+ * <p>
+ * All subscriptions of a {@link de.aboutyou.ShopApiClient} share a single poll: the union of their variant ids is
+ * requested in one batch of {@link de.aboutyou.request.LiveVariantRequest LiveVariantRequests}, and every subscription
+ * is only told about the variants it contains whose stock or price changed since it was last notified. The interval
+ * adapts to the data: it starts at the minimum, doubles after every poll without changes or with an error up to the
+ * maximum, and falls back to the minimum as soon as something changes. Adding a subscription triggers a poll right
+ * away; without subscriptions polling stops.
+ */
+public class LiveVariantPoller {
+
+    private static final int MAX_IDS_PER_REQUEST = 100;
+    private static final long DEFAULT_MIN_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+    private static final long DEFAULT_MAX_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(120);
+
+    private final ShopApiClient mShopApiClient;
+    private final List<Subscription> mSubscriptions = new ArrayList<>();
+
+    private long mMinIntervalMillis = DEFAULT_MIN_INTERVAL_MILLIS;
+    private long mMaxIntervalMillis = DEFAULT_MAX_INTERVAL_MILLIS;
+    private long mIntervalMillis = DEFAULT_MIN_INTERVAL_MILLIS;
+
+    private Future<?> mScheduledPoll;
+    private boolean mPolling;
+    private boolean mPollAgain;
+
+    LiveVariantPoller(ShopApiClient shopApiClient) {
+        mShopApiClient = shopApiClient;
+    }
+
+    synchronized void setInterval(long minIntervalMillis, long maxIntervalMillis) {
+        mMinIntervalMillis = minIntervalMillis;
+        mMaxIntervalMillis = maxIntervalMillis;
+        mIntervalMillis = minIntervalMillis;
+        if (mScheduledPoll != null) {
+            schedulePoll(mIntervalMillis);
+        }
+    }
+
+    synchronized Subscription subscribe(Collection<Long> variantIds, ShopApiClient.LiveVariantListener listener) {
+        Subscription subscription = new Subscription(variantIds, listener);
+        mSubscriptions.add(subscription);
+        mIntervalMillis = mMinIntervalMillis;
+        pollNow();
+        return subscription;
+    }
+
+    synchronized void pollNow() {
+        if (mPolling) {
+            mPollAgain = true;
+        } else if (!mSubscriptions.isEmpty()) {
+            schedulePoll(0);
+        }
+    }
+
+    private synchronized void unsubscribe(Subscription subscription) {
+        mSubscriptions.remove(subscription);
+        if (mSubscriptions.isEmpty() && mScheduledPoll != null) {
+            mScheduledPoll.cancel(false);
+            mScheduledPoll = null;
+        }
+    }
+
+    private void schedulePoll(long delayMillis) {
+        if (mScheduledPoll != null) {
+            mScheduledPoll.cancel(false);
+        }
+        mScheduledPoll = mShopApiClient.schedule(new Runnable() {
+            @Override
+            public void run() {
+                poll();
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void poll() {
+        final List<CollinsRequest> requests = new ArrayList<>();
+        synchronized (this) {
+            mScheduledPoll = null;
+            if (mPolling || mSubscriptions.isEmpty()) {
+                return;
+            }
+
+            Set<Long> ids = new LinkedHashSet<>();
+            for (Subscription subscription : mSubscriptions) {
+                ids.addAll(subscription.mVariantIds);
+            }
+            List<Long> chunk = new ArrayList<>(MAX_IDS_PER_REQUEST);
+            for (Long id : ids) {
+                chunk.add(id);
+                if (chunk.size() == MAX_IDS_PER_REQUEST) {
+                    requests.add(new LiveVariantRequest.Builder().filterByVariantIds(chunk).build());
+                    chunk = new ArrayList<>(MAX_IDS_PER_REQUEST);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                requests.add(new LiveVariantRequest.Builder().filterByVariantIds(chunk).build());
+            }
+            mPolling = true;
+        }
+
+        mShopApiClient.submitAsync(new Callable<Map<Long, LiveVariant>>() {
+            @Override
+            public Map<Long, LiveVariant> call() {
+                BatchResult batchResult = mShopApiClient.requestBatch(requests);
+                Map<Long, LiveVariant> liveVariants = new HashMap<>();
+                for (CollinsRequest request : requests) {
+                    List<LiveVariant> result = batchResult.get((LiveVariantRequest) request);
+                    if (result != null) {
+                        for (LiveVariant liveVariant : result) {
+                            liveVariants.put(liveVariant.getId(), liveVariant);
+                        }
+                    }
+                }
+                return liveVariants;
+            }
+        }, new ShopApiClient.RequestCallback<Map<Long, LiveVariant>>() {
+            @Override
+            public void onSuccess(Map<Long, LiveVariant> liveVariants) {
+                onPollFinished(liveVariants, null);
+            }
+
+            @Override
+            public void onFailure(CollinsException exception) {
+                onPollFinished(null, exception);
+            }
+        });
+    }
+
+    private void onPollFinished(Map<Long, LiveVariant> liveVariants, CollinsException exception) {
+        Map<Subscription, List<LiveVariantChange>> notifications = new HashMap<>();
+        List<Subscription> subscriptions;
+        synchronized (this) {
+            subscriptions = new ArrayList<>(mSubscriptions);
+            if (liveVariants != null) {
+                for (Subscription subscription : subscriptions) {
+                    List<LiveVariantChange> changes = subscription.update(liveVariants);
+                    if (!changes.isEmpty()) {
+                        notifications.put(subscription, changes);
+                    }
+                }
+            }
+
+            if (notifications.isEmpty()) {
+                mIntervalMillis = Math.min(mMaxIntervalMillis, mIntervalMillis * 2);
+            } else {
+                mIntervalMillis = mMinIntervalMillis;
+            }
+
+            mPolling = false;
+            if (!mSubscriptions.isEmpty()) {
+                schedulePoll(mPollAgain ? 0 : mIntervalMillis);
+            }
+            mPollAgain = false;
+        }
+
+        for (Subscription subscription : subscriptions) {
+            if (subscription.isCancelled()) {
+                continue;
+            }
+            if (exception != null) {
+                subscription.mListener.onFailure(exception);
+            } else if (notifications.containsKey(subscription)) {
+                subscription.mListener.onLiveVariantsChanged(notifications.get(subscription));
+            }
+        }
+    }
+
+    /** A set of variant ids whose changes are reported to a listener until {@link #cancel()} is called */
+    public class Subscription {
+
+        private final Set<Long> mVariantIds;
+        private final ShopApiClient.LiveVariantListener mListener;
+        private final Map<Long, LiveVariant> mReported = new HashMap<>();
+
+        private Subscription(Collection<Long> variantIds, ShopApiClient.LiveVariantListener listener) {
+            mVariantIds = Collections.unmodifiableSet(new LinkedHashSet<>(variantIds));
+            mListener = listener;
+        }
+
+        public Set<Long> getVariantIds() {
+            return mVariantIds;
+        }
+
+        /** Stops reporting changes; polling stops once no subscription is left */
+        public void cancel() {
+            unsubscribe(this);
+        }
+
+        public boolean isCancelled() {
+            synchronized (LiveVariantPoller.this) {
+                return !mSubscriptions.contains(this);
+            }
+        }
+
+        private List<LiveVariantChange> update(Map<Long, LiveVariant> liveVariants) {
+            List<LiveVariantChange> changes = new ArrayList<>();
+            for (Long id : mVariantIds) {
+                LiveVariant current = liveVariants.get(id);
+                if (current == null) {
+                    continue;
+                }
+                LiveVariant previous = mReported.get(id);
+                if (previous == null || previous.getAvailableStock() != current.getAvailableStock()
+                        || previous.getPrice() != current.getPrice()) {
+                    changes.add(new LiveVariantChange(previous, current));
+                    mReported.put(id, current);
+                }
+            }
+            return changes;
+        }
+    }
+
+}
@@ -0,0 +1,183 @@
+package de.aboutyou;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import de.aboutyou.exceptions.CollinsException;
+import de.aboutyou.models.Product;
+import de.aboutyou.models.ProductSearch;
+import de.aboutyou.request.ProductSearchRequest;
+
+/**
+ * Pages through the results of a product search, e.g. to back an endless list
+ * <p>
+ * Obtain an instance using {@link de.aboutyou.ShopApiClient#productSearchCursor(de.aboutyou.request.ProductSearchRequest, int, int)}.
+ * Products are addressed by their index in the search result, starting at the offset of the original request. Pages
+ * are requested on the async executor of the {@link de.aboutyou.ShopApiClient}; whenever a product is accessed, all
+ * pages holding the products up to the lookahead behind it are requested in the background, so a list scrolling
+ * forward finds its next page loaded already.
+ */
+public class ProductSearchCursor implements Iterable<Product> {
+
+    private final ShopApiClient mShopApiClient;
+    private final ProductSearchRequest mRequest;
+    private final int mStartOffset;
+    private final int mPageSize;
+    private final int mLookahead;
+
+    private final Map<Integer, Future<ProductSearch>> mPages = new HashMap<>();
+    private volatile int mProductCount = -1;
+    private boolean mClosed;
+
+    ProductSearchCursor(ShopApiClient shopApiClient, ProductSearchRequest request, int pageSize, int lookahead) {
+        mShopApiClient = shopApiClient;
+        mRequest = request;
+        mStartOffset = request.getOffset() != null ? request.getOffset() : 0;
+        mPageSize = pageSize;
+        mLookahead = lookahead;
+    }
+
+    /** Returns the number of products the search found after the offset of the request, loading the first page if needed */
+    public int getProductCount() {
+        if (mProductCount < 0) {
+            getPage(0);
+        }
+        return mProductCount;
+    }
+
+    /**
+     * Returns the product at the given index, blocking until its page is loaded
+     *
+     * @throws java.lang.IndexOutOfBoundsException If the search result has no product at the index
+     * @throws de.aboutyou.exceptions.CollinsException If loading the page failed; it is requested again on the next access
+     */
+    public Product get(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException(String.format("Invalid index %d", index));
+        }
+
+        int page = index / mPageSize;
+        List<Product> products = getPage(page).getProducts();
+        prefetch(index);
+
+        int position = index - page * mPageSize;
+        if (products == null || position >= products.size()) {
+            throw new IndexOutOfBoundsException(String.format("Invalid index %d, product count is %d", index, mProductCount));
+        }
+        return products.get(position);
+    }
+
+    /**
+     * Returns the product at the given index if its page has been loaded already, without blocking
+     *
+     * @return The product, or null if its page is still loading or failed to load; in that case the page is requested
+     */
+    public Product peek(int index) {
+        if (index < 0 || (mProductCount >= 0 && index >= mProductCount)) {
+            return null;
+        }
+
+        int page = index / mPageSize;
+        Future<ProductSearch> future = requestPage(page);
+        prefetch(index);
+        if (!future.isDone()) {
+            return null;
+        }
+
+        try {
+            List<Product> products = awaitPage(page, future).getProducts();
+            int position = index - page * mPageSize;
+            return products != null && position < products.size() ? products.get(position) : null;
+        } catch (CollinsException e) {
+            return null;
+        }
+    }
+
+    /** Iterates over all products, blocking whenever the next page is not loaded yet */
+    @Override
+    public Iterator<Product> iterator() {
+        return new Iterator<Product>() {
+
+            private int mIndex;
+
+            @Override
+            public boolean hasNext() {
+                return mIndex < getProductCount();
+            }
+
+            @Override
+            public Product next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(mIndex++);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /** Cancels all pages still loading; the cursor can not be used afterwards */
+    public synchronized void close() {
+        mClosed = true;
+        for (Future<ProductSearch> future : mPages.values()) {
+            future.cancel(true);
+        }
+        mPages.clear();
+    }
+
+    private void prefetch(int index) {
+        int lastIndex = index + mLookahead;
+        if (mProductCount >= 0) {
+            lastIndex = Math.min(lastIndex, mProductCount - 1);
+        }
+        for (int page = index / mPageSize + 1; page <= lastIndex / mPageSize; page++) {
+            requestPage(page);
+        }
+    }
+
+    private ProductSearch getPage(int page) {
+        return awaitPage(page, requestPage(page));
+    }
+
+    private synchronized Future<ProductSearch> requestPage(int page) {
+        if (mClosed) {
+            throw new IllegalStateException("Cursor has been closed");
+        }
+
+        Future<ProductSearch> future = mPages.get(page);
+        if (future == null) {
+            ProductSearchRequest pageRequest = mRequest.withPage(mStartOffset + page * mPageSize, mPageSize);
+            future = mShopApiClient.requestProductSearchAsync(pageRequest, null);
+            mPages.put(page, future);
+        }
+        return future;
+    }
+
+    private ProductSearch awaitPage(int page, Future<ProductSearch> future) {
+        try {
+            ProductSearch productSearch = future.get();
+            mProductCount = Math.max(0, productSearch.getProductCount() - mStartOffset);
+            return productSearch;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CollinsException(e);
+        } catch (ExecutionException e) {
+            synchronized (this) {
+                if (mPages.get(page) == future) {
+                    mPages.remove(page);
+                }
+            }
+            throw e.getCause() instanceof CollinsException ? (CollinsException) e.getCause() : new CollinsException(e.getCause());
+        }
+    }
+
+}
@@ -1,7 +1,7 @@
 package de.aboutyou;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 
 import com.squareup.okhttp.OkHttpClient;
 
@@ -9,46 +9,74 @@ import org.apache.http.HttpStatus;
 
 import android.content.Context;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import de.aboutyou.enums.AuthScope;
 import de.aboutyou.enums.AuthenticationRequestMode;
-import de.aboutyou.enums.AutocompleteType;
-import de.aboutyou.enums.Direction;
 import de.aboutyou.enums.Endpoint;
 import de.aboutyou.enums.FacetType;
+import de.aboutyou.enums.Operation;
 import de.aboutyou.enums.ProductFields;
 import de.aboutyou.enums.SimpleColor;
-import de.aboutyou.enums.Sortby;
 import de.aboutyou.exceptions.CollinsException;
 import de.aboutyou.exceptions.HttpException;
 import de.aboutyou.exceptions.NetworkException;
+import de.aboutyou.internal.cache.CategoryTreeCache;
+import de.aboutyou.internal.cache.DiskResponseCache;
+import de.aboutyou.internal.cache.FacetCatalogStore;
+import de.aboutyou.internal.cache.LiveVariantCache;
+import de.aboutyou.internal.cache.ProductCache;
+import de.aboutyou.internal.cache.SuggestCache;
+import de.aboutyou.internal.communication.AsyncDispatcher;
+import de.aboutyou.internal.communication.GzipClient;
 import de.aboutyou.internal.communication.MeInterface;
+import de.aboutyou.internal.communication.MetricsRecorder;
+import de.aboutyou.internal.communication.OperationTimeoutClient;
+import de.aboutyou.internal.communication.ProductLoader;
+import de.aboutyou.internal.communication.RequestCoalescer;
+import de.aboutyou.internal.communication.ResponseCacheClient;
 import de.aboutyou.internal.communication.SSLHack;
 import de.aboutyou.internal.communication.ShopAuthenticationRequestInterceptor;
 import de.aboutyou.internal.communication.ShopInterface;
-import de.aboutyou.internal.typeadapter.AttributesTypeAdapter;
-import de.aboutyou.internal.typeadapter.AutocompleteTypeAdapter;
-import de.aboutyou.internal.typeadapter.DirectionTypeAdapter;
-import de.aboutyou.internal.typeadapter.FacetTypeTypeAdapter;
-import de.aboutyou.internal.typeadapter.ProductFieldsTypeAdapter;
-import de.aboutyou.internal.typeadapter.SortbyTypeAdapter;
-import de.aboutyou.internal.typeadapter.SuggestTypeAdapter;
+import de.aboutyou.internal.communication.StreamingGsonConverter;
+import de.aboutyou.internal.response.FacetsResponse;
+import de.aboutyou.internal.util.GsonFactory;
 import de.aboutyou.internal.widget.AuthWebDialog;
+import de.aboutyou.internal.wrapper.BatchResponseReader;
+import de.aboutyou.internal.wrapper.ProductSearchStreamReader;
 import de.aboutyou.internal.wrapper.RequestEnvelope;
-import de.aboutyou.models.Attributes;
 import de.aboutyou.models.Autocomplete;
 import de.aboutyou.models.Basket;
+import de.aboutyou.models.BatchResult;
+import de.aboutyou.models.CacheStats;
 import de.aboutyou.models.Category;
+import de.aboutyou.models.CompressionStats;
 import de.aboutyou.models.CategoryTree;
 import de.aboutyou.models.Facet;
+import de.aboutyou.models.FacetGroup;
 import de.aboutyou.models.HttpError;
 import de.aboutyou.models.InitiateOrder;
 import de.aboutyou.models.LiveVariant;
+import de.aboutyou.models.LiveVariantChange;
 import de.aboutyou.models.Product;
 import de.aboutyou.models.ProductSearch;
+import de.aboutyou.models.RequestMetrics;
 import de.aboutyou.models.ShopUser;
 import de.aboutyou.models.Suggest;
 import de.aboutyou.request.AutocompleteRequest;
@@ -64,12 +92,10 @@ import de.aboutyou.request.LiveVariantRequest;
 import de.aboutyou.request.ProductSearchRequest;
 import de.aboutyou.request.ProductsRequest;
 import de.aboutyou.request.SuggestRequest;
-import retrofit.RequestInterceptor;
 import retrofit.RestAdapter;
 import retrofit.RetrofitError;
 import retrofit.client.Client;
-import retrofit.client.OkClient;
-import retrofit.converter.GsonConverter;
+import retrofit.client.Response;
 
 public class ShopApiClient {
 
@@ -81,15 +107,68 @@ public class ShopApiClient {
         public void onFailure();
     }
 
+    public interface RequestCallback<T> {
+        public void onSuccess(T result);
+        public void onFailure(CollinsException exception);
+    }
+
+    public interface ProductConsumer {
+        public void onProduct(Product product);
+    }
+
+    public interface MetricsListener {
+        public void onRequestFinished(RequestMetrics metrics);
+    }
+
+    /**
+     * Supplies the app credentials for every shop API request, e.g. to rotate them without creating a new client.
+     * Called for every request, so implementations should return quickly.
+     */
+    public interface CredentialProvider {
+        public String getAppId();
+        public String getAppSecret();
+    }
+
+    public interface AutocompleteListener {
+        /** Called with the results for the searchword; either result is null if it was not requested */
+        public void onResult(String searchword, Autocomplete autocomplete, Suggest suggest);
+        public void onFailure(String searchword, CollinsException exception);
+    }
+
+    public interface LiveVariantListener {
+        /** Called with the variants of the subscription whose stock or price changed since the last call */
+        public void onLiveVariantsChanged(List<LiveVariantChange> changes);
+        public void onFailure(CollinsException exception);
+    }
+
     public interface Logger {
         public void log(String message);
     }
 
-    private static final String DATE_FORMAT = "dd-MM-yyyy HH:mm:ss";
+    private static final int LIVE_VARIANT_CACHE_SIZE = 1000;
+    private static final String CATEGORY_TREE_CACHE_FILE = "aboutyou_category_tree";
+    private static final String RESPONSE_CACHE_DIRECTORY = "aboutyou_responses";
+    private static final String FACET_CATALOG_CACHE_FILE = "aboutyou_facet_catalog";
 
     private final ShopInterface mShopAPI;
     private final MeInterface mMeAPI;
     private final Logger mLogger;
+    private final Gson mGson;
+    private final StreamingGsonConverter mConverter;
+    private final MetricsRecorder mMetricsRecorder = new MetricsRecorder();
+    private final GzipClient mGzipClient;
+    private final ResponseCacheClient mResponseCacheClient;
+    private final ShopAuthenticationRequestInterceptor mAuthInterceptor;
+
+    private final ProductLoader mProductLoader;
+    private final LiveVariantCache mLiveVariantCache;
+    private final ProductCache mProductCache = new ProductCache(0);
+    private final SuggestCache mSuggestCache = new SuggestCache(0);
+    private final AsyncDispatcher mAsyncDispatcher = new AsyncDispatcher();
+    private final LiveVariantPoller mLiveVariantPoller = new LiveVariantPoller(this);
+    private final FacetCatalog mFacetCatalog = new FacetCatalog(this);
+    private volatile RequestCoalescer mCoalescer;
+    private volatile CategoryTreeCache mCategoryTreeCache;
 
     private final String mAppId;
     private final Endpoint mEndpoint;
@@ -105,55 +184,89 @@ public class ShopApiClient {
      * @param logger A {@link de.aboutyou.ShopApiClient.Logger} instance to receive log output from the SDK
      */
     public ShopApiClient(String appId, String appSecret, Endpoint endpoint, Logger logger) {
-        this(appId, appSecret, endpoint, logger, buildClient());
+        this(appId, appSecret, endpoint, logger, new ClientConfiguration.Builder().build());
+    }
+
+    /**
+     * Constructs a ShopApiClient with custom HTTP settings
+     *
+     * @param appId The "App-ID" for your app from our <a href="http://developer.aboutyou.de">Developer Center</a>
+     * @param appSecret The "Secret" for your app from our <a href="http://developer.aboutyou.de">Developer Center</a>
+     * @param endpoint The {@link de.aboutyou.enums.Endpoint} you want to connect to; either LIVE or STAGE
+     * @param logger A {@link de.aboutyou.ShopApiClient.Logger} instance to receive log output from the SDK
+     * @param configuration The {@link de.aboutyou.ClientConfiguration} with connection pool and timeout settings
+     */
+    public ShopApiClient(String appId, String appSecret, Endpoint endpoint, Logger logger, ClientConfiguration configuration) {
+        this(appId, appSecret, endpoint, logger, configuration, configuration.createOkHttpClient());
+    }
+
+    private ShopApiClient(String appId, String appSecret, Endpoint endpoint, Logger logger, ClientConfiguration configuration, OkHttpClient okHttpClient) {
+        this(appId, appSecret, endpoint, logger, configuration, new OperationTimeoutClient(okHttpClient, configuration.getReadTimeoutsMillis()),
+                SSLHack.buildClient(okHttpClient));
     }
 
     protected ShopApiClient(String appId, String appSecret, Endpoint endpoint, Logger logger, Client client) {
-        RequestInterceptor ShopAuthRequestInterceptor = new ShopAuthenticationRequestInterceptor(appId, appSecret);
+        this(appId, appSecret, endpoint, logger, new ClientConfiguration.Builder().build(), client);
+    }
+
+    protected ShopApiClient(String appId, String appSecret, Endpoint endpoint, Logger logger, ClientConfiguration configuration, Client client) {
+        this(appId, appSecret, endpoint, logger, configuration, client, SSLHack.buildClient(configuration.createOkHttpClient()));
+    }
+
+    private ShopApiClient(String appId, String appSecret, Endpoint endpoint, Logger logger, ClientConfiguration configuration,
+                          Client shopClient, Client meClient) {
+        mAuthInterceptor = new ShopAuthenticationRequestInterceptor(appId, appSecret);
+        mGson = GsonFactory.create();
+        mConverter = new StreamingGsonConverter(mGson);
+        // metrics are recorded below the gzip layer, so they report the sizes transferred over the wire
+        mGzipClient = new GzipClient(mMetricsRecorder.wrap(shopClient), configuration.isGzipResponses(), configuration.getMinRequestGzipBytes());
+        mResponseCacheClient = new ResponseCacheClient(mGzipClient, mAsyncDispatcher, mMetricsRecorder);
+        mResponseCacheClient.setPolicy(Operation.CATEGORIES, 1, 24 * 7, TimeUnit.HOURS);
+        mResponseCacheClient.setPolicy(Operation.CATEGORY_TREE, 1, 24 * 7, TimeUnit.HOURS);
+        mResponseCacheClient.setPolicy(Operation.FACETS, 1, 24 * 7, TimeUnit.HOURS);
+        mResponseCacheClient.setPolicy(Operation.FACET_TYPES, 1, 24 * 7, TimeUnit.HOURS);
+        mResponseCacheClient.setPolicy(Operation.PRODUCTS, 5, 60 * 24, TimeUnit.MINUTES);
+        mResponseCacheClient.setPolicy(Operation.SUGGEST, 10, 60 * 24, TimeUnit.MINUTES);
 
         RestAdapter shopAdapter = new RestAdapter.Builder()
                 .setEndpoint(endpoint.getUrl())
-                .setClient(client)
-                .setRequestInterceptor(ShopAuthRequestInterceptor)
-                .setConverter(buildGsonConverter())
+                .setClient(mResponseCacheClient)
+                .setRequestInterceptor(mAuthInterceptor)
+                .setConverter(mMetricsRecorder.wrap(mConverter))
                 .setLogLevel(RestAdapter.LogLevel.BASIC)
                 .build();
-        mShopAPI = shopAdapter.create(ShopInterface.class);
+        ShopInterface shopAPI = shopAdapter.create(ShopInterface.class);
+        if (shopClient instanceof OperationTimeoutClient) {
+            shopAPI = ((OperationTimeoutClient) shopClient).wrap(ShopInterface.class, shopAPI);
+        }
+        shopAPI = mResponseCacheClient.wrap(ShopInterface.class, shopAPI);
+        mShopAPI = mMetricsRecorder.wrap(ShopInterface.class, shopAPI);
 
         RestAdapter meAdapter = new RestAdapter.Builder()
                 .setEndpoint(endpoint.getMeUrl())
-                .setClient(SSLHack.buildClient())
+                .setClient(meClient)
                 .setLogLevel(RestAdapter.LogLevel.BASIC)
                 .build();
         mMeAPI = meAdapter.create(MeInterface.class);
 
+        mProductLoader = new ProductLoader(new ProductLoader.Fetcher() {
+            @Override
+            public Map<Long, Product> fetch(List<Long> productIds, List<ProductFields> fields) {
+                return fetchProducts(productIds, fields);
+            }
+        });
+        mLiveVariantCache = new LiveVariantCache(new LiveVariantCache.Fetcher() {
+            @Override
+            public List<LiveVariant> fetch(List<Long> variantIds) {
+                return fetchLiveVariants(new LiveVariantRequest.Builder().filterByVariantIds(variantIds).build());
+            }
+        }, LIVE_VARIANT_CACHE_SIZE, 0, TimeUnit.MILLISECONDS);
+
         mAppId = appId;
         mEndpoint = endpoint;
         mLogger = logger;
     }
 
-    private static Client buildClient() {
-        OkHttpClient okHttpClient = new OkHttpClient();
-        okHttpClient.setConnectTimeout(5, TimeUnit.SECONDS);
-        okHttpClient.setReadTimeout(10, TimeUnit.SECONDS);
-        return new OkClient(okHttpClient);
-    }
-
-    private static GsonConverter buildGsonConverter() {
-        Gson gson = new GsonBuilder()
-                .enableComplexMapKeySerialization()
-                .setDateFormat(DATE_FORMAT)
-                .registerTypeAdapter(FacetType.class, new FacetTypeTypeAdapter())
-                .registerTypeAdapter(AutocompleteType.class, new AutocompleteTypeAdapter())
-                .registerTypeAdapter(Sortby.class, new SortbyTypeAdapter())
-                .registerTypeAdapter(Direction.class, new DirectionTypeAdapter())
-                .registerTypeAdapter(ProductFields.class, new ProductFieldsTypeAdapter())
-                .registerTypeAdapter(Attributes.class, new AttributesTypeAdapter())
-                .registerTypeAdapter(Suggest.class, new SuggestTypeAdapter())
-                .create();
-        return new GsonConverter(gson);
-    }
-
     /**
      * Starts an OAuth authentication flow to get an access token
      *
@@ -208,6 +321,9 @@ public class ShopApiClient {
      */
     public List<Category> requestCategories(CategoriesRequest categoriesRequest) {
         validateRequest(categoriesRequest);
+        if (mCoalescer != null) {
+            return requestCoalesced(categoriesRequest);
+        }
         RequestEnvelope<CategoriesRequest> wrappedRequest = RequestEnvelope.wrap(categoriesRequest);
 
         try {
@@ -220,11 +336,34 @@ public class ShopApiClient {
 
     /**
      * Requests the tree of categories configured for your app in our <a href="http://developer.aboutyou.de">Developer Center</a>
+     * <p>
+     * If a cache was set up using {@link #setCategoryTreeCache(java.io.File, long, java.util.concurrent.TimeUnit)}, a
+     * cached tree is returned without a network call.
      *
      * @return The {@link de.aboutyou.models.CategoryTree} for your app
      */
     public CategoryTree requestCategoryTree() {
-        RequestEnvelope<CategoryTreeRequest> wrappedRequest = RequestEnvelope.wrap(new CategoryTreeRequest());
+        CategoryTreeCache cache = mCategoryTreeCache;
+        if (cache == null) {
+            return fetchCategoryTree();
+        }
+
+        CategoryTree categoryTree = cache.get();
+        if (categoryTree == null) {
+            return fetchCategoryTree(cache);
+        }
+        if (cache.isExpired()) {
+            revalidateCategoryTree(cache);
+        }
+        return categoryTree;
+    }
+
+    private CategoryTree fetchCategoryTree() {
+        CategoryTreeRequest categoryTreeRequest = new CategoryTreeRequest();
+        if (mCoalescer != null) {
+            return requestCoalesced(categoryTreeRequest);
+        }
+        RequestEnvelope<CategoryTreeRequest> wrappedRequest = RequestEnvelope.wrap(categoryTreeRequest);
 
         try {
             return mShopAPI.requestCategoryTree(wrappedRequest).unwrap().get();
@@ -234,6 +373,124 @@ public class ShopApiClient {
         }
     }
 
+    private CategoryTree fetchCategoryTree(CategoryTreeCache cache) {
+        CategoryTree categoryTree = fetchCategoryTree();
+        if (categoryTree != null) {
+            try {
+                cache.put(categoryTree);
+            } catch (IOException e) {
+                log(String.format("Could not cache category tree: %s", e.getMessage()));
+            }
+        }
+        return categoryTree;
+    }
+
+    private void revalidateCategoryTree(final CategoryTreeCache cache) {
+        if (!cache.startRevalidation()) {
+            return;
+        }
+
+        mAsyncDispatcher.submit(new Callable<CategoryTree>() {
+            @Override
+            public CategoryTree call() {
+                try {
+                    return fetchCategoryTree(cache);
+                } finally {
+                    cache.finishRevalidation();
+                }
+            }
+        }, null);
+    }
+
+    /**
+     * Enables a persistent cache for {@link #requestCategoryTree()}
+     * <p>
+     * The category tree is stored in a compact binary file in the given directory, one per app id and endpoint. While
+     * a cached tree exists, it is returned immediately; once it is older than the given time to live, it is refreshed
+     * in the background and the refreshed tree is returned by subsequent calls.
+     *
+     * @param cacheDirectory The directory to store the category tree in, e.g. {@link android.content.Context#getCacheDir()}; null disables the cache
+     * @param ttl The time to live of a cached tree
+     * @param unit The {@link java.util.concurrent.TimeUnit} of the ttl parameter
+     */
+    public void setCategoryTreeCache(File cacheDirectory, long ttl, TimeUnit unit) {
+        if (cacheDirectory == null) {
+            mCategoryTreeCache = null;
+        } else {
+            mCategoryTreeCache = new CategoryTreeCache(getCacheFile(cacheDirectory, CATEGORY_TREE_CACHE_FILE), unit.toMillis(ttl));
+        }
+    }
+
+    /**
+     * Enables a persistent cache for {@link #requestCategoryTree()} in the cache directory of the given context, see
+     * {@link #setCategoryTreeCache(java.io.File, long, java.util.concurrent.TimeUnit)}
+     */
+    public void setCategoryTreeCache(Context context, long ttl, TimeUnit unit) {
+        setCategoryTreeCache(context.getCacheDir(), ttl, unit);
+    }
+
+    /**
+     * Enables a persistent cache for the responses of cacheable operations, see
+     * {@link de.aboutyou.enums.Operation#isCacheable()}
+     * <p>
+     * All operations are sent to the same URL, so HTTP caching does not apply; responses are stored on disk keyed by a
+     * hash of the request instead. By default, categories, the category tree, facets and facet types are used for an
+     * hour and then refreshed in the background for up to a week, products for 5 minutes and suggestions for 10
+     * minutes, both refreshed in the background for up to a day. Change these with
+     * {@link #setResponseCacheTtl(de.aboutyou.enums.Operation, long, long, java.util.concurrent.TimeUnit)}. If a request
+     * fails with a network error, a cached response is returned regardless of its age.
+     *
+     * @param cacheDirectory The directory to store the responses in, e.g. {@link android.content.Context#getCacheDir()}; null disables the cache
+     * @param maxBytes The maximum size of all responses on disk
+     */
+    public void setResponseCache(File cacheDirectory, long maxBytes) {
+        if (cacheDirectory == null) {
+            mResponseCacheClient.setCache(null);
+        } else {
+            mResponseCacheClient.setCache(new DiskResponseCache(new File(cacheDirectory, RESPONSE_CACHE_DIRECTORY), maxBytes));
+        }
+    }
+
+    /**
+     * Enables a persistent cache for the responses of cacheable operations in the cache directory of the given
+     * context, see {@link #setResponseCache(java.io.File, long)}
+     */
+    public void setResponseCache(Context context, long maxBytes) {
+        setResponseCache(context.getCacheDir(), maxBytes);
+    }
+
+    /**
+     * Sets how long cached responses of an operation are used, see {@link #setResponseCache(java.io.File, long)}
+     *
+     * @param operation A cacheable {@link de.aboutyou.enums.Operation}, the basket and live variants are never cached
+     * @param ttl The time a response is returned without a network call
+     * @param staleWhileRevalidate The time after the ttl during which a response is still returned, while a fresh one is requested in the background
+     * @param unit The {@link java.util.concurrent.TimeUnit} of the ttl and staleWhileRevalidate parameters
+     */
+    public void setResponseCacheTtl(Operation operation, long ttl, long staleWhileRevalidate, TimeUnit unit) {
+        if (!operation.isCacheable()) {
+            throw new IllegalArgumentException(String.format("Responses of %s can not be cached", operation));
+        }
+        if (ttl < 0 || staleWhileRevalidate < 0) {
+            throw new IllegalArgumentException("ttl and staleWhileRevalidate must not be negative");
+        }
+        mResponseCacheClient.setPolicy(operation, ttl, staleWhileRevalidate, unit);
+    }
+
+    /** Returns the hit, miss and eviction counts of the response cache, sizes are given in kilobytes */
+    public CacheStats getResponseCacheStats() {
+        DiskResponseCache cache = mResponseCacheClient.getCache();
+        return cache != null ? cache.getStats() : new CacheStats(0, 0, 0, 0, 0);
+    }
+
+    /** Removes all responses from the response cache */
+    public void clearResponseCache() {
+        DiskResponseCache cache = mResponseCacheClient.getCache();
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
     /**
      * Requests a list of {@link de.aboutyou.models.Facet Facets}
      *
@@ -242,23 +499,69 @@ public class ShopApiClient {
      */
     public List<Facet> requestFacets(FacetsRequest facetsRequest) {
         validateRequest(facetsRequest);
+        if (mCoalescer != null) {
+            return requestCoalesced(facetsRequest);
+        }
+        FacetsResponse facetsResponse = requestFacetsResponse(facetsRequest);
+        return facetsResponse != null ? facetsResponse.get() : null;
+    }
+
+    /** Requests facets along with the total number of matches; this request is never coalesced */
+    FacetsResponse requestFacetsResponse(FacetsRequest facetsRequest) {
         RequestEnvelope<FacetsRequest> wrappedRequest = RequestEnvelope.wrap(facetsRequest);
 
         try {
-            return mShopAPI.requestFacets(wrappedRequest).unwrap().get();
+            return mShopAPI.requestFacets(wrappedRequest).unwrap();
         } catch (RetrofitError e) {
             handleRetrofitError(e);
             return null;
         }
     }
 
+    /**
+     * Returns the catalog of facets of this client, see {@link de.aboutyou.FacetCatalog}
+     *
+     * @return The {@link de.aboutyou.FacetCatalog}, empty until {@link de.aboutyou.FacetCatalog#preload(java.util.Collection)} is called or a cache file is restored
+     */
+    public FacetCatalog getFacetCatalog() {
+        return mFacetCatalog;
+    }
+
+    /**
+     * Enables a persistent cache for the {@link de.aboutyou.FacetCatalog}
+     * <p>
+     * Facets loaded with {@link de.aboutyou.FacetCatalog#preload(java.util.Collection)} are stored in a compact binary
+     * file in the given directory, one per app id and endpoint, and restored in the background right away. Cached
+     * facets never expire; use {@link de.aboutyou.FacetCatalog#getLoadTime(de.aboutyou.enums.FacetType)} to decide
+     * when to preload them again.
+     *
+     * @param cacheDirectory The directory to store the facets in, e.g. {@link android.content.Context#getCacheDir()}; null disables the cache
+     */
+    public void setFacetCatalogCache(File cacheDirectory) {
+        mFacetCatalog.setStore(cacheDirectory != null ? new FacetCatalogStore(getCacheFile(cacheDirectory, FACET_CATALOG_CACHE_FILE)) : null);
+    }
+
+    /**
+     * Enables a persistent cache for the {@link de.aboutyou.FacetCatalog} in the cache directory of the given context,
+     * see {@link #setFacetCatalogCache(java.io.File)}
+     */
+    public void setFacetCatalogCache(Context context) {
+        setFacetCatalogCache(context.getCacheDir());
+    }
+
     /**
      * Requests the list of available {@link de.aboutyou.enums.FacetType FacetTypes}
+     * <p>
+     * Facet groups unknown to this SDK version are left out, use {@link #requestFacetGroups()} to get them as well.
      *
      * @return The list of available {@link de.aboutyou.enums.FacetType FacetTypes}
      */
     public List<FacetType> requestFacetTypes() {
-        RequestEnvelope<FacetTypesRequest> wrappedRequest = RequestEnvelope.wrap(new FacetTypesRequest());
+        FacetTypesRequest facetTypesRequest = new FacetTypesRequest();
+        if (mCoalescer != null) {
+            return requestCoalesced(facetTypesRequest);
+        }
+        RequestEnvelope<FacetTypesRequest> wrappedRequest = RequestEnvelope.wrap(facetTypesRequest);
 
         try {
             return mShopAPI.requestFacetTypes(wrappedRequest).unwrap().get();
@@ -268,6 +571,24 @@ public class ShopApiClient {
         }
     }
 
+    /**
+     * Requests the list of available facet groups, including the ones unknown to this SDK version
+     * <p>
+     * This request is never coalesced.
+     *
+     * @return The list of available {@link de.aboutyou.models.FacetGroup FacetGroups}
+     */
+    public List<FacetGroup> requestFacetGroups() {
+        RequestEnvelope<FacetTypesRequest> wrappedRequest = RequestEnvelope.wrap(new FacetTypesRequest());
+
+        try {
+            return mShopAPI.requestFacetTypes(wrappedRequest).unwrap().getFacetGroups();
+        } catch (RetrofitError e) {
+            handleRetrofitError(e);
+            return null;
+        }
+    }
+
     /**
      * Requests autocomplete suggestions for a search input field
      *
@@ -276,10 +597,13 @@ public class ShopApiClient {
      */
     public Autocomplete requestAutocompletion(AutocompleteRequest autocompleteRequest) {
         validateRequest(autocompleteRequest);
+        if (mCoalescer != null) {
+            return cacheBasicProducts(this.<Autocomplete>requestCoalesced(autocompleteRequest));
+        }
         RequestEnvelope<AutocompleteRequest> wrappedRequest = RequestEnvelope.wrap(autocompleteRequest);
 
         try {
-            return mShopAPI.requestAutocomplete(wrappedRequest).unwrap().get();
+            return cacheBasicProducts(mShopAPI.requestAutocomplete(wrappedRequest).unwrap().get());
         } catch (RetrofitError e) {
             handleRetrofitError(e);
             return null;
@@ -294,14 +618,27 @@ public class ShopApiClient {
      */
     public Suggest requestSuggest(SuggestRequest suggestRequest) {
         validateRequest(suggestRequest);
-        RequestEnvelope<SuggestRequest> wrappedRequest = RequestEnvelope.wrap(suggestRequest);
+        Suggest suggest = mSuggestCache.get(suggestRequest);
+        if (suggest != null) {
+            return suggest;
+        }
 
-        try {
-            return mShopAPI.requestSuggest(wrappedRequest).unwrap().get();
-        } catch (RetrofitError e) {
-            handleRetrofitError(e);
-            return null;
+        if (mCoalescer != null) {
+            suggest = requestCoalesced(suggestRequest);
+        } else {
+            RequestEnvelope<SuggestRequest> wrappedRequest = RequestEnvelope.wrap(suggestRequest);
+            try {
+                suggest = mShopAPI.requestSuggest(wrappedRequest).unwrap().get();
+            } catch (RetrofitError e) {
+                handleRetrofitError(e);
+                return null;
+            }
         }
+
+        if (suggest != null && suggest.getErrorMessages() == null) {
+            mSuggestCache.put(suggestRequest, suggest);
+        }
+        return suggest;
     }
 
     /**
@@ -314,24 +651,78 @@ public class ShopApiClient {
      */
     public ProductSearch requestProductSearch(ProductSearchRequest productSearchRequest) {
         validateRequest(productSearchRequest);
+        if (mCoalescer != null) {
+            return cacheBasicProducts(this.<ProductSearch>requestCoalesced(productSearchRequest));
+        }
         RequestEnvelope<ProductSearchRequest> wrappedRequest = RequestEnvelope.wrap(productSearchRequest);
 
         try {
-            return mShopAPI.requestProductSearch(wrappedRequest).unwrap().get();
+            return cacheBasicProducts(mShopAPI.requestProductSearch(wrappedRequest).unwrap().get());
         } catch (RetrofitError e) {
             handleRetrofitError(e);
             return null;
         }
     }
 
+    /**
+     * Requests a product search and streams its products
+     * <p>
+     * Products are decoded one by one while the response is being received and passed to the consumer on the calling
+     * thread in the order of the search result, so large result pages never have to be held in memory at once. The
+     * returned {@link de.aboutyou.models.ProductSearch} contains the product count and facets, but no products.
+     * Streamed requests are never coalesced.
+     *
+     * @param productSearchRequest A {@link de.aboutyou.request.ProductSearchRequest}
+     * @param consumer A {@link de.aboutyou.ShopApiClient.ProductConsumer} to receive the products
+     * @return A {@link de.aboutyou.models.ProductSearch} instance without products
+     */
+    public ProductSearch requestProductSearch(ProductSearchRequest productSearchRequest, final ProductConsumer consumer) {
+        validateRequest(productSearchRequest);
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer must not be null");
+        }
+        RequestEnvelope<ProductSearchRequest> wrappedRequest = RequestEnvelope.wrap(productSearchRequest);
+
+        mConverter.setProductHandler(new ProductSearchStreamReader.ProductHandler() {
+            @Override
+            public void handle(Product product) {
+                mProductCache.putIfAbsent(product);
+                consumer.onProduct(product);
+            }
+        });
+        try {
+            return mShopAPI.requestProductSearchStreamed(wrappedRequest);
+        } catch (RetrofitError e) {
+            handleRetrofitError(e);
+            return null;
+        } finally {
+            mConverter.setProductHandler(null);
+        }
+    }
+
     /**
      * Requests a list of live variants
+     * <p>
+     * If live variants are cached, see {@link #setLiveVariantCacheTtl(long, java.util.concurrent.TimeUnit)}, only ids
+     * not cached are requested, concurrent requests for the same ids share a single network call and the variants are
+     * returned in the order of the requested ids.
      *
      * @param liveVariantRequest A {@link de.aboutyou.request.LiveVariantRequest}
      * @return A list of {@link de.aboutyou.models.LiveVariant LiveVariants} matching the {@link de.aboutyou.request.LiveVariantRequest} request parameter
      */
     public List<LiveVariant> requestLiveVariants(LiveVariantRequest liveVariantRequest) {
         validateRequest(liveVariantRequest);
+        List<Long> variantIds = liveVariantRequest.getVariantIds();
+        if (variantIds == null || variantIds.isEmpty() || !mLiveVariantCache.isEnabled()) {
+            return fetchLiveVariants(liveVariantRequest);
+        }
+        return mLiveVariantCache.get(variantIds);
+    }
+
+    private List<LiveVariant> fetchLiveVariants(LiveVariantRequest liveVariantRequest) {
+        if (mCoalescer != null) {
+            return requestCoalesced(liveVariantRequest);
+        }
         RequestEnvelope<LiveVariantRequest> wrappedRequest = RequestEnvelope.wrap(liveVariantRequest);
 
         try {
@@ -344,12 +735,21 @@ public class ShopApiClient {
 
     /**
      * Requests a list of products
+     * <p>
+     * Concurrent requests for product ids are merged: ids already being fetched with the requested fields are not
+     * requested again, and the result only contains the products for the requested ids.
      *
      * @param productsRequest A {@link de.aboutyou.request.ProductsRequest}
      * @return A list of {@link de.aboutyou.models.Product Products} mathing the {@link de.aboutyou.request.ProductsRequest} request parameter
      */
     public List<Product> requestProducts(ProductsRequest productsRequest) {
         validateRequest(productsRequest);
+        if (productsRequest.getProductIds() != null) {
+            return loadProducts(productsRequest.getProductIds(), productsRequest.getFields());
+        }
+        if (mCoalescer != null) {
+            return requestCoalesced(productsRequest);
+        }
         RequestEnvelope<ProductsRequest> wrappedRequest = RequestEnvelope.wrap(productsRequest);
 
         try {
@@ -360,6 +760,164 @@ public class ShopApiClient {
         }
     }
 
+    private List<Product> loadProducts(List<Long> productIds, List<ProductFields> fields) {
+        Set<ProductFields> requestedFields = fields == null || fields.isEmpty()
+                ? EnumSet.noneOf(ProductFields.class)
+                : EnumSet.copyOf(fields);
+
+        Map<Long, Product> products = new LinkedHashMap<>();
+        Map<Set<ProductFields>, List<Long>> missingIdsByFields = new HashMap<>();
+        for (Long productId : productIds) {
+            if (products.containsKey(productId)) {
+                continue;
+            }
+
+            Product product = mProductCache.get(productId, requestedFields);
+            products.put(productId, product);
+            if (product == null) {
+                Set<ProductFields> missingFields = mProductCache.getMissingFields(productId, requestedFields);
+                if (missingFields == null) {
+                    missingFields = requestedFields;
+                }
+                List<Long> missingIds = missingIdsByFields.get(missingFields);
+                if (missingIds == null) {
+                    missingIds = new ArrayList<>();
+                    missingIdsByFields.put(missingFields, missingIds);
+                }
+                missingIds.add(productId);
+            }
+        }
+
+        for (Map.Entry<Set<ProductFields>, List<Long>> entry : missingIdsByFields.entrySet()) {
+            for (Product product : mProductLoader.load(entry.getValue(), entry.getKey())) {
+                products.put(product.getId(), mProductCache.put(product, entry.getKey()));
+            }
+        }
+
+        List<Product> result = new ArrayList<>(products.size());
+        for (Product product : products.values()) {
+            if (product != null) {
+                result.add(product);
+            }
+        }
+        return result;
+    }
+
+    private Map<Long, Product> fetchProducts(List<Long> productIds, List<ProductFields> fields) {
+        ProductsRequest.Builder builder = new ProductsRequest.Builder().filterByProductIds(productIds);
+        if (fields != null) {
+            builder.listFields(fields);
+        }
+        RequestEnvelope<ProductsRequest> wrappedRequest = RequestEnvelope.wrap(builder.build());
+
+        try {
+            return mShopAPI.requestProducts(wrappedRequest).unwrap().getProductsById();
+        } catch (RetrofitError e) {
+            handleRetrofitError(e);
+            return null;
+        }
+    }
+
+    private Autocomplete cacheBasicProducts(Autocomplete autocomplete) {
+        if (autocomplete != null) {
+            for (Product product : autocomplete.getProducts()) {
+                mProductCache.putIfAbsent(product);
+            }
+        }
+        return autocomplete;
+    }
+
+    private ProductSearch cacheBasicProducts(ProductSearch productSearch) {
+        if (productSearch != null && productSearch.getProducts() != null) {
+            for (Product product : productSearch.getProducts()) {
+                mProductCache.putIfAbsent(product);
+            }
+        }
+        return productSearch;
+    }
+
+    /**
+     * Sets the maximum size of the in-memory product cache
+     * <p>
+     * Products returned by {@link #requestProducts(de.aboutyou.request.ProductsRequest)} for an id filter are cached
+     * along with the fields they were requested with, later requests only fetch products and fields not yet cached.
+     * Products of product searches and autocompletions are cached with their basic fields. The size is measured in
+     * units of one per product, variant and image. The cache is disabled by default; cached products do not expire,
+     * so call {@link #clearProductCache()} when prices or availability may have changed.
+     *
+     * @param maxSize The maximum size of the cache, 0 disables caching
+     */
+    public void setProductCacheSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative");
+        }
+        mProductCache.setMaxSize(maxSize);
+    }
+
+    /** Returns the hit, miss and eviction counts of the in-memory product cache */
+    public CacheStats getProductCacheStats() {
+        return mProductCache.getStats();
+    }
+
+    /** Removes all products from the in-memory product cache */
+    public void clearProductCache() {
+        mProductCache.clear();
+    }
+
+    /**
+     * Sets the maximum number of suggestion results kept in memory
+     * <p>
+     * Results of {@link #requestSuggest(de.aboutyou.request.SuggestRequest)} are cached per searchword and category
+     * filter. A longer searchword is answered from the results of a shorter one if those were below the limit of the
+     * request, as then all suggestions for the shorter searchword are known. The cache is disabled by default; cached
+     * results do not expire, so call {@link #clearSuggestCache()} when the assortment may have changed.
+     *
+     * @param maxSize The maximum number of cached results, 0 disables caching
+     */
+    public void setSuggestCacheSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative");
+        }
+        mSuggestCache.setMaxSize(maxSize);
+    }
+
+    /** Returns the hit, miss and eviction counts of the in-memory suggestion cache */
+    public CacheStats getSuggestCacheStats() {
+        return mSuggestCache.getStats();
+    }
+
+    /** Removes all results from the in-memory suggestion cache */
+    public void clearSuggestCache() {
+        mSuggestCache.clear();
+    }
+
+    /**
+     * Sets how long live variants are cached by {@link #requestLiveVariants(de.aboutyou.request.LiveVariantRequest)}
+     * <p>
+     * The time to live is measured from the start of the request that fetched a variant. The cache is disabled by
+     * default, as stock and prices change often; a few seconds are enough to spare list and basket screens asking for
+     * the same ids again a network call.
+     *
+     * @param ttl The time to live, 0 disables caching
+     * @param unit The unit of ttl
+     */
+    public void setLiveVariantCacheTtl(long ttl, TimeUnit unit) {
+        if (ttl < 0) {
+            throw new IllegalArgumentException("ttl must not be negative");
+        }
+        mLiveVariantCache.setTtl(ttl, unit);
+    }
+
+    /** Returns the hit, miss and eviction counts of the in-memory live variant cache */
+    public CacheStats getLiveVariantCacheStats() {
+        return mLiveVariantCache.getStats();
+    }
+
+    /** Removes all variants from the in-memory live variant cache */
+    public void clearLiveVariantCache() {
+        mLiveVariantCache.clear();
+    }
+
     /**
      * Requests to modify a basket
      *
@@ -386,6 +944,9 @@ public class ShopApiClient {
      */
     public Basket requestGetBasket(BasketGetRequest basketGetRequest) {
         validateRequest(basketGetRequest);
+        if (mCoalescer != null) {
+            return requestCoalesced(basketGetRequest);
+        }
         RequestEnvelope<BasketGetRequest> wrappedRequest = RequestEnvelope.wrap(basketGetRequest);
 
         try {
@@ -414,12 +975,505 @@ public class ShopApiClient {
         }
     }
 
+    /**
+     * Asynchronously requests a list of {@link de.aboutyou.models.Category Categories}, see {@link #requestCategories(de.aboutyou.request.CategoriesRequest)}
+     *
+     * @param categoriesRequest A {@link de.aboutyou.request.CategoriesRequest}
+     * @param callback An optional {@link de.aboutyou.ShopApiClient.RequestCallback} to be called with the result
+     * @return A {@link java.util.concurrent.Future} holding the result of the request
+     */
+    public Future<List<Category>> requestCategoriesAsync(final CategoriesRequest categoriesRequest, RequestCallback<List<Category>> callback) {
+        validateRequest(categoriesRequest);
+        return mAsyncDispatcher.submit(new Callable<List<Category>>() {
+            @Override
+            public List<Category> call() {
+                return requestCategories(categoriesRequest);
+            }
+        }, callback);
+    }
+
+    /**
+     * Asynchronously requests the tree of categories configured for your app, see {@link #requestCategoryTree()}
+     *
+     * @param callback An optional {@link de.aboutyou.ShopApiClient.RequestCallback} to be called with the result
+     * @return A {@link java.util.concurrent.Future} holding the result of the request
+     */
+    public Future<CategoryTree> requestCategoryTreeAsync(RequestCallback<CategoryTree> callback) {
+        return mAsyncDispatcher.submit(new Callable<CategoryTree>() {
+            @Override
+            public CategoryTree call() {
+                return requestCategoryTree();
+            }
+        }, callback);
+    }
+
+    /**
+     * Asynchronously requests a list of {@link de.aboutyou.models.Facet Facets}, see {@link #requestFacets(de.aboutyou.request.FacetsRequest)}
+     *
+     * @param facetsRequest A {@link de.aboutyou.request.FacetsRequest}
+     * @param callback An optional {@link de.aboutyou.ShopApiClient.RequestCallback} to be called with the result
+     * @return A {@link java.util.concurrent.Future} holding the result of the request
+     */
+    public Future<List<Facet>> requestFacetsAsync(final FacetsRequest facetsRequest, RequestCallback<List<Facet>> callback) {
+        validateRequest(facetsRequest);
+        return mAsyncDispatcher.submit(new Callable<List<Facet>>() {
+            @Override
+            public List<Facet> call() {
+                return requestFacets(facetsRequest);
+            }
+        }, callback);
+    }
+
+    /**
+     * Asynchronously requests the list of available {@link de.aboutyou.enums.FacetType FacetTypes}, see {@link #requestFacetTypes()}
+     *
+     * @param callback An optional {@link de.aboutyou.ShopApiClient.RequestCallback} to be called with the result
+     * @return A {@link java.util.concurrent.Future} holding the result of the request
+     */
+    public Future<List<FacetType>> requestFacetTypesAsync(RequestCallback<List<FacetType>> callback) {
+        return mAsyncDispatcher.submit(new Callable<List<FacetType>>() {
+            @Override
+            public List<FacetType> call() {
+                return requestFacetTypes();
+            }
+        }, callback);
+    }
+
+    /**
+     * Asynchronously requests the list of available facet groups, see {@link #requestFacetGroups()}
+     *
+     * @param callback An optional {@link de.aboutyou.ShopApiClient.RequestCallback} to be called with the result
+     * @return A {@link java.util.concurrent.Future} holding the result of the request
+     */
+    public Future<List<FacetGroup>> requestFacetGroupsAsync(RequestCallback<List<FacetGroup>> callback) {
+        return mAsyncDispatcher.submit(new Callable<List<FacetGroup>>() {
+            @Override
+            public List<FacetGroup> call() {
+                return requestFacetGroups();
+            }
+        }, callback);
+    }
+
+    /**
+     * Asynchronously requests autocomplete suggestions for a search input field, see {@link #requestAutocompletion(de.aboutyou.request.AutocompleteRequest)}
+     *
+     * @param autocompleteRequest A {@link de.aboutyou.request.AutocompleteRequest}
+     * @param callback An optional {@link de.aboutyou.ShopApiClient.RequestCallback} to be called with the result
+     * @return A {@link java.util.concurrent.Future} holding the result of the request
+     */
+    public Future<Autocomplete> requestAutocompletionAsync(final AutocompleteRequest autocompleteRequest, RequestCallback<Autocomplete> callback) {
+        validateRequest(autocompleteRequest);
+        return mAsyncDispatcher.submit(new Callable<Autocomplete>() {
+            @Override
+            public Autocomplete call() {
+                return requestAutocompletion(autocompleteRequest);
+            }
+        }, callback);
+    }
+
+    /**
+     * Asynchronously requests suggestions, see {@link #requestSuggest(de.aboutyou.request.SuggestRequest)}
+     *
+     * @param suggestRequest A {@link de.aboutyou.request.SuggestRequest}
+     * @param callback An optional {@link de.aboutyou.ShopApiClient.RequestCallback} to be called with the result
+     * @return A {@link java.util.concurrent.Future} holding the result of the request
+     */
+    public Future<Suggest> requestSuggestAsync(final SuggestRequest suggestRequest, RequestCallback<Suggest> callback) {
+        validateRequest(suggestRequest);
+        return mAsyncDispatcher.submit(new Callable<Suggest>() {
+            @Override
+            public Suggest call() {
+                return requestSuggest(suggestRequest);
+            }
+        }, callback);
+    }
+
+    /**
+     * Asynchronously requests a product search, see {@link #requestProductSearch(de.aboutyou.request.ProductSearchRequest)}
+     *
+     * @param productSearchRequest A {@link de.aboutyou.request.ProductSearchRequest}
+     * @param callback An optional {@link de.aboutyou.ShopApiClient.RequestCallback} to be called with the result
+     * @return A {@link java.util.concurrent.Future} holding the result of the request
+     */
+    public Future<ProductSearch> requestProductSearchAsync(final ProductSearchRequest productSearchRequest, RequestCallback<ProductSearch> callback) {
+        validateRequest(productSearchRequest);
+        return mAsyncDispatcher.submit(new Callable<ProductSearch>() {
+            @Override
+            public ProductSearch call() {
+                return requestProductSearch(productSearchRequest);
+            }
+        }, callback);
+    }
+
+    /**
+     * Asynchronously requests a product search and streams its products, see {@link #requestProductSearch(de.aboutyou.request.ProductSearchRequest, de.aboutyou.ShopApiClient.ProductConsumer)}
+     * <p>
+     * The consumer is called on the thread executing the request.
+     *
+     * @param productSearchRequest A {@link de.aboutyou.request.ProductSearchRequest}
+     * @param consumer A {@link de.aboutyou.ShopApiClient.ProductConsumer} to receive the products
+     * @param callback An optional {@link de.aboutyou.ShopApiClient.RequestCallback} to be called with the result
+     * @return A {@link java.util.concurrent.Future} holding the result of the request
+     */
+    public Future<ProductSearch> requestProductSearchAsync(final ProductSearchRequest productSearchRequest, final ProductConsumer consumer, RequestCallback<ProductSearch> callback) {
+        validateRequest(productSearchRequest);
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer must not be null");
+        }
+        return mAsyncDispatcher.submit(new Callable<ProductSearch>() {
+            @Override
+            public ProductSearch call() {
+                return requestProductSearch(productSearchRequest, consumer);
+            }
+        }, callback);
+    }
+
+    /**
+     * Asynchronously requests a list of live variants, see {@link #requestLiveVariants(de.aboutyou.request.LiveVariantRequest)}
+     *
+     * @param liveVariantRequest A {@link de.aboutyou.request.LiveVariantRequest}
+     * @param callback An optional {@link de.aboutyou.ShopApiClient.RequestCallback} to be called with the result
+     * @return A {@link java.util.concurrent.Future} holding the result of the request
+     */
+    public Future<List<LiveVariant>> requestLiveVariantsAsync(final LiveVariantRequest liveVariantRequest, RequestCallback<List<LiveVariant>> callback) {
+        validateRequest(liveVariantRequest);
+        return mAsyncDispatcher.submit(new Callable<List<LiveVariant>>() {
+            @Override
+            public List<LiveVariant> call() {
+                return requestLiveVariants(liveVariantRequest);
+            }
+        }, callback);
+    }
+
+    /**
+     * Asynchronously requests a list of products, see {@link #requestProducts(de.aboutyou.request.ProductsRequest)}
+     *
+     * @param productsRequest A {@link de.aboutyou.request.ProductsRequest}
+     * @param callback An optional {@link de.aboutyou.ShopApiClient.RequestCallback} to be called with the result
+     * @return A {@link java.util.concurrent.Future} holding the result of the request
+     */
+    public Future<List<Product>> requestProductsAsync(final ProductsRequest productsRequest, RequestCallback<List<Product>> callback) {
+        validateRequest(productsRequest);
+        return mAsyncDispatcher.submit(new Callable<List<Product>>() {
+            @Override
+            public List<Product> call() {
+                return requestProducts(productsRequest);
+            }
+        }, callback);
+    }
+
+    /**
+     * Asynchronously requests to modify a basket, see {@link #requestModifyBasket(de.aboutyou.request.BasketModifyRequest)}
+     *
+     * @param basketModifyRequest A {@link de.aboutyou.request.BasketModifyRequest}
+     * @param callback An optional {@link de.aboutyou.ShopApiClient.RequestCallback} to be called with the result
+     * @return A {@link java.util.concurrent.Future} holding the result of the request
+     */
+    public Future<Basket> requestModifyBasketAsync(final BasketModifyRequest basketModifyRequest, RequestCallback<Basket> callback) {
+        validateRequest(basketModifyRequest);
+        return mAsyncDispatcher.submit(new Callable<Basket>() {
+            @Override
+            public Basket call() {
+                return requestModifyBasket(basketModifyRequest);
+            }
+        }, callback);
+    }
+
+    /**
+     * Asynchronously requests a basket, see {@link #requestGetBasket(de.aboutyou.request.BasketGetRequest)}
+     *
+     * @param basketGetRequest A {@link de.aboutyou.request.BasketGetRequest}
+     * @param callback An optional {@link de.aboutyou.ShopApiClient.RequestCallback} to be called with the result
+     * @return A {@link java.util.concurrent.Future} holding the result of the request
+     */
+    public Future<Basket> requestGetBasketAsync(final BasketGetRequest basketGetRequest, RequestCallback<Basket> callback) {
+        validateRequest(basketGetRequest);
+        return mAsyncDispatcher.submit(new Callable<Basket>() {
+            @Override
+            public Basket call() {
+                return requestGetBasket(basketGetRequest);
+            }
+        }, callback);
+    }
+
+    /**
+     * Asynchronously initiates an order, see {@link #requestInitiateOrder(de.aboutyou.request.InitiateOrderRequest)}
+     *
+     * @param initiateOrderRequest A {@link de.aboutyou.request.InitiateOrderRequest}
+     * @param callback An optional {@link de.aboutyou.ShopApiClient.RequestCallback} to be called with the result
+     * @return A {@link java.util.concurrent.Future} holding the result of the request
+     */
+    public Future<InitiateOrder> requestInitiateOrderAsync(final InitiateOrderRequest initiateOrderRequest, RequestCallback<InitiateOrder> callback) {
+        validateRequest(initiateOrderRequest);
+        return mAsyncDispatcher.submit(new Callable<InitiateOrder>() {
+            @Override
+            public InitiateOrder call() {
+                return requestInitiateOrder(initiateOrderRequest);
+            }
+        }, callback);
+    }
+
+    /**
+     * Sets the {@link java.util.concurrent.Executor} running asynchronous requests
+     * <p>
+     * By default a pool of {@value de.aboutyou.internal.communication.AsyncDispatcher#DEFAULT_THREAD_COUNT} threads is used,
+     * requests exceeding the pool size are queued. Combine with {@link #setCoalescingWindow(long, java.util.concurrent.TimeUnit)}
+     * to send queued read-only requests in batches.
+     *
+     * @param executor The {@link java.util.concurrent.Executor} to run asynchronous requests on
+     */
+    public void setAsyncExecutor(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor must not be null");
+        }
+        mAsyncDispatcher.setExecutor(executor);
+    }
+
+    /**
+     * Sets the {@link java.util.concurrent.Executor} used to invoke {@link de.aboutyou.ShopApiClient.RequestCallback RequestCallbacks}
+     * <p>
+     * By default callbacks are invoked on the thread that executed the request. Pass an executor posting to a
+     * {@link android.os.Handler} to receive callbacks on the main thread.
+     *
+     * @param callbackExecutor The {@link java.util.concurrent.Executor} to invoke callbacks on
+     */
+    public void setCallbackExecutor(Executor callbackExecutor) {
+        if (callbackExecutor == null) {
+            throw new IllegalArgumentException("callbackExecutor must not be null");
+        }
+        mAsyncDispatcher.setCallbackExecutor(callbackExecutor);
+    }
+
+    /**
+     * Starts a new {@link de.aboutyou.Batch} to execute several requests in a single network call
+     *
+     * @return A new, empty {@link de.aboutyou.Batch}
+     */
+    public Batch batch() {
+        return new Batch(this);
+    }
+
+    /**
+     * Creates a cursor paging through the results of a product search, prefetching pages in the background
+     * <p>
+     * No request is made until the first product is accessed. The limit of the request is replaced by the page size.
+     *
+     * @param productSearchRequest A {@link de.aboutyou.request.ProductSearchRequest}, its offset is the index of the first product
+     * @param pageSize The number of products requested per page
+     * @param lookahead How many products ahead of the last accessed one should be loaded already
+     * @return A {@link de.aboutyou.ProductSearchCursor}
+     */
+    public ProductSearchCursor productSearchCursor(ProductSearchRequest productSearchRequest, int pageSize, int lookahead) {
+        validateRequest(productSearchRequest);
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        if (lookahead < 0) {
+            throw new IllegalArgumentException("lookahead must not be negative");
+        }
+        return new ProductSearchCursor(this, productSearchRequest, pageSize, lookahead);
+    }
+
+    /**
+     * Subscribes to changes of the stock and price of variants, e.g. the ones currently on screen
+     * <p>
+     * The variants of all subscriptions are polled together in the background, starting right away. The listener is
+     * called on the callback executor with the current values first and then only with variants whose stock or price
+     * changed. Cancel the subscription when the variants are not shown anymore.
+     *
+     * @param variantIds The ids of the variants to watch
+     * @param listener A {@link de.aboutyou.ShopApiClient.LiveVariantListener} to receive the changes
+     * @return A {@link de.aboutyou.LiveVariantPoller.Subscription} to cancel the subscription with
+     */
+    public LiveVariantPoller.Subscription subscribeLiveVariants(Collection<Long> variantIds, LiveVariantListener listener) {
+        if (variantIds == null || variantIds.isEmpty()) {
+            throw new IllegalArgumentException("variantIds must not be null or empty");
+        }
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener must not be null");
+        }
+        return mLiveVariantPoller.subscribe(variantIds, listener);
+    }
+
+    /**
+     * Sets the bounds of the live variant polling interval
+     * <p>
+     * Polling starts at the minimum interval, doubles the interval after every poll without changes up to the maximum
+     * and returns to the minimum as soon as a stock or price changes. Defaults to 10 seconds and 2 minutes.
+     *
+     * @param minInterval The interval after a change
+     * @param maxInterval The longest interval while nothing changes
+     * @param unit The {@link java.util.concurrent.TimeUnit} of both intervals
+     */
+    public void setLiveVariantPollInterval(long minInterval, long maxInterval, TimeUnit unit) {
+        if (minInterval <= 0 || maxInterval < minInterval) {
+            throw new IllegalArgumentException("minInterval must be positive and not greater than maxInterval");
+        }
+        mLiveVariantPoller.setInterval(unit.toMillis(minInterval), unit.toMillis(maxInterval));
+    }
+
+    /** Polls the variants of all live variant subscriptions right away, e.g. when the app returns to the foreground */
+    public void refreshLiveVariants() {
+        mLiveVariantPoller.pollNow();
+    }
+
+    /**
+     * Creates a session for an autocomplete search box, see {@link de.aboutyou.AutocompleteSession}
+     *
+     * @param listener An {@link de.aboutyou.ShopApiClient.AutocompleteListener} receiving the results, called on the callback executor
+     * @return An {@link de.aboutyou.AutocompleteSession}
+     */
+    public AutocompleteSession autocompleteSession(AutocompleteListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener must not be null");
+        }
+        return new AutocompleteSession(this, listener);
+    }
+
+    <T> Future<T> submitAsync(Callable<T> call, RequestCallback<T> callback) {
+        return mAsyncDispatcher.submit(call, callback);
+    }
+
+    Future<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return mAsyncDispatcher.schedule(command, delay, unit);
+    }
+
+    BatchResult requestBatch(List<CollinsRequest> requests) {
+        for (CollinsRequest request : requests) {
+            validateRequest(request);
+        }
+        return new BatchResult(requests, executeBatch(requests));
+    }
+
+    Future<BatchResult> requestBatchAsync(final List<CollinsRequest> requests, RequestCallback<BatchResult> callback) {
+        return mAsyncDispatcher.submit(new Callable<BatchResult>() {
+            @Override
+            public BatchResult call() {
+                return requestBatch(requests);
+            }
+        }, callback);
+    }
+
+    /**
+     * Sets a listener to receive {@link de.aboutyou.models.RequestMetrics} for every network call to the shop API
+     * <p>
+     * The listener is called on the thread that made the call, right after the response has been parsed, so it
+     * should only hand the metrics off, e.g. to a histogram. Calls answered from one of the caches are not reported.
+     *
+     * @param listener A {@link de.aboutyou.ShopApiClient.MetricsListener}, null to stop recording
+     */
+    public void setMetricsListener(MetricsListener listener) {
+        mMetricsRecorder.setListener(listener);
+    }
+
+    /**
+     * Returns the number of bytes sent to and received from the shop API so far, before and after compression
+     *
+     * @return A {@link de.aboutyou.models.CompressionStats} snapshot
+     */
+    public CompressionStats getCompressionStats() {
+        return mGzipClient.getStats();
+    }
+
+    /**
+     * Sets a provider to take the app credentials from instead of the ones passed to the constructor
+     * <p>
+     * The Authorization header is only computed again when the provider returns different credentials.
+     *
+     * @param credentialProvider A {@link de.aboutyou.ShopApiClient.CredentialProvider}, null to use the credentials
+     *                           passed to the constructor again
+     */
+    public void setCredentialProvider(CredentialProvider credentialProvider) {
+        mAuthInterceptor.setCredentialProvider(credentialProvider);
+    }
+
+    /**
+     * Enables merging of concurrent read-only requests into batches
+     * <p>
+     * While enabled, read-only requests issued from different threads within the given time window are sent
+     * to the backend in a single network call. Every caller still blocks until its own result is available, at
+     * most for the window plus the duration of the batch call. Requests modifying a basket or initiating an
+     * order are never coalesced. Product requests filtered by ids are merged into a single request for the union
+     * of all ids and fields instead.
+     *
+     * @param window The time window to collect requests in, 0 disables coalescing
+     * @param unit The {@link java.util.concurrent.TimeUnit} of the window parameter
+     */
+    public void setCoalescingWindow(long window, TimeUnit unit) {
+        if (window < 0) {
+            throw new IllegalArgumentException("window must not be negative");
+        }
+
+        mProductLoader.setWindow(window, unit);
+        if (window == 0) {
+            mCoalescer = null;
+        } else {
+            RequestCoalescer.BatchHandler batchHandler = new RequestCoalescer.BatchHandler() {
+                @Override
+                public List<Object> execute(List<CollinsRequest> requests) {
+                    return executeBatch(requests);
+                }
+            };
+            mCoalescer = new RequestCoalescer(batchHandler, window, unit);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T requestCoalesced(CollinsRequest request) {
+        RequestCoalescer coalescer = mCoalescer;
+        if (coalescer != null) {
+            return (T) coalescer.execute(request);
+        } else {
+            return (T) executeBatch(Collections.singletonList(request)).get(0);
+        }
+    }
+
+    private List<Object> executeBatch(List<CollinsRequest> requests) {
+        RequestEnvelope<CollinsRequest> wrappedRequest = RequestEnvelope.wrap(requests);
+        MetricsRecorder.Session session = mMetricsRecorder.begin(requests);
+        Throwable failure = null;
+
+        try {
+            Response response = mShopAPI.requestBatch(wrappedRequest);
+            long start = System.nanoTime();
+            List<Object> results = BatchResponseReader.read(mGson, response.getBody(), requests);
+            if (session != null) {
+                session.addDeserializeNanos(System.nanoTime() - start);
+            }
+            return results;
+        } catch (RetrofitError e) {
+            failure = e;
+            handleRetrofitError(e);
+            return null;
+        } catch (IOException e) {
+            failure = e;
+            throw new NetworkException(e);
+        } catch (JsonParseException e) {
+            failure = e;
+            throw new CollinsException(e);
+        } finally {
+            mMetricsRecorder.end(session, failure);
+        }
+    }
+
     private void validateRequest(CollinsRequest request) {
         if (request == null) {
             throw new IllegalArgumentException("Request must not be null");
         }
     }
 
+    /** Returns the cache file with the given name for the app id and endpoint of this client */
+    private File getCacheFile(File cacheDirectory, String name) {
+        String appId = mAppId != null ? mAppId.replaceAll("[^A-Za-z0-9_-]", "_") : "";
+        return new File(cacheDirectory, String.format("%s_%s_%s", name, mEndpoint.name().toLowerCase(Locale.US), appId));
+    }
+
+    void log(String message) {
+        if (mLogger != null) {
+            mLogger.log(message);
+        }
+    }
+
     private String getBearerAuth(String token) {
         return String.format("%s %s", "Bearer", token);
     }
@@ -27,19 +27,33 @@ public enum FacetType {
     CLOTHING_HATS_US(231),
     CARE_SYMBOL(247);
 
+    private static final FacetType[] BY_ID;
+
+    static {
+        int maxId = 0;
+        for (FacetType facetType : values()) {
+            maxId = Math.max(maxId, facetType.id);
+        }
+        BY_ID = new FacetType[maxId + 1];
+        for (FacetType facetType : values()) {
+            BY_ID[facetType.id] = facetType;
+        }
+    }
+
     private int id;
 
     private FacetType(int id) {
         this.id = id;
     }
 
+    /**
+     * Returns the facet type with the given facet group id in constant time
+     *
+     * @return The {@link de.aboutyou.enums.FacetType}, or null if the id is unknown to this SDK version; use
+     * {@link de.aboutyou.models.FacetGroup#valueOf(int)} to keep such ids
+     */
     public static FacetType fromInteger(int index) {
-        for (FacetType currentValue : FacetType.values()) {
-            if (currentValue.getId() == index) {
-                return currentValue;
-            }
-        }
-        return null;
+        return index >= 0 && index < BY_ID.length ? BY_ID[index] : null;
     }
 
     public int getId() {
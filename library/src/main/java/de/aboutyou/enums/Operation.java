@@ -0,0 +1,79 @@
+package de.aboutyou.enums;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import de.aboutyou.request.AutocompleteRequest;
+import de.aboutyou.request.BasketGetRequest;
+import de.aboutyou.request.BasketModifyRequest;
+import de.aboutyou.request.CategoriesRequest;
+import de.aboutyou.request.CategoryTreeRequest;
+import de.aboutyou.request.CollinsRequest;
+import de.aboutyou.request.FacetTypesRequest;
+import de.aboutyou.request.FacetsRequest;
+import de.aboutyou.request.InitiateOrderRequest;
+import de.aboutyou.request.LiveVariantRequest;
+import de.aboutyou.request.ProductSearchRequest;
+import de.aboutyou.request.ProductsRequest;
+import de.aboutyou.request.SuggestRequest;
+
+/** Operations of the shop API, one per {@link de.aboutyou.request.CollinsRequest} type */
+public enum Operation {
+
+    CATEGORIES(CategoriesRequest.class, true, true),
+    CATEGORY_TREE(CategoryTreeRequest.class, true, true),
+    FACETS(FacetsRequest.class, true, true),
+    FACET_TYPES(FacetTypesRequest.class, true, true),
+    AUTOCOMPLETE(AutocompleteRequest.class, true, true),
+    SUGGEST(SuggestRequest.class, true, true),
+    PRODUCT_SEARCH(ProductSearchRequest.class, true, true),
+    PRODUCTS(ProductsRequest.class, true, true),
+    BASKET_MODIFY(BasketModifyRequest.class, false, false),
+    BASKET_GET(BasketGetRequest.class, true, false),
+    INITIATE_ORDER(InitiateOrderRequest.class, false, false),
+    LIVE_VARIANT(LiveVariantRequest.class, true, false);
+
+    private static final Map<Class<? extends CollinsRequest>, Operation> BY_REQUEST_CLASS = new HashMap<>();
+
+    static {
+        for (Operation operation : values()) {
+            BY_REQUEST_CLASS.put(operation.requestClass, operation);
+        }
+    }
+
+    private Class<? extends CollinsRequest> requestClass;
+    private boolean readOnly;
+    private boolean cacheable;
+
+    private Operation(Class<? extends CollinsRequest> requestClass, boolean readOnly, boolean cacheable) {
+        this.requestClass = requestClass;
+        this.readOnly = readOnly;
+        this.cacheable = cacheable;
+    }
+
+    /** Returns the operation of the given request with a single hash lookup of its class */
+    public static Operation fromRequest(CollinsRequest request) {
+        Operation operation = BY_REQUEST_CLASS.get(request.getClass());
+        if (operation != null) {
+            return operation;
+        }
+        throw new IllegalArgumentException(String.format("Unsupported request type %s", request.getClass().getName()));
+    }
+
+    public Class<? extends CollinsRequest> getRequestClass() {
+        return requestClass;
+    }
+
+    /** Whether the operation only reads data and does not modify any state on the backend */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Whether responses of the operation may be served from a response cache; false for the basket and live variants,
+     * which reflect the current state of a session or the stock and must not be stale
+     */
+    public boolean isCacheable() {
+        return cacheable;
+    }
+}
@@ -0,0 +1,14 @@
+package de.aboutyou.enums;
+
+/** The outcome of a network call to the shop API */
+public enum RequestOutcome {
+
+    SUCCESS,
+    /** The call could not be completed, e.g. because there was no connection or it timed out */
+    NETWORK_ERROR,
+    /** The backend answered with an HTTP status other than 2xx */
+    HTTP_ERROR,
+    /** The response could not be parsed */
+    PARSE_ERROR
+
+}
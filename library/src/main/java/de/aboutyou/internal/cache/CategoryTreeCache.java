@@ -0,0 +1,169 @@
+package de.aboutyou.internal.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import de.aboutyou.models.Category;
+import de.aboutyou.models.CategoryTree;
+
+/**
+ * Keeps the {@link de.aboutyou.models.CategoryTree} in memory and in a compact binary file, so it is available
+ * immediately after a cold start.
+ * <p>
+ * File layout: magic, format version, timestamp of the download, followed by the categories in pre-order, each one
+ * written as id, parent id, name, active flag, position and number of sub categories.
+ */
+public class CategoryTreeCache {
+
+    private static final int MAGIC = 0x43415454;
+    private static final int VERSION = 1;
+
+    private final File mFile;
+    private final long mTtlMillis;
+    private final AtomicBoolean mRevalidating = new AtomicBoolean();
+    private final Object mWriteLock = new Object();
+
+    private CategoryTree mCategoryTree;
+    private long mTimestamp;
+
+    public CategoryTreeCache(File file, long ttlMillis) {
+        mFile = file;
+        mTtlMillis = ttlMillis;
+    }
+
+    /** Returns the cached tree regardless of its age, or null if there is none */
+    public synchronized CategoryTree get() {
+        if (mCategoryTree == null && mFile.exists()) {
+            try {
+                readFromDisk();
+            } catch (IOException e) {
+                mFile.delete();
+            }
+        }
+        return mCategoryTree;
+    }
+
+    /** Whether the cached tree is older than the configured TTL */
+    public synchronized boolean isExpired() {
+        return System.currentTimeMillis() - mTimestamp > mTtlMillis;
+    }
+
+    public void put(CategoryTree categoryTree) throws IOException {
+        synchronized (this) {
+            mCategoryTree = categoryTree;
+            mTimestamp = System.currentTimeMillis();
+        }
+
+        // the file is written outside the monitor so readers are not blocked; writes are serialized, and each one
+        // takes the tree at that time, so the last write stores the latest tree
+        synchronized (mWriteLock) {
+            CategoryTree tree;
+            long timestamp;
+            synchronized (this) {
+                tree = mCategoryTree;
+                timestamp = mTimestamp;
+            }
+            if (tree != null) {
+                writeToDisk(tree, timestamp);
+            }
+        }
+    }
+
+    /** Marks the start of a background revalidation, returns false if one is already running */
+    public boolean startRevalidation() {
+        return mRevalidating.compareAndSet(false, true);
+    }
+
+    public void finishRevalidation() {
+        mRevalidating.set(false);
+    }
+
+    public void clear() {
+        synchronized (this) {
+            mCategoryTree = null;
+            mTimestamp = 0;
+        }
+        synchronized (mWriteLock) {
+            mFile.delete();
+        }
+    }
+
+    private void readFromDisk() throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(mFile)));
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unsupported category tree cache format");
+            }
+            long timestamp = in.readLong();
+            List<Category> categories = readCategories(in, in.readInt());
+
+            mCategoryTree = new CategoryTree(categories);
+            mTimestamp = timestamp;
+        } finally {
+            in.close();
+        }
+    }
+
+    private List<Category> readCategories(DataInputStream in, int count) throws IOException {
+        List<Category> categories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Category category = new Category();
+            category.setId(in.readLong());
+            category.setParentId(in.readLong());
+            category.setName(in.readBoolean() ? in.readUTF() : null);
+            category.setActive(in.readBoolean());
+            category.setPosition(in.readInt());
+            category.setAllSubCategories(readCategories(in, in.readInt()));
+            categories.add(category);
+        }
+        return categories;
+    }
+
+    private void writeToDisk(CategoryTree categoryTree, long timestamp) throws IOException {
+        File tempFile = new File(mFile.getPath() + ".tmp");
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(timestamp);
+            writeCategories(out, categoryTree.getAllCategories());
+        } finally {
+            out.close();
+        }
+
+        if (!tempFile.renameTo(mFile)) {
+            tempFile.delete();
+            throw new IOException(String.format("Could not write %s", mFile));
+        }
+    }
+
+    private void writeCategories(DataOutputStream out, List<Category> categories) throws IOException {
+        if (categories == null) {
+            out.writeInt(0);
+            return;
+        }
+
+        out.writeInt(categories.size());
+        for (Category category : categories) {
+            out.writeLong(category.getId());
+            out.writeLong(category.getParentId());
+            out.writeBoolean(category.getName() != null);
+            if (category.getName() != null) {
+                out.writeUTF(category.getName());
+            }
+            out.writeBoolean(category.isActive());
+            out.writeInt(category.getPosition());
+            writeCategories(out, category.getAllSubCategories());
+        }
+    }
+
+}
@@ -0,0 +1,247 @@
+package de.aboutyou.internal.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import de.aboutyou.models.CacheStats;
+
+/**
+ * A bounded LRU cache of raw API responses on disk, one file per response, keyed by a hash of the request.
+ * <p>
+ * File layout: magic, format version, timestamp of the download, mime type, length and bytes of the response body.
+ * The index of files is read from the directory on first use, ordered by last modification; a file is touched
+ * whenever it is read, so the least recently used responses are evicted first. The size is measured in bytes.
+ */
+public class DiskResponseCache {
+
+    private static final int MAGIC = 0x52455350;
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".response";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final File mDirectory;
+    private final long mMaxBytes;
+    private final LinkedHashMap<String, Long> mFiles = new LinkedHashMap<>(16, 0.75f, true);
+    private boolean mInitialized;
+    private long mSize;
+
+    private long mHitCount;
+    private long mMissCount;
+    private long mEvictionCount;
+
+    public DiskResponseCache(File directory, long maxBytes) {
+        mDirectory = directory;
+        mMaxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the cache key for a request to the given URL with the given body
+     *
+     * @param credentials The value of the Authorization header, so responses are not shared between apps; may be null
+     */
+    public static String key(String url, String credentials, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(url.getBytes("UTF-8"));
+            digest.update((byte) 0);
+            if (credentials != null) {
+                digest.update(credentials.getBytes("UTF-8"));
+            }
+            digest.update((byte) 0);
+            digest.update(body);
+
+            byte[] hash = digest.digest();
+            char[] hex = new char[hash.length * 2];
+            for (int i = 0; i < hash.length; i++) {
+                hex[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xf];
+                hex[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xf];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException | UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Returns the cached response if it is at most maxAgeMillis old, null otherwise */
+    public synchronized Entry get(String key, long maxAgeMillis) {
+        Entry entry = read(key);
+        if (entry != null && System.currentTimeMillis() - entry.timestamp <= maxAgeMillis) {
+            mHitCount++;
+            return entry;
+        }
+        mMissCount++;
+        return null;
+    }
+
+    /** Returns the cached response regardless of its age, or null if there is none */
+    public synchronized Entry getStale(String key) {
+        return read(key);
+    }
+
+    public synchronized void put(String key, String mimeType, byte[] body) throws IOException {
+        initialize();
+        if (body.length > mMaxBytes) {
+            return;
+        }
+
+        File file = getFile(key);
+        File tempFile = new File(file.getPath() + ".tmp");
+        long timestamp = System.currentTimeMillis();
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(timestamp);
+            out.writeUTF(mimeType);
+            out.writeInt(body.length);
+            out.write(body);
+        } finally {
+            out.close();
+        }
+
+        long length = tempFile.length();
+        if (!tempFile.renameTo(file)) {
+            tempFile.delete();
+            throw new IOException(String.format("Could not write %s", file));
+        }
+
+        Long previousLength = mFiles.put(key, length);
+        mSize += length - (previousLength != null ? previousLength : 0);
+        trimToSize();
+    }
+
+    public synchronized void clear() {
+        initialize();
+        for (String key : mFiles.keySet()) {
+            getFile(key).delete();
+        }
+        mFiles.clear();
+        mSize = 0;
+    }
+
+    /** Returns the statistics of the cache; sizes are given in kilobytes */
+    public synchronized CacheStats getStats() {
+        initialize();
+        return new CacheStats(mHitCount, mMissCount, mEvictionCount, (int) (mSize / 1024), (int) (mMaxBytes / 1024));
+    }
+
+    private Entry read(String key) {
+        initialize();
+        if (!mFiles.containsKey(key)) {
+            return null;
+        }
+
+        File file = getFile(key);
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            try {
+                if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                    throw new IOException("Unsupported response cache format");
+                }
+                long timestamp = in.readLong();
+                String mimeType = in.readUTF();
+                byte[] body = new byte[in.readInt()];
+                in.readFully(body);
+
+                file.setLastModified(System.currentTimeMillis());
+                return new Entry(timestamp, mimeType, body);
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            remove(key);
+            return null;
+        }
+    }
+
+    private void initialize() {
+        if (mInitialized) {
+            return;
+        }
+        mInitialized = true;
+
+        mDirectory.mkdirs();
+        File[] files = mDirectory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File lhs, File rhs) {
+                return Long.valueOf(lhs.lastModified()).compareTo(rhs.lastModified());
+            }
+        });
+        for (File file : files) {
+            String name = file.getName();
+            if (name.endsWith(SUFFIX)) {
+                mFiles.put(name.substring(0, name.length() - SUFFIX.length()), file.length());
+                mSize += file.length();
+            }
+        }
+        trimToSize();
+    }
+
+    private void remove(String key) {
+        Long length = mFiles.remove(key);
+        if (length != null) {
+            mSize -= length;
+        }
+        getFile(key).delete();
+    }
+
+    private void trimToSize() {
+        Iterator<Map.Entry<String, Long>> iterator = mFiles.entrySet().iterator();
+        while (mSize > mMaxBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            mSize -= eldest.getValue();
+            getFile(eldest.getKey()).delete();
+            mEvictionCount++;
+        }
+    }
+
+    private File getFile(String key) {
+        return new File(mDirectory, key + SUFFIX);
+    }
+
+    /** A cached response body along with the time it was downloaded */
+    public static class Entry {
+
+        private final long timestamp;
+        private final String mimeType;
+        private final byte[] body;
+
+        private Entry(long timestamp, String mimeType, byte[] body) {
+            this.timestamp = timestamp;
+            this.mimeType = mimeType;
+            this.body = body;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public String getMimeType() {
+            return mimeType;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+
+}
@@ -0,0 +1,124 @@
+package de.aboutyou.internal.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import de.aboutyou.models.Facet;
+
+/**
+ * Persists the facet groups of the {@link de.aboutyou.FacetCatalog} in a compact binary file.
+ * <p>
+ * File layout: magic, format version and number of groups, followed by the groups, each one written as group id,
+ * timestamp of the download and number of facets, followed by its facets as facet id, name, value and group name.
+ */
+public class FacetCatalogStore {
+
+    private static final int MAGIC = 0x46414354;
+    private static final int VERSION = 1;
+    /** Upper bounds of the counts in a file, anything larger means the file is damaged */
+    private static final int MAX_GROUP_COUNT = 1024;
+    private static final int MAX_FACET_COUNT = 1000000;
+
+    private final File mFile;
+
+    public FacetCatalogStore(File file) {
+        mFile = file;
+    }
+
+    /** Reads all stored groups, an empty list if nothing was stored yet */
+    public List<FacetIndex> read() throws IOException {
+        if (!mFile.exists()) {
+            return new ArrayList<>();
+        }
+
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(mFile)));
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unsupported facet catalog format");
+            }
+
+            int groupCount = readCount(in, MAX_GROUP_COUNT);
+            List<FacetIndex> groups = new ArrayList<>(groupCount);
+            for (int i = 0; i < groupCount; i++) {
+                int groupId = in.readInt();
+                long timestamp = in.readLong();
+                int facetCount = readCount(in, MAX_FACET_COUNT);
+                List<Facet> facets = new ArrayList<>(facetCount);
+                for (int j = 0; j < facetCount; j++) {
+                    Facet facet = new Facet();
+                    facet.setGroupId(groupId);
+                    facet.setFacetId(in.readLong());
+                    facet.setName(readString(in));
+                    facet.setValue(readString(in));
+                    facet.setGroupName(readString(in));
+                    facets.add(facet);
+                }
+                groups.add(new FacetIndex(groupId, facets, timestamp));
+            }
+            return groups;
+        } finally {
+            in.close();
+        }
+    }
+
+    public void write(Collection<FacetIndex> groups) throws IOException {
+        File tempFile = new File(mFile.getPath() + ".tmp");
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(groups.size());
+            for (FacetIndex group : groups) {
+                out.writeInt(group.getGroupId());
+                out.writeLong(group.getTimestamp());
+                out.writeInt(group.getFacets().size());
+                for (Facet facet : group.getFacets()) {
+                    out.writeLong(facet.getFacetId());
+                    writeString(out, facet.getName());
+                    writeString(out, facet.getValue());
+                    writeString(out, facet.getGroupName());
+                }
+            }
+        } finally {
+            out.close();
+        }
+
+        if (!tempFile.renameTo(mFile)) {
+            tempFile.delete();
+            throw new IOException(String.format("Could not write %s", mFile));
+        }
+    }
+
+    public void delete() {
+        mFile.delete();
+    }
+
+    private static int readCount(DataInputStream in, int maxCount) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > maxCount) {
+            throw new IOException(String.format("Damaged facet catalog, invalid count %d", count));
+        }
+        return count;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+package de.aboutyou.internal.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import de.aboutyou.internal.util.LongIntHashMap;
+import de.aboutyou.models.Facet;
+
+/** All facets of one facet group, indexed by facet id for lookups without boxing */
+public class FacetIndex {
+
+    private final int mGroupId;
+    private final long mTimestamp;
+    private final List<Facet> mFacets;
+    private final LongIntHashMap mPositions;
+
+    /**
+     * @param groupId The id of the facet group
+     * @param facets The facets of the group
+     * @param timestamp The time the facets were downloaded, in milliseconds since the epoch
+     */
+    public FacetIndex(int groupId, List<Facet> facets, long timestamp) {
+        mGroupId = groupId;
+        mTimestamp = timestamp;
+        mFacets = Collections.unmodifiableList(new ArrayList<>(facets));
+        mPositions = new LongIntHashMap(facets.size());
+        for (int i = 0; i < mFacets.size(); i++) {
+            mPositions.put(mFacets.get(i).getFacetId(), i);
+        }
+    }
+
+    public int getGroupId() {
+        return mGroupId;
+    }
+
+    public long getTimestamp() {
+        return mTimestamp;
+    }
+
+    public List<Facet> getFacets() {
+        return mFacets;
+    }
+
+    /** Returns the facet with the given id, or null if the group has no such facet */
+    public Facet get(long facetId) {
+        int position = mPositions.get(facetId);
+        return position != LongIntHashMap.NO_VALUE ? mFacets.get(position) : null;
+    }
+
+}
@@ -0,0 +1,218 @@
+package de.aboutyou.internal.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import de.aboutyou.exceptions.CollinsException;
+import de.aboutyou.exceptions.NetworkException;
+import de.aboutyou.models.CacheStats;
+import de.aboutyou.models.LiveVariant;
+
+/**
+ * A short lived cache of {@link de.aboutyou.models.LiveVariant LiveVariants} keyed by variant id, which also merges
+ * concurrent requests for the same ids.
+ * <p>
+ * Entries expire after the configured time to live, measured from the start of the request that fetched them.
+ * Ids missing from the cache or expired are requested in a single call; ids already being fetched by another caller
+ * are not requested again, the caller waits for the running fetch instead. Variants returned with an error are passed
+ * on but not cached. The size is measured in entries, the least recently used ones are evicted first.
+ */
+public class LiveVariantCache {
+
+    public interface Fetcher {
+        public List<LiveVariant> fetch(List<Long> variantIds);
+    }
+
+    private final Fetcher mFetcher;
+    private final LinkedHashMap<Long, Entry> mEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, Fetch> mInFlight = new HashMap<>();
+    private final int mMaxSize;
+    private long mTtlNanos;
+
+    private long mHitCount;
+    private long mMissCount;
+    private long mEvictionCount;
+
+    public LiveVariantCache(Fetcher fetcher, int maxSize, long ttl, TimeUnit unit) {
+        mFetcher = fetcher;
+        mMaxSize = maxSize;
+        mTtlNanos = unit.toNanos(ttl);
+    }
+
+    /** Returns the live variants with the given ids, fetching the ones not cached; blocks until all are available */
+    public List<LiveVariant> get(Collection<Long> variantIds) {
+        Set<Long> ids = new LinkedHashSet<>(variantIds);
+        Map<Long, LiveVariant> cached = new HashMap<>();
+        Map<Long, Fetch> fetchById = new HashMap<>();
+        Fetch leading = null;
+        synchronized (this) {
+            long now = System.nanoTime();
+            for (Long id : ids) {
+                Entry entry = mEntries.get(id);
+                if (entry != null && now - entry.fetchedAt < mTtlNanos) {
+                    mHitCount++;
+                    cached.put(id, entry.liveVariant);
+                    continue;
+                }
+                if (entry != null) {
+                    mEntries.remove(id);
+                }
+                mMissCount++;
+
+                Fetch fetch = mInFlight.get(id);
+                if (fetch == null) {
+                    if (leading == null) {
+                        leading = new Fetch(now);
+                    }
+                    fetch = leading;
+                    fetch.ids.add(id);
+                    mInFlight.put(id, fetch);
+                }
+                fetchById.put(id, fetch);
+            }
+        }
+
+        if (leading != null) {
+            execute(leading);
+        }
+
+        List<LiveVariant> liveVariants = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            LiveVariant liveVariant = cached.get(id);
+            if (liveVariant == null) {
+                liveVariant = fetchById.get(id).await().get(id);
+            }
+            if (liveVariant != null) {
+                liveVariants.add(liveVariant);
+            }
+        }
+        return liveVariants;
+    }
+
+    public synchronized void setTtl(long ttl, TimeUnit unit) {
+        mTtlNanos = unit.toNanos(ttl);
+        if (mTtlNanos <= 0) {
+            mEntries.clear();
+        }
+    }
+
+    public synchronized void clear() {
+        mEntries.clear();
+    }
+
+    /** Whether variants are kept at all, i.e. the time to live is positive */
+    public synchronized boolean isEnabled() {
+        return mTtlNanos > 0;
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(mHitCount, mMissCount, mEvictionCount, mEntries.size(), mMaxSize);
+    }
+
+    private void execute(Fetch fetch) {
+        Map<Long, LiveVariant> result = new HashMap<>();
+        Throwable error = null;
+        try {
+            List<LiveVariant> liveVariants = mFetcher.fetch(new ArrayList<>(fetch.ids));
+            if (liveVariants != null) {
+                for (LiveVariant liveVariant : liveVariants) {
+                    if (fetch.ids.contains(liveVariant.getId())) {
+                        result.put(liveVariant.getId(), liveVariant);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            error = e;
+        } catch (Error e) {
+            error = e;
+            throw e;
+        } finally {
+            // waiting callers are released and later calls start a new fetch, whatever the fetcher threw
+            finish(fetch, result, error);
+        }
+    }
+
+    private void finish(Fetch fetch, Map<Long, LiveVariant> result, Throwable error) {
+        synchronized (this) {
+            for (Long id : fetch.ids) {
+                if (mInFlight.get(id) == fetch) {
+                    mInFlight.remove(id);
+                }
+            }
+            if (error == null && mTtlNanos > 0) {
+                for (LiveVariant liveVariant : result.values()) {
+                    if (liveVariant.getErrorMessages() == null) {
+                        mEntries.put(liveVariant.getId(), new Entry(liveVariant, fetch.startedAt));
+                    }
+                }
+                trimToSize();
+            }
+        }
+        fetch.complete(result, error);
+    }
+
+    private void trimToSize() {
+        Iterator<Entry> iterator = mEntries.values().iterator();
+        while (mEntries.size() > mMaxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            mEvictionCount++;
+        }
+    }
+
+    private static class Entry {
+
+        private final LiveVariant liveVariant;
+        private final long fetchedAt;
+
+        private Entry(LiveVariant liveVariant, long fetchedAt) {
+            this.liveVariant = liveVariant;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+
+    private static class Fetch {
+
+        private final long startedAt;
+        private final Set<Long> ids = new LinkedHashSet<>();
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private Map<Long, LiveVariant> result;
+        private Throwable error;
+
+        private Fetch(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        private void complete(Map<Long, LiveVariant> result, Throwable error) {
+            this.result = result;
+            this.error = error;
+            latch.countDown();
+        }
+
+        private Map<Long, LiveVariant> await() {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new NetworkException("Interrupted while waiting for live variants");
+            }
+
+            if (error instanceof CollinsException || error instanceof IllegalArgumentException) {
+                throw (RuntimeException) error;
+            } else if (error != null) {
+                throw new CollinsException(error);
+            }
+            return result;
+        }
+    }
+
+}
@@ -0,0 +1,206 @@
+package de.aboutyou.internal.cache;
+
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.aboutyou.enums.ProductFields;
+import de.aboutyou.models.CacheStats;
+import de.aboutyou.models.Product;
+import de.aboutyou.models.Variant;
+
+/**
+ * A bounded LRU cache of {@link de.aboutyou.models.Product Products} keyed by product id.
+ * <p>
+ * Every entry remembers the {@link de.aboutyou.enums.ProductFields} it was fetched with, so lookups can tell which
+ * fields are still missing. An empty field set stands for the default fields returned by the backend. The size of an
+ * entry is one unit for the product plus one for each of its variants and images. Cached products are never modified;
+ * when more fields of a product arrive, they are merged into a copy which replaces the entry.
+ */
+public class ProductCache {
+
+    private final LinkedHashMap<Long, Entry> mEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private int mMaxSize;
+    private int mSize;
+
+    private long mHitCount;
+    private long mMissCount;
+    private long mEvictionCount;
+
+    public ProductCache(int maxSize) {
+        mMaxSize = maxSize;
+    }
+
+    /** Returns the cached product if it contains all of the given fields, null otherwise */
+    public synchronized Product get(long productId, Set<ProductFields> fields) {
+        Entry entry = mEntries.get(productId);
+        if (entry != null && entry.fields.containsAll(fields)) {
+            mHitCount++;
+            return entry.product;
+        }
+        mMissCount++;
+        return null;
+    }
+
+    /**
+     * Returns the fields that have to be fetched to complete the cached product, or null if nothing is cached for
+     * the product at all
+     */
+    public synchronized Set<ProductFields> getMissingFields(long productId, Set<ProductFields> fields) {
+        Entry entry = mEntries.get(productId);
+        if (entry == null) {
+            return null;
+        }
+        Set<ProductFields> missingFields = EnumSet.noneOf(ProductFields.class);
+        missingFields.addAll(fields);
+        missingFields.removeAll(entry.fields);
+        return missingFields;
+    }
+
+    /**
+     * Adds a product fetched with the given fields; if the product is already cached, the given fields are merged
+     * into a copy of the cached instance
+     *
+     * @return The cached product instance
+     */
+    public synchronized Product put(Product product, Set<ProductFields> fields) {
+        if (mMaxSize <= 0) {
+            return product;
+        }
+
+        Entry entry = mEntries.get(product.getId());
+        if (entry == null) {
+            entry = new Entry(product, EnumSet.noneOf(ProductFields.class));
+            mEntries.put(product.getId(), entry);
+        } else if (entry.product != product) {
+            Product merged = copyOf(entry.product);
+            mergeFields(merged, product, fields);
+            entry.product = merged;
+        }
+        entry.fields.addAll(fields);
+
+        mSize -= entry.size;
+        entry.size = sizeOf(entry.product);
+        mSize += entry.size;
+
+        trimToSize(mMaxSize);
+        return entry.product;
+    }
+
+    /** Adds a product with the default fields, unless the product is already cached */
+    public synchronized void putIfAbsent(Product product) {
+        if (!mEntries.containsKey(product.getId())) {
+            put(product, EnumSet.noneOf(ProductFields.class));
+        }
+    }
+
+    public synchronized void setMaxSize(int maxSize) {
+        mMaxSize = maxSize;
+        trimToSize(maxSize);
+    }
+
+    public synchronized void clear() {
+        mEntries.clear();
+        mSize = 0;
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(mHitCount, mMissCount, mEvictionCount, mSize, mMaxSize);
+    }
+
+    private void trimToSize(int maxSize) {
+        Iterator<Map.Entry<Long, Entry>> iterator = mEntries.entrySet().iterator();
+        while (mSize > maxSize && iterator.hasNext()) {
+            Entry eldest = iterator.next().getValue();
+            iterator.remove();
+            mSize -= eldest.size;
+            mEvictionCount++;
+        }
+    }
+
+    private static int sizeOf(Product product) {
+        int size = 1;
+        if (product.getImage() != null) {
+            size++;
+        }
+        List<Variant> variants = product.getVariants();
+        if (variants != null) {
+            for (Variant variant : variants) {
+                size++;
+                if (variant.getImages() != null) {
+                    size += variant.getImages().size();
+                }
+            }
+        }
+        return size;
+    }
+
+    private static Product copyOf(Product product) {
+        Product copy = new Product();
+        copy.setId(product.getId());
+        copy.setName(product.getName());
+        copy.setBrandId(product.getBrandId());
+        copy.setDescriptionShort(product.getDescriptionShort());
+        copy.setDescriptionLong(product.getDescriptionLong());
+        copy.setVariants(product.getVariants());
+        copy.setMinPrice(product.getMinPrice());
+        copy.setMaxPrice(product.getMaxPrice());
+        copy.setSale(product.getSale());
+        copy.setImage(product.getImage());
+        copy.setStyles(product.getStyles());
+        return copy;
+    }
+
+    private static void mergeFields(Product target, Product source, Set<ProductFields> fields) {
+        for (ProductFields field : fields) {
+            switch (field) {
+                case NAME:
+                    target.setName(source.getName());
+                    break;
+                case BRAND_ID:
+                    target.setBrandId(source.getBrandId());
+                    break;
+                case DESCRIPTION_SHORT:
+                    target.setDescriptionShort(source.getDescriptionShort());
+                    break;
+                case DESCRIPTION_LONG:
+                    target.setDescriptionLong(source.getDescriptionLong());
+                    break;
+                case VARIANTS:
+                    target.setVariants(source.getVariants());
+                    break;
+                case MIN_PRICE:
+                    target.setMinPrice(source.getMinPrice());
+                    break;
+                case MAX_PRICE:
+                    target.setMaxPrice(source.getMaxPrice());
+                    break;
+                case SALE:
+                    target.setSale(source.getSale());
+                    break;
+                case DEFAULT_IMAGE:
+                    target.setImage(source.getImage());
+                    break;
+                default:
+                    // not part of the product model
+                    break;
+            }
+        }
+    }
+
+    private static class Entry {
+
+        private Product product;
+        private final Set<ProductFields> fields;
+        private int size;
+
+        private Entry(Product product, Set<ProductFields> fields) {
+            this.product = product;
+            this.fields = fields;
+        }
+    }
+
+}
@@ -0,0 +1,207 @@
+package de.aboutyou.internal.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.aboutyou.internal.util.SearchwordUtil;
+import de.aboutyou.models.CacheStats;
+import de.aboutyou.models.Suggest;
+import de.aboutyou.request.SuggestRequest;
+
+/**
+ * A bounded LRU cache of {@link de.aboutyou.models.Suggest} results, kept in one trie of searchwords per category
+ * filter.
+ * <p>
+ * A lookup walks the trie along the searchword. An entry for the searchword itself answers requests with the same
+ * limit. Otherwise the deepest complete entry for the searchword or one of its prefixes is used. An entry is complete
+ * if it holds fewer suggestions than its limit: then the backend returned all suggestions for its searchword, and the
+ * ones for a longer searchword are filtered from it by a case insensitive substring match. Results without a limit are
+ * never treated as complete, as the default limit of the backend is unknown. The size is measured in entries. Every
+ * lookup returns a new {@link de.aboutyou.models.Suggest}, so callers may modify it without affecting the cache.
+ */
+public class SuggestCache {
+
+    private final Map<String, Node> mRoots = new HashMap<>();
+    private final LinkedHashMap<Entry, Entry> mEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private int mMaxSize;
+
+    private long mHitCount;
+    private long mMissCount;
+    private long mEvictionCount;
+
+    public SuggestCache(int maxSize) {
+        mMaxSize = maxSize;
+    }
+
+    /** Returns the cached or filtered suggestions for the request, or null if they have to be requested */
+    public synchronized Suggest get(SuggestRequest request) {
+        Node node = mRoots.get(getFilterKey(request));
+        String searchword = SearchwordUtil.normalize(request.getSearchword());
+        Integer limit = request.getLimit();
+
+        Entry prefixEntry = null;
+        for (int i = 0; node != null && i < searchword.length(); i++) {
+            if (node.entry != null && node.entry.isComplete()) {
+                prefixEntry = node.entry;
+            }
+            node = node.children.get(searchword.charAt(i));
+        }
+
+        if (node != null && node.entry != null) {
+            if (equal(node.entry.limit, limit)) {
+                mEntries.get(node.entry);
+                mHitCount++;
+                return filter(node.entry.suggest, null, null);
+            }
+            if (node.entry.isComplete()) {
+                prefixEntry = node.entry;
+            }
+        }
+        if (prefixEntry != null) {
+            mEntries.get(prefixEntry);
+            mHitCount++;
+            return filter(prefixEntry.suggest, searchword, limit);
+        }
+        mMissCount++;
+        return null;
+    }
+
+    public synchronized void put(SuggestRequest request, Suggest suggest) {
+        if (mMaxSize <= 0) {
+            return;
+        }
+
+        String filterKey = getFilterKey(request);
+        String searchword = SearchwordUtil.normalize(request.getSearchword());
+        Node node = mRoots.get(filterKey);
+        if (node == null) {
+            node = new Node();
+            mRoots.put(filterKey, node);
+        }
+        for (int i = 0; i < searchword.length(); i++) {
+            Node child = node.children.get(searchword.charAt(i));
+            if (child == null) {
+                child = new Node();
+                node.children.put(searchword.charAt(i), child);
+            }
+            node = child;
+        }
+
+        if (node.entry != null) {
+            mEntries.remove(node.entry);
+        }
+        node.entry = new Entry(filterKey, searchword, request.getLimit(), filter(suggest, null, null));
+        mEntries.put(node.entry, node.entry);
+
+        trimToSize(mMaxSize);
+    }
+
+    public synchronized void setMaxSize(int maxSize) {
+        mMaxSize = maxSize;
+        trimToSize(maxSize);
+    }
+
+    public synchronized void clear() {
+        mEntries.clear();
+        mRoots.clear();
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(mHitCount, mMissCount, mEvictionCount, mEntries.size(), mMaxSize);
+    }
+
+    private void trimToSize(int maxSize) {
+        Iterator<Entry> iterator = mEntries.keySet().iterator();
+        while (mEntries.size() > maxSize && iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            iterator.remove();
+            removeFromTrie(eldest);
+            mEvictionCount++;
+        }
+    }
+
+    /** Removes the entry from its trie, pruning nodes left without entries below them */
+    private void removeFromTrie(Entry entry) {
+        Node root = mRoots.get(entry.filterKey);
+        List<Node> path = new ArrayList<>(entry.searchword.length() + 1);
+        Node node = root;
+        for (int i = 0; node != null; i++) {
+            path.add(node);
+            node = i < entry.searchword.length() ? node.children.get(entry.searchword.charAt(i)) : null;
+        }
+        if (path.size() != entry.searchword.length() + 1) {
+            return;
+        }
+
+        path.get(path.size() - 1).entry = null;
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node current = path.get(i);
+            if (current.entry != null || !current.children.isEmpty()) {
+                return;
+            }
+            path.get(i - 1).children.remove(entry.searchword.charAt(i - 1));
+        }
+        if (root.entry == null && root.children.isEmpty()) {
+            mRoots.remove(entry.filterKey);
+        }
+    }
+
+    /** Copies the suggestions matching the searchword, all of them if it is null, up to the limit if it is not null */
+    private static Suggest filter(Suggest suggest, String searchword, Integer limit) {
+        Suggest result = new Suggest();
+        for (String suggestion : suggest) {
+            if (limit != null && result.size() >= limit) {
+                break;
+            }
+            if (searchword == null || SearchwordUtil.matches(suggestion, searchword)) {
+                result.add(suggestion);
+            }
+        }
+        return result;
+    }
+
+    private static String getFilterKey(SuggestRequest request) {
+        List<Long> categoryIds = request.getCategoryIds();
+        if (categoryIds == null || categoryIds.isEmpty()) {
+            return "";
+        }
+        List<Long> sortedIds = new ArrayList<>(categoryIds);
+        Collections.sort(sortedIds);
+        return sortedIds.toString();
+    }
+
+    private static boolean equal(Integer a, Integer b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static class Node {
+
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private Entry entry;
+    }
+
+    private static class Entry {
+
+        private final String filterKey;
+        private final String searchword;
+        private final Integer limit;
+        private final Suggest suggest;
+
+        private Entry(String filterKey, String searchword, Integer limit, Suggest suggest) {
+            this.filterKey = filterKey;
+            this.searchword = searchword;
+            this.limit = limit;
+            this.suggest = suggest;
+        }
+
+        private boolean isComplete() {
+            return limit != null && suggest.size() < limit;
+        }
+    }
+
+}
@@ -0,0 +1,134 @@
+package de.aboutyou.internal.communication;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.aboutyou.ShopApiClient;
+import de.aboutyou.exceptions.CollinsException;
+
+/**
+ * Runs blocking requests on a bounded executor and reports their outcome to an optional
+ * {@link de.aboutyou.ShopApiClient.RequestCallback}
+ */
+public class AsyncDispatcher {
+
+    public static final int DEFAULT_THREAD_COUNT = 4;
+
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private volatile Executor mExecutor;
+    private volatile Executor mCallbackExecutor;
+    private ScheduledExecutorService mScheduler;
+
+    public AsyncDispatcher() {
+        mExecutor = buildDefaultExecutor(DEFAULT_THREAD_COUNT);
+        mCallbackExecutor = new DirectExecutor();
+    }
+
+    public static ThreadPoolExecutor buildDefaultExecutor(int threadCount) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new DaemonThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    public void setExecutor(Executor executor) {
+        mExecutor = executor;
+    }
+
+    public void setCallbackExecutor(Executor callbackExecutor) {
+        mCallbackExecutor = callbackExecutor;
+    }
+
+    public <T> Future<T> submit(Callable<T> call, ShopApiClient.RequestCallback<T> callback) {
+        RequestTask<T> task = new RequestTask<>(call, callback, mCallbackExecutor);
+        mExecutor.execute(task);
+        return task;
+    }
+
+    /** Runs the command on a single background thread after the delay, e.g. to debounce user input */
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return getScheduler().schedule(command, delay, unit);
+    }
+
+    private synchronized ScheduledExecutorService getScheduler() {
+        if (mScheduler == null) {
+            mScheduler = new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory());
+        }
+        return mScheduler;
+    }
+
+    private static class RequestTask<T> extends FutureTask<T> {
+
+        private final ShopApiClient.RequestCallback<T> mCallback;
+        private final Executor mCallbackExecutor;
+
+        private RequestTask(Callable<T> call, ShopApiClient.RequestCallback<T> callback, Executor callbackExecutor) {
+            super(call);
+            mCallback = callback;
+            mCallbackExecutor = callbackExecutor;
+        }
+
+        @Override
+        protected void done() {
+            if (mCallback == null || isCancelled()) {
+                return;
+            }
+
+            try {
+                final T result = get();
+                mCallbackExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        mCallback.onSuccess(result);
+                    }
+                });
+            } catch (InterruptedException | CancellationException e) {
+                // not reachable for a completed, non-cancelled task
+            } catch (ExecutionException e) {
+                final CollinsException exception = e.getCause() instanceof CollinsException
+                        ? (CollinsException) e.getCause()
+                        : new CollinsException(e.getCause());
+                mCallbackExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        mCallback.onFailure(exception);
+                    }
+                });
+            }
+        }
+    }
+
+    private static class DirectExecutor implements Executor {
+
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger mThreadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "ShopApiClient-" + mThreadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
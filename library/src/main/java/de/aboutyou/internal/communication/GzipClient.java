@@ -0,0 +1,186 @@
+package de.aboutyou.internal.communication;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import de.aboutyou.models.CompressionStats;
+import retrofit.client.Client;
+import retrofit.client.Header;
+import retrofit.client.Request;
+import retrofit.client.Response;
+import retrofit.mime.TypedByteArray;
+import retrofit.mime.TypedInput;
+import retrofit.mime.TypedOutput;
+
+/**
+ * A {@link retrofit.client.Client} negotiating gzip compressed responses and optionally compressing large request
+ * bodies.
+ * <p>
+ * Setting the Accept-Encoding header explicitly turns off the transparent decompression of the HTTP stack, so
+ * compressed responses are inflated here while counting the bytes before and after decompression.
+ */
+public class GzipClient implements Client {
+
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final String CONTENT_LENGTH = "Content-Length";
+    private static final String GZIP = "gzip";
+
+    private final Client mClient;
+    private final boolean mGzipResponses;
+    private final long mMinRequestGzipBytes;
+
+    private final AtomicLong mRequestBytes = new AtomicLong();
+    private final AtomicLong mTransferredRequestBytes = new AtomicLong();
+    private final AtomicLong mResponseBytes = new AtomicLong();
+    private final AtomicLong mTransferredResponseBytes = new AtomicLong();
+
+    /**
+     * @param client The client to send the requests with
+     * @param gzipResponses Whether to ask for gzip compressed responses
+     * @param minRequestGzipBytes The minimum size of request bodies to compress, negative to never compress them
+     */
+    public GzipClient(Client client, boolean gzipResponses, long minRequestGzipBytes) {
+        mClient = client;
+        mGzipResponses = gzipResponses;
+        mMinRequestGzipBytes = minRequestGzipBytes;
+    }
+
+    @Override
+    public Response execute(Request request) throws IOException {
+        List<Header> headers = new ArrayList<>(request.getHeaders());
+        TypedOutput body = request.getBody();
+        if (body != null) {
+            long length = body.length();
+            if (mMinRequestGzipBytes >= 0 && length >= mMinRequestGzipBytes) {
+                body = gzip(body);
+                headers.add(new Header(CONTENT_ENCODING, GZIP));
+            }
+            mRequestBytes.addAndGet(length);
+            mTransferredRequestBytes.addAndGet(body.length());
+        }
+        if (mGzipResponses) {
+            headers.add(new Header(ACCEPT_ENCODING, GZIP));
+        }
+
+        Response response = mClient.execute(new Request(request.getMethod(), request.getUrl(), headers, body));
+        if (response.getBody() == null) {
+            return response;
+        }
+
+        boolean gzipped = isGzipped(response);
+        return new Response(response.getUrl(), response.getStatus(), response.getReason(),
+                gzipped ? removeEncodingHeaders(response.getHeaders()) : response.getHeaders(),
+                new CountingTypedInput(response.getBody(), gzipped));
+    }
+
+    public CompressionStats getStats() {
+        return new CompressionStats(mRequestBytes.get(), mTransferredRequestBytes.get(), mResponseBytes.get(),
+                mTransferredResponseBytes.get());
+    }
+
+    private static TypedOutput gzip(TypedOutput body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) Math.max(32, body.length() / 4));
+        GZIPOutputStream out = new GZIPOutputStream(bytes);
+        try {
+            body.writeTo(out);
+        } finally {
+            out.close();
+        }
+        return new TypedByteArray(body.mimeType(), bytes.toByteArray());
+    }
+
+    private static boolean isGzipped(Response response) {
+        if (response.getBody().length() == 0) {
+            return false;
+        }
+        for (Header header : response.getHeaders()) {
+            if (CONTENT_ENCODING.equalsIgnoreCase(header.getName()) && GZIP.equalsIgnoreCase(header.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Header> removeEncodingHeaders(List<Header> headers) {
+        List<Header> result = new ArrayList<>(headers.size());
+        for (Header header : headers) {
+            if (!CONTENT_ENCODING.equalsIgnoreCase(header.getName()) && !CONTENT_LENGTH.equalsIgnoreCase(header.getName())) {
+                result.add(header);
+            }
+        }
+        return result;
+    }
+
+    private class CountingTypedInput implements TypedInput {
+
+        private final TypedInput mDelegate;
+        private final boolean mGzipped;
+
+        private CountingTypedInput(TypedInput delegate, boolean gzipped) {
+            mDelegate = delegate;
+            mGzipped = gzipped;
+        }
+
+        @Override
+        public String mimeType() {
+            return mDelegate.mimeType();
+        }
+
+        @Override
+        public long length() {
+            return mGzipped ? -1 : mDelegate.length();
+        }
+
+        @Override
+        public InputStream in() throws IOException {
+            if (!mGzipped) {
+                return new CountingInputStream(mDelegate.in(), mTransferredResponseBytes, mResponseBytes);
+            }
+            InputStream transferred = new CountingInputStream(mDelegate.in(), mTransferredResponseBytes);
+            return new CountingInputStream(new GZIPInputStream(transferred), mResponseBytes);
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private final AtomicLong[] mCounters;
+
+        private CountingInputStream(InputStream in, AtomicLong... counters) {
+            super(in);
+            mCounters = counters;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int count) throws IOException {
+            int read = super.read(buffer, offset, count);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        private void count(int bytes) {
+            for (AtomicLong counter : mCounters) {
+                counter.addAndGet(bytes);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,280 @@
+package de.aboutyou.internal.communication;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import de.aboutyou.ShopApiClient;
+import de.aboutyou.enums.Operation;
+import de.aboutyou.enums.RequestOutcome;
+import de.aboutyou.models.RequestMetrics;
+import de.aboutyou.request.CollinsRequest;
+import retrofit.RetrofitError;
+import retrofit.client.Client;
+import retrofit.client.Request;
+import retrofit.client.Response;
+import retrofit.converter.ConversionException;
+import retrofit.converter.Converter;
+import retrofit.mime.TypedInput;
+import retrofit.mime.TypedOutput;
+
+/**
+ * Records {@link de.aboutyou.models.RequestMetrics} for the network calls made on a thread and reports them to a
+ * {@link de.aboutyou.ShopApiClient.MetricsListener}.
+ * <p>
+ * Retrofit runs serialization, the HTTP exchange and deserialization of a synchronous call on the calling thread, so a
+ * {@link de.aboutyou.internal.communication.MetricsRecorder.Session} is kept in a thread local while a call is in
+ * progress. The wrapped API interface opens and closes sessions, the wrapped {@link retrofit.client.Client} and
+ * {@link retrofit.converter.Converter} add the timings of their phases. Without a listener nothing is recorded.
+ */
+public class MetricsRecorder {
+
+    private final ThreadLocal<Session> mSession = new ThreadLocal<>();
+    private volatile ShopApiClient.MetricsListener mListener;
+
+    public void setListener(ShopApiClient.MetricsListener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * Starts recording a call on the current thread
+     *
+     * @return The session of the call, or null if there is no listener or a call is already recorded on this thread
+     */
+    public Session begin(List<? extends CollinsRequest> requests) {
+        ShopApiClient.MetricsListener listener = mListener;
+        if (listener == null || mSession.get() != null) {
+            return null;
+        }
+
+        List<Operation> operations = new ArrayList<>(requests.size());
+        for (CollinsRequest request : requests) {
+            operations.add(Operation.fromRequest(request));
+        }
+        Session session = new Session(listener, Collections.unmodifiableList(operations));
+        mSession.set(session);
+        return session;
+    }
+
+    /** Marks the call recorded on the current thread as answered without a network call, so it is not reported */
+    public void discardCurrent() {
+        Session session = mSession.get();
+        if (session != null) {
+            session.discarded = true;
+        }
+    }
+
+    /**
+     * Finishes recording a call and reports its metrics, unless it was discarded
+     *
+     * @param session The session returned by {@link #begin(java.util.List)}, may be null
+     * @param failure The exception the call failed with, null if it succeeded
+     */
+    public void end(Session session, Throwable failure) {
+        if (session == null) {
+            return;
+        }
+        mSession.remove();
+        if (session.discarded) {
+            return;
+        }
+        session.finish(getOutcome(failure), failure instanceof RetrofitError ? getStatus((RetrofitError) failure) : session.httpStatus);
+    }
+
+    /** Wraps the API interface so that every call through it is recorded */
+    @SuppressWarnings("unchecked")
+    public <T> T wrap(Class<T> apiInterface, final T api) {
+        return (T) Proxy.newProxyInstance(apiInterface.getClassLoader(), new Class<?>[]{apiInterface}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                Session session = null;
+                if (method.getDeclaringClass() != Object.class && args != null && args.length == 1 && args[0] instanceof List) {
+                    session = begin((List<? extends CollinsRequest>) args[0]);
+                }
+
+                try {
+                    Object result = method.invoke(api, args);
+                    end(session, null);
+                    return result;
+                } catch (InvocationTargetException e) {
+                    end(session, e.getCause());
+                    throw e.getCause();
+                }
+            }
+        });
+    }
+
+    /** Wraps the client to record the time to the response headers, the download and the transferred bytes */
+    public Client wrap(final Client client) {
+        return new Client() {
+            @Override
+            public Response execute(Request request) throws IOException {
+                Session session = mSession.get();
+                if (session == null) {
+                    return client.execute(request);
+                }
+
+                if (request.getBody() != null) {
+                    session.requestBytes += request.getBody().length();
+                }
+                long start = System.nanoTime();
+                Response response = client.execute(request);
+                session.timeToHeadersNanos += System.nanoTime() - start;
+                session.httpStatus = response.getStatus();
+
+                if (response.getBody() == null) {
+                    return response;
+                }
+                return new Response(response.getUrl(), response.getStatus(), response.getReason(), response.getHeaders(),
+                        new MeteredTypedInput(response.getBody(), session));
+            }
+        };
+    }
+
+    /** Wraps the converter to record the serialization and deserialization times */
+    public Converter wrap(final Converter converter) {
+        return new Converter() {
+            @Override
+            public Object fromBody(TypedInput body, Type type) throws ConversionException {
+                Session session = mSession.get();
+                if (session == null) {
+                    return converter.fromBody(body, type);
+                }
+
+                long downloadNanos = session.downloadNanos;
+                long start = System.nanoTime();
+                try {
+                    return converter.fromBody(body, type);
+                } finally {
+                    session.deserializeNanos += System.nanoTime() - start - (session.downloadNanos - downloadNanos);
+                }
+            }
+
+            @Override
+            public TypedOutput toBody(Object object) {
+                Session session = mSession.get();
+                if (session == null) {
+                    return converter.toBody(object);
+                }
+
+                long start = System.nanoTime();
+                try {
+                    return converter.toBody(object);
+                } finally {
+                    session.serializeNanos += System.nanoTime() - start;
+                }
+            }
+        };
+    }
+
+    private static RequestOutcome getOutcome(Throwable failure) {
+        if (failure == null) {
+            return RequestOutcome.SUCCESS;
+        } else if (failure instanceof RetrofitError) {
+            RetrofitError error = (RetrofitError) failure;
+            if (error.isNetworkError()) {
+                return RequestOutcome.NETWORK_ERROR;
+            }
+            int status = getStatus(error);
+            return status < 200 || status >= 300 ? RequestOutcome.HTTP_ERROR : RequestOutcome.PARSE_ERROR;
+        } else if (failure instanceof IOException) {
+            return RequestOutcome.NETWORK_ERROR;
+        }
+        // anything else is thrown while reading the response, e.g. a JsonParseException
+        return RequestOutcome.PARSE_ERROR;
+    }
+
+    private static int getStatus(RetrofitError error) {
+        return error.getResponse() != null ? error.getResponse().getStatus() : 0;
+    }
+
+    /** The metrics of a call in progress; only accessed from the thread making the call */
+    public static class Session {
+
+        private final ShopApiClient.MetricsListener mListener;
+        private final List<Operation> mOperations;
+        private final long mStartNanos = System.nanoTime();
+
+        private boolean discarded;
+        private int httpStatus;
+        private long requestBytes;
+        private long responseBytes;
+        private long serializeNanos;
+        private long timeToHeadersNanos;
+        private long downloadNanos;
+        private long deserializeNanos;
+
+        private Session(ShopApiClient.MetricsListener listener, List<Operation> operations) {
+            mListener = listener;
+            mOperations = operations;
+        }
+
+        /** Adds time spent parsing a response outside of the converter */
+        public void addDeserializeNanos(long nanos) {
+            deserializeNanos += nanos;
+        }
+
+        private void finish(RequestOutcome outcome, int status) {
+            RequestMetrics metrics = new RequestMetrics(mOperations, outcome, status, requestBytes, responseBytes, serializeNanos,
+                    timeToHeadersNanos, downloadNanos, deserializeNanos, System.nanoTime() - mStartNanos);
+            mListener.onRequestFinished(metrics);
+        }
+    }
+
+    private static class MeteredTypedInput implements TypedInput {
+
+        private final TypedInput mDelegate;
+        private final Session mSession;
+
+        private MeteredTypedInput(TypedInput delegate, Session session) {
+            mDelegate = delegate;
+            mSession = session;
+        }
+
+        @Override
+        public String mimeType() {
+            return mDelegate.mimeType();
+        }
+
+        @Override
+        public long length() {
+            return mDelegate.length();
+        }
+
+        @Override
+        public InputStream in() throws IOException {
+            return new FilterInputStream(mDelegate.in()) {
+                @Override
+                public int read() throws IOException {
+                    long start = System.nanoTime();
+                    int b = super.read();
+                    mSession.downloadNanos += System.nanoTime() - start;
+                    if (b >= 0) {
+                        mSession.responseBytes++;
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int count) throws IOException {
+                    long start = System.nanoTime();
+                    int read = super.read(buffer, offset, count);
+                    mSession.downloadNanos += System.nanoTime() - start;
+                    if (read > 0) {
+                        mSession.responseBytes += read;
+                    }
+                    return read;
+                }
+            };
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+package de.aboutyou.internal.communication;
+
+import com.squareup.okhttp.OkHttpClient;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import de.aboutyou.enums.Operation;
+import de.aboutyou.request.CollinsRequest;
+import retrofit.client.Client;
+import retrofit.client.OkClient;
+import retrofit.client.Request;
+import retrofit.client.Response;
+
+/**
+ * A {@link retrofit.client.Client} applying a read timeout per {@link de.aboutyou.enums.Operation}.
+ * <p>
+ * All requests go to the same URL, so the operations of a call are taken from the API interface wrapped with
+ * {@link #wrap(Class, Object)} and kept in a thread local while the call is in progress. There is one clone of the
+ * shared {@link com.squareup.okhttp.OkHttpClient} per distinct timeout; all clones use the same connection pool.
+ */
+public class OperationTimeoutClient implements Client {
+
+    private final OkHttpClient mDefaultClient;
+    private final Map<Operation, OkHttpClient> mOperationClients = new EnumMap<>(Operation.class);
+    private final Map<OkHttpClient, Client> mClients = new HashMap<>();
+    private final ThreadLocal<Client> mSelectedClient = new ThreadLocal<>();
+
+    public OperationTimeoutClient(OkHttpClient okHttpClient, Map<Operation, Long> readTimeoutsMillis) {
+        mDefaultClient = okHttpClient;
+        mClients.put(okHttpClient, new OkClient(okHttpClient));
+
+        Map<Long, OkHttpClient> clientsByTimeout = new HashMap<>();
+        clientsByTimeout.put((long) okHttpClient.getReadTimeout(), okHttpClient);
+        for (Map.Entry<Operation, Long> entry : readTimeoutsMillis.entrySet()) {
+            OkHttpClient client = clientsByTimeout.get(entry.getValue());
+            if (client == null) {
+                client = okHttpClient.clone();
+                client.setReadTimeout(entry.getValue(), TimeUnit.MILLISECONDS);
+                clientsByTimeout.put(entry.getValue(), client);
+                mClients.put(client, new OkClient(client));
+            }
+            mOperationClients.put(entry.getKey(), client);
+        }
+    }
+
+    /** Returns the client with the longest read timeout needed by the given requests */
+    public OkHttpClient select(List<? extends CollinsRequest> requests) {
+        OkHttpClient selected = null;
+        for (CollinsRequest request : requests) {
+            OkHttpClient client = mOperationClients.get(Operation.fromRequest(request));
+            if (client == null) {
+                client = mDefaultClient;
+            }
+            if (selected == null || client.getReadTimeout() > selected.getReadTimeout()) {
+                selected = client;
+            }
+        }
+        return selected != null ? selected : mDefaultClient;
+    }
+
+    /** Wraps the API interface so that every call through it uses the timeouts of its operations */
+    @SuppressWarnings("unchecked")
+    public <T> T wrap(Class<T> apiInterface, final T api) {
+        if (mOperationClients.isEmpty()) {
+            return api;
+        }
+
+        return (T) Proxy.newProxyInstance(apiInterface.getClassLoader(), new Class<?>[]{apiInterface}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if (method.getDeclaringClass() == Object.class || args == null || args.length != 1 || !(args[0] instanceof List)) {
+                    return invokeApi(method, args);
+                }
+
+                Client previous = mSelectedClient.get();
+                mSelectedClient.set(mClients.get(select((List<? extends CollinsRequest>) args[0])));
+                try {
+                    return invokeApi(method, args);
+                } finally {
+                    if (previous != null) {
+                        mSelectedClient.set(previous);
+                    } else {
+                        mSelectedClient.remove();
+                    }
+                }
+            }
+
+            private Object invokeApi(Method method, Object[] args) throws Throwable {
+                try {
+                    return method.invoke(api, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        });
+    }
+
+    @Override
+    public Response execute(Request request) throws IOException {
+        Client client = mSelectedClient.get();
+        return (client != null ? client : mClients.get(mDefaultClient)).execute(request);
+    }
+
+}
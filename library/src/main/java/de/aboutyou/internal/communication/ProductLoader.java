@@ -0,0 +1,161 @@
+package de.aboutyou.internal.communication;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import de.aboutyou.enums.ProductFields;
+import de.aboutyou.exceptions.CollinsException;
+import de.aboutyou.exceptions.NetworkException;
+import de.aboutyou.models.Product;
+
+/**
+ * Loads products by id, merging concurrent loads into as few network calls as possible.
+ * <p>
+ * Ids which are already being fetched with (at least) the requested fields are not requested again, the
+ * caller waits for the running fetch instead. All other ids are collected in a pending fetch: the caller
+ * creating it waits for the configured window, then sends a single request for the union of all ids and fields
+ * collected in the meantime. Every caller only receives the products for the ids it asked for.
+ */
+public class ProductLoader {
+
+    public interface Fetcher {
+        public Map<Long, Product> fetch(List<Long> productIds, List<ProductFields> fields);
+    }
+
+    private final Fetcher mFetcher;
+    private volatile long mWindowNanos;
+
+    private final Object mLock = new Object();
+    private final Map<Long, Fetch> mInFlight = new HashMap<>();
+    private Fetch mPending;
+
+    public ProductLoader(Fetcher fetcher) {
+        mFetcher = fetcher;
+    }
+
+    public void setWindow(long window, TimeUnit unit) {
+        mWindowNanos = unit.toNanos(window);
+    }
+
+    /** Loads the products with the given ids, blocks until all of them are available */
+    public List<Product> load(Collection<Long> productIds, Collection<ProductFields> fields) {
+        Set<ProductFields> requestedFields = fields == null || fields.isEmpty()
+                ? EnumSet.noneOf(ProductFields.class)
+                : EnumSet.copyOf(fields);
+        Set<Long> ids = new LinkedHashSet<>(productIds);
+
+        Map<Long, Fetch> fetchById = new LinkedHashMap<>();
+        Fetch leading = null;
+        synchronized (mLock) {
+            for (Long id : ids) {
+                Fetch fetch = mInFlight.get(id);
+                if (fetch == null || (fetch != mPending && !fetch.fields.containsAll(requestedFields))) {
+                    if (mPending == null) {
+                        mPending = new Fetch();
+                        leading = mPending;
+                    }
+                    fetch = mPending;
+                    fetch.ids.add(id);
+                    mInFlight.put(id, fetch);
+                }
+                if (fetch == mPending) {
+                    fetch.fields.addAll(requestedFields);
+                }
+                fetchById.put(id, fetch);
+            }
+        }
+
+        if (leading != null) {
+            execute(leading);
+        }
+
+        List<Product> products = new ArrayList<>(ids.size());
+        for (Map.Entry<Long, Fetch> entry : fetchById.entrySet()) {
+            Product product = entry.getValue().await().get(entry.getKey());
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    private void execute(Fetch fetch) {
+        if (mWindowNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(mWindowNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<Long> ids;
+        List<ProductFields> fields;
+        synchronized (mLock) {
+            mPending = null;
+            ids = new ArrayList<>(fetch.ids);
+            fields = fetch.fields.isEmpty() ? null : new ArrayList<>(fetch.fields);
+        }
+
+        Map<Long, Product> result = null;
+        Throwable error = null;
+        try {
+            result = mFetcher.fetch(ids, fields);
+        } catch (RuntimeException e) {
+            error = e;
+        } catch (Error e) {
+            error = e;
+            throw e;
+        } finally {
+            // waiting callers are released and later calls start a new fetch, whatever the fetcher threw
+            synchronized (mLock) {
+                for (Long id : ids) {
+                    if (mInFlight.get(id) == fetch) {
+                        mInFlight.remove(id);
+                    }
+                }
+            }
+            fetch.complete(result, error);
+        }
+    }
+
+    private static class Fetch {
+
+        private final Set<Long> ids = new LinkedHashSet<>();
+        private final Set<ProductFields> fields = EnumSet.noneOf(ProductFields.class);
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private Map<Long, Product> result;
+        private Throwable error;
+
+        private void complete(Map<Long, Product> result, Throwable error) {
+            this.result = result;
+            this.error = error;
+            latch.countDown();
+        }
+
+        private Map<Long, Product> await() {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new NetworkException("Interrupted while waiting for products");
+            }
+
+            if (error instanceof CollinsException || error instanceof IllegalArgumentException) {
+                throw (RuntimeException) error;
+            } else if (error != null) {
+                throw new CollinsException(error);
+            }
+            return result;
+        }
+    }
+
+}
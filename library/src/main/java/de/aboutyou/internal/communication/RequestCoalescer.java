@@ -0,0 +1,126 @@
+package de.aboutyou.internal.communication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import de.aboutyou.exceptions.CollinsException;
+import de.aboutyou.exceptions.NetworkException;
+import de.aboutyou.request.CollinsRequest;
+
+/**
+ * Merges requests issued concurrently within a short time window into a single batch.
+ * <p>
+ * The first caller of a window becomes its leader: it waits for the window to elapse, collects all requests
+ * queued in the meantime, executes them as one batch on its own thread and hands the results to the waiting
+ * callers. No additional threads are needed.
+ */
+public class RequestCoalescer {
+
+    public interface BatchHandler {
+        public List<Object> execute(List<CollinsRequest> requests);
+    }
+
+    private final BatchHandler mBatchHandler;
+    private final long mWindowNanos;
+
+    private final Object mLock = new Object();
+    private List<PendingRequest> mPending = new ArrayList<>();
+
+    public RequestCoalescer(BatchHandler batchHandler, long window, TimeUnit unit) {
+        mBatchHandler = batchHandler;
+        mWindowNanos = unit.toNanos(window);
+    }
+
+    /** Executes the request as part of the current batch window, blocks until its result is available */
+    public Object execute(CollinsRequest request) {
+        PendingRequest pendingRequest = new PendingRequest(request);
+
+        boolean isLeader;
+        synchronized (mLock) {
+            mPending.add(pendingRequest);
+            isLeader = mPending.size() == 1;
+        }
+
+        if (isLeader) {
+            waitForWindow();
+            flush();
+        }
+
+        return pendingRequest.await();
+    }
+
+    private void waitForWindow() {
+        try {
+            TimeUnit.NANOSECONDS.sleep(mWindowNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flush() {
+        List<PendingRequest> batch;
+        synchronized (mLock) {
+            batch = mPending;
+            mPending = new ArrayList<>();
+        }
+
+        List<CollinsRequest> requests = new ArrayList<>(batch.size());
+        for (PendingRequest pendingRequest : batch) {
+            requests.add(pendingRequest.request);
+        }
+
+        List<Object> results = null;
+        Throwable failure = null;
+        try {
+            results = mBatchHandler.execute(requests);
+        } catch (RuntimeException e) {
+            failure = e;
+        } catch (Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            // every waiting caller has to be released, whatever the batch handler threw
+            for (int i = 0; i < batch.size(); i++) {
+                Object result = failure == null && results != null && i < results.size() ? results.get(i) : null;
+                batch.get(i).complete(result, failure);
+            }
+        }
+    }
+
+    private static class PendingRequest {
+
+        private final CollinsRequest request;
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private Object result;
+        private Throwable error;
+
+        private PendingRequest(CollinsRequest request) {
+            this.request = request;
+        }
+
+        private void complete(Object result, Throwable error) {
+            this.result = result;
+            this.error = error;
+            latch.countDown();
+        }
+
+        private Object await() {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new NetworkException("Interrupted while waiting for a coalesced request");
+            }
+
+            if (error instanceof CollinsException || error instanceof IllegalArgumentException) {
+                throw (RuntimeException) error;
+            } else if (error != null) {
+                throw new CollinsException(error);
+            }
+            return result;
+        }
+    }
+
+}
@@ -0,0 +1,296 @@
+package de.aboutyou.internal.communication;
+
+import com.google.gson.stream.JsonReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import de.aboutyou.enums.Operation;
+import de.aboutyou.internal.cache.DiskResponseCache;
+import de.aboutyou.request.CollinsRequest;
+import retrofit.client.Client;
+import retrofit.client.Header;
+import retrofit.client.Request;
+import retrofit.client.Response;
+import retrofit.mime.TypedByteArray;
+import retrofit.mime.TypedInput;
+import retrofit.mime.TypedOutput;
+
+/**
+ * A {@link retrofit.client.Client} answering cacheable operations from a {@link de.aboutyou.internal.cache.DiskResponseCache}.
+ * <p>
+ * All operations are POSTed to the same URL, so HTTP caching never applies; responses are keyed by a hash of the URL,
+ * the Authorization header and the serialized request body instead. Only successful responses without any error object
+ * of an operation are stored. Like in {@link de.aboutyou.internal.communication.OperationTimeoutClient},
+ * the operations of a call are taken from the API interface wrapped with {@link #wrap(Class, Object)}. A call is only
+ * cached if every operation in it has a policy; the shortest time to live and stale period of its operations apply.
+ * A response younger than the time to live is returned without a network call. Within the following stale period it
+ * is returned as well, while a fresh copy is requested in the background. Older responses are requested again, but
+ * still returned if the network call fails, so screens seen before work offline. Calls answered from the cache are
+ * discarded from the {@link de.aboutyou.internal.communication.MetricsRecorder}, as no network call was made for them.
+ */
+public class ResponseCacheClient implements Client {
+
+    private static final String HEADER_AUTHORIZATION = "Authorization";
+    private static final String ERROR_MESSAGE = "error_message";
+    private static final String ERROR_CODE = "error_code";
+
+    private final Client mClient;
+    private final AsyncDispatcher mAsyncDispatcher;
+    private final MetricsRecorder mMetricsRecorder;
+    private final Map<Operation, Policy> mPolicies = new EnumMap<>(Operation.class);
+    private final ThreadLocal<List<Operation>> mOperations = new ThreadLocal<>();
+    private final Set<String> mRevalidating = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private volatile DiskResponseCache mCache;
+
+    public ResponseCacheClient(Client client, AsyncDispatcher asyncDispatcher, MetricsRecorder metricsRecorder) {
+        mClient = client;
+        mAsyncDispatcher = asyncDispatcher;
+        mMetricsRecorder = metricsRecorder;
+    }
+
+    public void setCache(DiskResponseCache cache) {
+        mCache = cache;
+    }
+
+    public DiskResponseCache getCache() {
+        return mCache;
+    }
+
+    /** Sets how long responses of the operation are used; both periods 0 excludes the operation from caching */
+    public synchronized void setPolicy(Operation operation, long ttl, long staleWhileRevalidate, TimeUnit unit) {
+        if (ttl <= 0 && staleWhileRevalidate <= 0) {
+            mPolicies.remove(operation);
+        } else {
+            mPolicies.put(operation, new Policy(unit.toMillis(ttl), unit.toMillis(staleWhileRevalidate)));
+        }
+    }
+
+    /** Wraps the API interface so that the responses of its calls can be cached */
+    @SuppressWarnings("unchecked")
+    public <T> T wrap(Class<T> apiInterface, final T api) {
+        return (T) Proxy.newProxyInstance(apiInterface.getClassLoader(), new Class<?>[]{apiInterface}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if (method.getDeclaringClass() == Object.class || args == null || args.length != 1 || !(args[0] instanceof List)) {
+                    return invokeApi(method, args);
+                }
+
+                List<? extends CollinsRequest> requests = (List<? extends CollinsRequest>) args[0];
+                List<Operation> operations = new ArrayList<>(requests.size());
+                for (CollinsRequest request : requests) {
+                    operations.add(Operation.fromRequest(request));
+                }
+
+                List<Operation> previous = mOperations.get();
+                mOperations.set(operations);
+                try {
+                    return invokeApi(method, args);
+                } finally {
+                    if (previous != null) {
+                        mOperations.set(previous);
+                    } else {
+                        mOperations.remove();
+                    }
+                }
+            }
+
+            private Object invokeApi(Method method, Object[] args) throws Throwable {
+                try {
+                    return method.invoke(api, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        });
+    }
+
+    @Override
+    public Response execute(Request request) throws IOException {
+        DiskResponseCache cache = mCache;
+        List<Operation> operations = mOperations.get();
+        Policy policy = cache != null && operations != null && request.getBody() != null ? getPolicy(operations) : null;
+        if (policy == null) {
+            return mClient.execute(request);
+        }
+
+        TypedOutput body = request.getBody();
+        ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+        body.writeTo(bodyBytes);
+        Request replayableRequest = new Request(request.getMethod(), request.getUrl(), request.getHeaders(),
+                new TypedByteArray(body.mimeType(), bodyBytes.toByteArray()));
+        String key = DiskResponseCache.key(request.getUrl(), getAuthorization(request), bodyBytes.toByteArray());
+
+        DiskResponseCache.Entry entry = cache.get(key, policy.ttlMillis + policy.staleMillis);
+        if (entry != null) {
+            if (System.currentTimeMillis() - entry.getTimestamp() > policy.ttlMillis) {
+                revalidate(cache, key, replayableRequest);
+            }
+            mMetricsRecorder.discardCurrent();
+            return toResponse(request.getUrl(), entry);
+        }
+
+        try {
+            return store(cache, key, mClient.execute(replayableRequest));
+        } catch (IOException e) {
+            entry = cache.getStale(key);
+            if (entry == null) {
+                throw e;
+            }
+            mMetricsRecorder.discardCurrent();
+            return toResponse(request.getUrl(), entry);
+        }
+    }
+
+    private synchronized Policy getPolicy(List<Operation> operations) {
+        Policy result = null;
+        for (Operation operation : operations) {
+            Policy policy = mPolicies.get(operation);
+            if (policy == null) {
+                return null;
+            }
+            result = result == null ? policy : new Policy(Math.min(result.ttlMillis, policy.ttlMillis),
+                    Math.min(result.staleMillis, policy.staleMillis));
+        }
+        return result;
+    }
+
+    private void revalidate(final DiskResponseCache cache, final String key, final Request request) {
+        if (!mRevalidating.add(key)) {
+            return;
+        }
+
+        mAsyncDispatcher.submit(new Callable<Void>() {
+            @Override
+            public Void call() throws IOException {
+                try {
+                    store(cache, key, mClient.execute(request));
+                    return null;
+                } finally {
+                    mRevalidating.remove(key);
+                }
+            }
+        }, null);
+    }
+
+    /** Stores successful responses, returns the response with its body buffered in memory */
+    private static Response store(DiskResponseCache cache, String key, Response response) throws IOException {
+        TypedInput body = response.getBody();
+        if (body == null || response.getStatus() < 200 || response.getStatus() >= 300) {
+            return response;
+        }
+
+        byte[] bytes = readFully(body.in());
+        if (isCacheable(bytes)) {
+            try {
+                cache.put(key, body.mimeType(), bytes);
+            } catch (IOException e) {
+                // the response is still valid, it just is not available offline
+            }
+        }
+        return new Response(response.getUrl(), response.getStatus(), response.getReason(), response.getHeaders(),
+                new TypedByteArray(body.mimeType(), bytes));
+    }
+
+    private static String getAuthorization(Request request) {
+        for (Header header : request.getHeaders()) {
+            if (HEADER_AUTHORIZATION.equalsIgnoreCase(header.getName())) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks that the response is well-formed JSON without an error object, as the API answers failed operations of
+     * a call with status 200 and puts the error fields in place of the result
+     */
+    private static boolean isCacheable(byte[] body) {
+        JsonReader reader = null;
+        try {
+            reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(body), "UTF-8"));
+            while (true) {
+                switch (reader.peek()) {
+                    case BEGIN_ARRAY:
+                        reader.beginArray();
+                        break;
+                    case END_ARRAY:
+                        reader.endArray();
+                        break;
+                    case BEGIN_OBJECT:
+                        reader.beginObject();
+                        break;
+                    case END_OBJECT:
+                        reader.endObject();
+                        break;
+                    case NAME:
+                        String name = reader.nextName();
+                        if (ERROR_CODE.equals(name) || ERROR_MESSAGE.equals(name)) {
+                            return false;
+                        }
+                        break;
+                    case END_DOCUMENT:
+                        return true;
+                    default:
+                        reader.skipValue();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    // nothing to release for an in-memory body
+                }
+            }
+        }
+    }
+
+    private static Response toResponse(String url, DiskResponseCache.Entry entry) {
+        return new Response(url, 200, "OK", Collections.<Header>emptyList(), new TypedByteArray(entry.getMimeType(), entry.getBody()));
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    private static class Policy {
+
+        private final long ttlMillis;
+        private final long staleMillis;
+
+        private Policy(long ttlMillis, long staleMillis) {
+            this.ttlMillis = ttlMillis;
+            this.staleMillis = staleMillis;
+        }
+    }
+
+}
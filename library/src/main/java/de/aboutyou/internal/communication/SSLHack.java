@@ -6,7 +6,6 @@ import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
-import java.util.concurrent.TimeUnit;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
@@ -19,10 +18,9 @@ import retrofit.client.OkClient;
 
 public abstract class SSLHack {
 
-    public static Client buildClient() {
-        OkHttpClient okHttpClient = new OkHttpClient();
-        okHttpClient.setConnectTimeout(5, TimeUnit.SECONDS);
-        okHttpClient.setReadTimeout(10, TimeUnit.SECONDS);
+    /** Builds a client trusting all certificates, sharing the connection pool and timeouts of the given client */
+    public static Client buildClient(OkHttpClient sharedClient) {
+        OkHttpClient okHttpClient = sharedClient.clone();
 
         setupTrustingSSLConfig(okHttpClient);
 
@@ -2,23 +2,68 @@ package de.aboutyou.internal.communication;
 
 import com.squareup.okhttp.OkAuthenticator;
 
+import de.aboutyou.ShopApiClient;
 import retrofit.RequestInterceptor;
 
+/**
+ * Adds the basic Authorization header of the app to every shop API request.
+ * <p>
+ * The header value is computed once and reused. With a {@link de.aboutyou.ShopApiClient.CredentialProvider} it is
+ * only computed again when the provider hands out different credentials.
+ */
 public class ShopAuthenticationRequestInterceptor implements RequestInterceptor {
 
     private static final String HEADER_AUTHORIZATION = "Authorization";
 
-    private final String mAppId;
-    private final String mAppPassword;
+    private final AuthorizationHeader mDefaultHeader;
+    private volatile ShopApiClient.CredentialProvider mCredentialProvider;
+    private volatile AuthorizationHeader mProvidedHeader;
 
     public ShopAuthenticationRequestInterceptor(String appId, String appPassword) {
-        mAppId = appId;
-        mAppPassword = appPassword;
+        mDefaultHeader = new AuthorizationHeader(appId, appPassword);
+    }
+
+    /** Sets a provider to take the credentials from, null to use the credentials given on construction */
+    public void setCredentialProvider(ShopApiClient.CredentialProvider credentialProvider) {
+        mProvidedHeader = null;
+        mCredentialProvider = credentialProvider;
     }
 
     @Override
     public void intercept(RequestFacade requestFacade) {
-        OkAuthenticator.Credential credential = OkAuthenticator.Credential.basic(mAppId, mAppPassword);
-        requestFacade.addHeader(HEADER_AUTHORIZATION, credential.getHeaderValue());
+        requestFacade.addHeader(HEADER_AUTHORIZATION, getHeaderValue());
+    }
+
+    private String getHeaderValue() {
+        ShopApiClient.CredentialProvider credentialProvider = mCredentialProvider;
+        if (credentialProvider == null) {
+            return mDefaultHeader.mValue;
+        }
+
+        String appId = credentialProvider.getAppId();
+        String appPassword = credentialProvider.getAppSecret();
+        AuthorizationHeader header = mProvidedHeader;
+        if (header == null || !header.matches(appId, appPassword)) {
+            header = new AuthorizationHeader(appId, appPassword);
+            mProvidedHeader = header;
+        }
+        return header.mValue;
+    }
+
+    private static class AuthorizationHeader {
+
+        private final String mAppId;
+        private final String mAppPassword;
+        private final String mValue;
+
+        private AuthorizationHeader(String appId, String appPassword) {
+            mAppId = appId;
+            mAppPassword = appPassword;
+            mValue = OkAuthenticator.Credential.basic(appId, appPassword).getHeaderValue();
+        }
+
+        private boolean matches(String appId, String appPassword) {
+            return (mAppId == appId || mAppId.equals(appId)) && (mAppPassword == appPassword || mAppPassword.equals(appPassword));
+        }
     }
 }
@@ -13,11 +13,13 @@ import de.aboutyou.internal.response.ProductsResponse;
 import de.aboutyou.internal.response.SuggestResponse;
 import de.aboutyou.internal.wrapper.RequestEnvelope;
 import de.aboutyou.internal.wrapper.ResponseEnvelope;
+import de.aboutyou.models.ProductSearch;
 import de.aboutyou.request.AutocompleteRequest;
 import de.aboutyou.request.BasketGetRequest;
 import de.aboutyou.request.BasketModifyRequest;
 import de.aboutyou.request.CategoriesRequest;
 import de.aboutyou.request.CategoryTreeRequest;
+import de.aboutyou.request.CollinsRequest;
 import de.aboutyou.request.FacetTypesRequest;
 import de.aboutyou.request.FacetsRequest;
 import de.aboutyou.request.InitiateOrderRequest;
@@ -25,6 +27,7 @@ import de.aboutyou.request.LiveVariantRequest;
 import de.aboutyou.request.ProductSearchRequest;
 import de.aboutyou.request.ProductsRequest;
 import de.aboutyou.request.SuggestRequest;
+import retrofit.client.Response;
 import retrofit.http.Body;
 import retrofit.http.POST;
 
@@ -53,6 +56,10 @@ public interface ShopInterface {
     @POST(BASEPATH)
     ResponseEnvelope<ProductSearchResponse> requestProductSearch(@Body RequestEnvelope<ProductSearchRequest> request);
 
+    /** Streams the products of the search, see {@link de.aboutyou.internal.communication.StreamingGsonConverter} */
+    @POST(BASEPATH)
+    ProductSearch requestProductSearchStreamed(@Body RequestEnvelope<ProductSearchRequest> request);
+
     @POST(BASEPATH)
     ResponseEnvelope<ProductsResponse> requestProducts(@Body RequestEnvelope<ProductsRequest> request);
 
@@ -68,4 +75,7 @@ public interface ShopInterface {
     @POST(BASEPATH)
     ResponseEnvelope<LiveVariantResponse> requestLiveVariants(@Body RequestEnvelope<LiveVariantRequest> request);
 
+    @POST(BASEPATH)
+    Response requestBatch(@Body RequestEnvelope<CollinsRequest> request);
+
 }
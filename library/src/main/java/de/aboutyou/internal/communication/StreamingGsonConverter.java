@@ -0,0 +1,62 @@
+package de.aboutyou.internal.communication;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import de.aboutyou.internal.wrapper.ProductSearchStreamReader;
+import de.aboutyou.models.ProductSearch;
+import retrofit.converter.ConversionException;
+import retrofit.converter.GsonConverter;
+import retrofit.mime.TypedInput;
+
+/**
+ * A {@link retrofit.converter.GsonConverter} that decodes product searches incrementally.
+ * <p>
+ * Retrofit hands the response body to the converter while it is still being received, so products can be passed on
+ * before the rest of the body is read. Calls returning a bare {@link de.aboutyou.models.ProductSearch} are streamed
+ * to the {@link de.aboutyou.internal.wrapper.ProductSearchStreamReader.ProductHandler} registered for the calling
+ * thread using {@link #setProductHandler(de.aboutyou.internal.wrapper.ProductSearchStreamReader.ProductHandler)},
+ * all other types are converted as usual.
+ */
+public class StreamingGsonConverter extends GsonConverter {
+
+    private final Gson mGson;
+    private final ThreadLocal<ProductSearchStreamReader.ProductHandler> mProductHandler = new ThreadLocal<>();
+
+    public StreamingGsonConverter(Gson gson) {
+        super(gson);
+        mGson = gson;
+    }
+
+    /** Sets the handler for product searches streamed on the current thread, null removes it */
+    public void setProductHandler(ProductSearchStreamReader.ProductHandler handler) {
+        if (handler == null) {
+            mProductHandler.remove();
+        } else {
+            mProductHandler.set(handler);
+        }
+    }
+
+    @Override
+    public Object fromBody(TypedInput body, Type type) throws ConversionException {
+        if (type != ProductSearch.class) {
+            return super.fromBody(body, type);
+        }
+
+        ProductSearchStreamReader.ProductHandler handler = mProductHandler.get();
+        if (handler == null) {
+            throw new ConversionException("No product handler registered for the current thread");
+        }
+        try {
+            return ProductSearchStreamReader.read(mGson, body, handler);
+        } catch (IOException e) {
+            throw new ConversionException(e);
+        } catch (JsonParseException e) {
+            throw new ConversionException(e);
+        }
+    }
+
+}
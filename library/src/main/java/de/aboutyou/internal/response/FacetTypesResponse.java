@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import de.aboutyou.enums.FacetType;
+import de.aboutyou.models.FacetGroup;
 
 public class FacetTypesResponse extends CollinsResponse<List<FacetType>> {
 
@@ -24,4 +25,13 @@ public class FacetTypesResponse extends CollinsResponse<List<FacetType>> {
         return facetTypes;
     }
 
+    /** Returns all facet groups, including the ones unknown to this SDK version */
+    public List<FacetGroup> getFacetGroups() {
+        List<FacetGroup> facetGroups = new ArrayList<>(this.facetTypes.size());
+        for (Integer facetGroupId : this.facetTypes) {
+            facetGroups.add(FacetGroup.valueOf(facetGroupId));
+        }
+        return facetGroups;
+    }
+
 }
@@ -13,6 +13,11 @@ public class FacetsResponse extends CollinsResponse<List<Facet>> {
         return facets.facet;
     }
 
+    /** Returns the total number of facets matching the request, null if the backend did not send it */
+    public Integer getHits() {
+        return facets.hits;
+    }
+
     private static class Facets {
         List<Facet> facet;
         Integer hits;
@@ -3,6 +3,7 @@ package de.aboutyou.internal.response;
 import com.google.gson.annotations.SerializedName;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -19,6 +20,14 @@ public class ProductsResponse extends CollinsResponse<List<Product>> {
         private Map<Long, Product> products;
     }
 
+    public Map<Long, Product> getProductsById() {
+        if (productsResult != null && productsResult.products != null) {
+            return productsResult.products;
+        } else {
+            return Collections.emptyMap();
+        }
+    }
+
     @Override
     public List<Product> get() {
         if (productsResult != null && productsResult.products != null) {
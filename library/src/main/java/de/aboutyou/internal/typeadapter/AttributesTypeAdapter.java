@@ -1,34 +1,71 @@
 package de.aboutyou.internal.typeadapter;
 
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParseException;
-import com.google.gson.reflect.TypeToken;
-
-import java.lang.reflect.Type;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Arrays;
 
 import de.aboutyou.models.Attributes;
 
-public class AttributesTypeAdapter implements JsonDeserializer<Attributes> {
+public class AttributesTypeAdapter extends TypeAdapter<Attributes> {
 
     private static final String PREFIX = "attributes_";
+    private static final long[] NO_FACETS = new long[0];
 
     @Override
-    public Attributes deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
+    public Attributes read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
         Attributes attributes = new Attributes();
+        long[] buffer = new long[8];
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            int facetGroupId = Integer.parseInt(name.startsWith(PREFIX) ? name.substring(PREFIX.length()) : name);
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
 
-        JsonObject jsonObject = json.getAsJsonObject();
-        for (Map.Entry<String, JsonElement> entry : jsonObject.entrySet()) {
-            int facetGroupId = Integer.parseInt(entry.getKey().replace(PREFIX, ""));
-            List<Long> facetIds = context.deserialize(entry.getValue(), new TypeToken<ArrayList<Long>>() {}.getType());
-            attributes.put(facetGroupId, facetIds);
+            int count = 0;
+            in.beginArray();
+            while (in.hasNext()) {
+                if (count == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, count * 2);
+                }
+                buffer[count++] = in.nextLong();
+            }
+            in.endArray();
+            attributes.put(facetGroupId, count == 0 ? NO_FACETS : Arrays.copyOf(buffer, count));
         }
+        in.endObject();
 
         return attributes;
     }
+
+    @Override
+    public void write(JsonWriter out, Attributes attributes) throws IOException {
+        if (attributes == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        for (int i = 0; i < attributes.size(); i++) {
+            int groupId = attributes.getGroupId(i);
+            out.name(PREFIX + groupId);
+            out.beginArray();
+            for (int j = 0; j < attributes.getFacetCount(groupId); j++) {
+                out.value(attributes.getFacetId(groupId, j));
+            }
+            out.endArray();
+        }
+        out.endObject();
+    }
 }
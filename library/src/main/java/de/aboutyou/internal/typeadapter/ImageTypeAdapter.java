@@ -0,0 +1,85 @@
+package de.aboutyou.internal.typeadapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import de.aboutyou.models.Image;
+
+public class ImageTypeAdapter extends TypeAdapter<Image> {
+
+    private final TypeAdapter<Image> mDelegate;
+
+    public ImageTypeAdapter(TypeAdapter<Image> delegate) {
+        mDelegate = delegate;
+    }
+
+    @Override
+    public Image read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        Image image = new Image();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+
+            switch (name) {
+                case "hash":
+                    image.setHash(in.nextString());
+                    break;
+                case "mime":
+                    image.setMime(in.nextString());
+                    break;
+                case "ext":
+                    image.setExtension(in.nextString());
+                    break;
+                case "size":
+                    image.setSize(in.nextLong());
+                    break;
+                case "image":
+                    image.setDimensions(readDimensions(in, image));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+
+        return image;
+    }
+
+    private Image.Dimensions readDimensions(JsonReader in, Image image) throws IOException {
+        Image.Dimensions dimensions = image.new Dimensions();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+            } else if ("width".equals(name)) {
+                dimensions.setWidth(in.nextInt());
+            } else if ("height".equals(name)) {
+                dimensions.setHeight(in.nextInt());
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return dimensions;
+    }
+
+    @Override
+    public void write(JsonWriter out, Image image) throws IOException {
+        mDelegate.write(out, image);
+    }
+}
@@ -0,0 +1,66 @@
+package de.aboutyou.internal.typeadapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import de.aboutyou.internal.util.ErrorAwareTypeAdapter;
+import de.aboutyou.models.LiveVariant;
+
+public class LiveVariantTypeAdapter extends ErrorAwareTypeAdapter<LiveVariant> {
+
+    private final TypeAdapter<LiveVariant> mDelegate;
+
+    public LiveVariantTypeAdapter(TypeAdapter<LiveVariant> delegate) {
+        mDelegate = delegate;
+    }
+
+    @Override
+    public LiveVariant read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        LiveVariant liveVariant = new LiveVariant();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+
+            switch (name) {
+                case "id":
+                    liveVariant.setId(in.nextLong());
+                    break;
+                case "product_id":
+                    liveVariant.setProductId(in.nextLong());
+                    break;
+                case "available_stock":
+                    liveVariant.setAvailableStock(in.nextInt());
+                    break;
+                case "price":
+                    liveVariant.setPrice(in.nextInt());
+                    break;
+                default:
+                    if (!readErrorField(name, in, liveVariant)) {
+                        in.skipValue();
+                    }
+                    break;
+            }
+        }
+        in.endObject();
+
+        return liveVariant;
+    }
+
+    @Override
+    public void write(JsonWriter out, LiveVariant liveVariant) throws IOException {
+        mDelegate.write(out, liveVariant);
+    }
+}
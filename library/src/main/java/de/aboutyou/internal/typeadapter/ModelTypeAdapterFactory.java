@@ -0,0 +1,39 @@
+package de.aboutyou.internal.typeadapter;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+import de.aboutyou.models.Attributes;
+import de.aboutyou.models.Image;
+import de.aboutyou.models.LiveVariant;
+import de.aboutyou.models.Product;
+import de.aboutyou.models.Variant;
+
+/**
+ * Provides hand-written streaming adapters for the models found in large product payloads. They read straight from
+ * the {@link com.google.gson.stream.JsonReader} without reflection or intermediate JSON trees, writing is left to
+ * the adapters Gson would use otherwise.
+ */
+public class ModelTypeAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        if (rawType == Product.class) {
+            return (TypeAdapter<T>) new ProductTypeAdapter(gson, gson.getDelegateAdapter(this, TypeToken.get(Product.class)));
+        } else if (rawType == Variant.class) {
+            return (TypeAdapter<T>) new VariantTypeAdapter(gson, gson.getDelegateAdapter(this, TypeToken.get(Variant.class)));
+        } else if (rawType == Image.class) {
+            return (TypeAdapter<T>) new ImageTypeAdapter(gson.getDelegateAdapter(this, TypeToken.get(Image.class)));
+        } else if (rawType == LiveVariant.class) {
+            return (TypeAdapter<T>) new LiveVariantTypeAdapter(gson.getDelegateAdapter(this, TypeToken.get(LiveVariant.class)));
+        } else if (rawType == Attributes.class) {
+            return (TypeAdapter<T>) new AttributesTypeAdapter();
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,95 @@
+package de.aboutyou.internal.typeadapter;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import de.aboutyou.internal.util.ErrorAwareTypeAdapter;
+import de.aboutyou.internal.util.JsonReaderUtil;
+import de.aboutyou.models.Image;
+import de.aboutyou.models.Product;
+import de.aboutyou.models.Variant;
+
+public class ProductTypeAdapter extends ErrorAwareTypeAdapter<Product> {
+
+    private final TypeAdapter<Product> mDelegate;
+    private final TypeAdapter<Variant> mVariantAdapter;
+    private final TypeAdapter<Image> mImageAdapter;
+
+    public ProductTypeAdapter(Gson gson, TypeAdapter<Product> delegate) {
+        mDelegate = delegate;
+        mVariantAdapter = gson.getAdapter(Variant.class);
+        mImageAdapter = gson.getAdapter(Image.class);
+    }
+
+    @Override
+    public Product read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        Product product = new Product();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+
+            switch (name) {
+                case "id":
+                    product.setId(in.nextLong());
+                    break;
+                case "name":
+                    product.setName(in.nextString());
+                    break;
+                case "description_long":
+                    product.setDescriptionLong(in.nextString());
+                    break;
+                case "description_short":
+                    product.setDescriptionShort(in.nextString());
+                    break;
+                case "sale":
+                    product.setSale(JsonReaderUtil.nextBoolean(in));
+                    break;
+                case "min_price":
+                    product.setMinPrice(in.nextLong());
+                    break;
+                case "max_price":
+                    product.setMaxPrice(in.nextLong());
+                    break;
+                case "brand_id":
+                    product.setBrandId(in.nextLong());
+                    break;
+                case "variants":
+                    product.setVariants(JsonReaderUtil.readList(in, mVariantAdapter));
+                    break;
+                case "default_image":
+                    product.setImage(mImageAdapter.read(in));
+                    break;
+                case "styles":
+                    product.setStyles(JsonReaderUtil.readList(in, this));
+                    break;
+                default:
+                    if (!readErrorField(name, in, product)) {
+                        in.skipValue();
+                    }
+                    break;
+            }
+        }
+        in.endObject();
+
+        return product;
+    }
+
+    @Override
+    public void write(JsonWriter out, Product product) throws IOException {
+        mDelegate.write(out, product);
+    }
+}
@@ -1,42 +1,49 @@
 package de.aboutyou.internal.typeadapter;
 
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParseException;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Type;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
 
-import de.aboutyou.internal.util.ErrorAwareJsonDeserializer;
+import de.aboutyou.internal.util.ErrorAwareTypeAdapter;
 import de.aboutyou.models.Suggest;
 
-public class SuggestTypeAdapter extends ErrorAwareJsonDeserializer<Suggest> {
+public class SuggestTypeAdapter extends ErrorAwareTypeAdapter<Suggest> {
 
     @Override
-    public Suggest deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
+    public Suggest read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
         Suggest suggest = new Suggest();
-        boolean isErrorObject = false;
-
-        try {
-            List<String> objects = context.deserialize(json, new TypeToken<ArrayList<String>>() {
-            }.getType());
-
-            Field delegate = Suggest.class.getDeclaredField("delegate");
-            delegate.setAccessible(true);
-            delegate.set(suggest, objects);
-        } catch (JsonParseException e) {
-            isErrorObject = true;
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            throw new JsonParseException("");
+        if (in.peek() == JsonToken.BEGIN_OBJECT) {
+            readError(in, suggest);
+            return suggest;
         }
 
-        if (isErrorObject) {
-            deserializeError(json, suggest, context);
+        in.beginArray();
+        while (in.hasNext()) {
+            suggest.add(in.nextString());
         }
+        in.endArray();
 
         return suggest;
     }
+
+    @Override
+    public void write(JsonWriter out, Suggest suggest) throws IOException {
+        if (suggest == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginArray();
+        for (String value : suggest) {
+            out.value(value);
+        }
+        out.endArray();
+    }
 }
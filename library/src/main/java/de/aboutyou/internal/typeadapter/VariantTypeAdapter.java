@@ -0,0 +1,98 @@
+package de.aboutyou.internal.typeadapter;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Date;
+
+import de.aboutyou.internal.util.JsonReaderUtil;
+import de.aboutyou.models.Attributes;
+import de.aboutyou.models.Image;
+import de.aboutyou.models.Variant;
+
+public class VariantTypeAdapter extends TypeAdapter<Variant> {
+
+    private final TypeAdapter<Variant> mDelegate;
+    private final TypeAdapter<Date> mDateAdapter;
+    private final TypeAdapter<Image> mImageAdapter;
+    private final TypeAdapter<Attributes> mAttributesAdapter;
+
+    public VariantTypeAdapter(Gson gson, TypeAdapter<Variant> delegate) {
+        mDelegate = delegate;
+        mDateAdapter = gson.getAdapter(Date.class);
+        mImageAdapter = gson.getAdapter(Image.class);
+        mAttributesAdapter = gson.getAdapter(Attributes.class);
+    }
+
+    @Override
+    public Variant read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        Variant variant = new Variant();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+
+            switch (name) {
+                case "id":
+                    variant.setId(in.nextLong());
+                    break;
+                case "ean":
+                    variant.setEan(in.nextString());
+                    break;
+                case "default":
+                    variant.setDefaultVariant(JsonReaderUtil.nextBoolean(in));
+                    break;
+                case "price":
+                    variant.setPrice(in.nextLong());
+                    break;
+                case "old_price":
+                    variant.setOldPrice(in.nextLong());
+                    break;
+                case "retail_price":
+                    variant.setRetailPrice(in.nextLong());
+                    break;
+                case "quantity":
+                    variant.setQuantity(in.nextInt());
+                    break;
+                case "updated_date":
+                    variant.setUpdatedDate(mDateAdapter.read(in));
+                    break;
+                case "first_sale_date":
+                    variant.setFirstSaleDate(mDateAdapter.read(in));
+                    break;
+                case "first_active_date":
+                    variant.setFirstActiveDate(mDateAdapter.read(in));
+                    break;
+                case "images":
+                    variant.setImages(JsonReaderUtil.readList(in, mImageAdapter));
+                    break;
+                case "attributes":
+                    variant.setAttributes(mAttributesAdapter.read(in));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+
+        return variant;
+    }
+
+    @Override
+    public void write(JsonWriter out, Variant variant) throws IOException {
+        mDelegate.write(out, variant);
+    }
+}
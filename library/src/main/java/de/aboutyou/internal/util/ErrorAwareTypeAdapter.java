@@ -0,0 +1,65 @@
+package de.aboutyou.internal.util;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.aboutyou.models.BaseModel;
+
+/**
+ * Base class for adapters of models which the backend replaces with an error object if the request failed. The
+ * error fields of {@link de.aboutyou.models.BaseModel} are read by name without any reflection.
+ */
+public abstract class ErrorAwareTypeAdapter<T extends BaseModel> extends TypeAdapter<T> {
+
+    private static final String ERROR_MESSAGE = "error_message";
+    private static final String ERROR_CODE = "error_code";
+
+    /** Reads an error object into the target, unknown fields are skipped */
+    protected void readError(JsonReader in, T target) throws IOException {
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL || !readErrorField(name, in, target)) {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+    }
+
+    /**
+     * Reads the value of the field with the given name into the target if it is one of the error fields
+     *
+     * @return false if the field is not an error field, its value has not been consumed then
+     */
+    protected boolean readErrorField(String name, JsonReader in, T target) throws IOException {
+        if (ERROR_MESSAGE.equals(name)) {
+            target.setErrorMessages(readErrorMessages(in));
+            return true;
+        } else if (ERROR_CODE.equals(name)) {
+            target.setErrorCode(in.nextInt());
+            return true;
+        }
+        return false;
+    }
+
+    private List<String> readErrorMessages(JsonReader in) throws IOException {
+        List<String> errorMessages = new ArrayList<>();
+        if (in.peek() != JsonToken.BEGIN_ARRAY) {
+            errorMessages.add(in.nextString());
+            return errorMessages;
+        }
+
+        in.beginArray();
+        while (in.hasNext()) {
+            errorMessages.add(in.nextString());
+        }
+        in.endArray();
+        return errorMessages;
+    }
+
+}
@@ -0,0 +1,46 @@
+package de.aboutyou.internal.util;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import de.aboutyou.enums.AutocompleteType;
+import de.aboutyou.enums.Direction;
+import de.aboutyou.enums.FacetType;
+import de.aboutyou.enums.ProductFields;
+import de.aboutyou.enums.Sortby;
+import de.aboutyou.internal.typeadapter.AutocompleteTypeAdapter;
+import de.aboutyou.internal.typeadapter.DirectionTypeAdapter;
+import de.aboutyou.internal.typeadapter.FacetTypeTypeAdapter;
+import de.aboutyou.internal.typeadapter.ModelTypeAdapterFactory;
+import de.aboutyou.internal.typeadapter.ProductFieldsTypeAdapter;
+import de.aboutyou.internal.typeadapter.SortbyTypeAdapter;
+import de.aboutyou.internal.typeadapter.SuggestTypeAdapter;
+import de.aboutyou.models.Suggest;
+
+/**
+ * Builds the {@link com.google.gson.Gson} instance used to talk to the shop API, shared by the
+ * {@link de.aboutyou.ShopApiClient} and the benchmarks so both exercise the same configuration.
+ */
+public abstract class GsonFactory {
+
+    private static final String DATE_FORMAT = "dd-MM-yyyy HH:mm:ss";
+
+    public static Gson create() {
+        return builder().create();
+    }
+
+    /** Returns a builder with the configuration of {@link #create()}, adapters registered on it take precedence */
+    public static GsonBuilder builder() {
+        return new GsonBuilder()
+                .enableComplexMapKeySerialization()
+                .setDateFormat(DATE_FORMAT)
+                .registerTypeAdapter(FacetType.class, new FacetTypeTypeAdapter())
+                .registerTypeAdapter(AutocompleteType.class, new AutocompleteTypeAdapter())
+                .registerTypeAdapter(Sortby.class, new SortbyTypeAdapter())
+                .registerTypeAdapter(Direction.class, new DirectionTypeAdapter())
+                .registerTypeAdapter(ProductFields.class, new ProductFieldsTypeAdapter())
+                .registerTypeAdapterFactory(new ModelTypeAdapterFactory())
+                .registerTypeAdapter(Suggest.class, new SuggestTypeAdapter());
+    }
+
+}
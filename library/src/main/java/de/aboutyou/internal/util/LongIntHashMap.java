@@ -0,0 +1,92 @@
+package de.aboutyou.internal.util;
+
+import java.util.Arrays;
+
+/**
+ * A map from primitive long keys to non-negative int values using open addressing with linear probing. Lookups
+ * neither box the key nor allocate.
+ */
+public class LongIntHashMap {
+
+    public static final int NO_VALUE = -1;
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] mKeys;
+    private int[] mValues;
+    private int mMask;
+    private int mSize;
+
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /** Returns the value for the key, or {@link #NO_VALUE} if the key is not present */
+    public int get(long key) {
+        int index = indexOf(key);
+        while (mValues[index] != NO_VALUE) {
+            if (mKeys[index] == key) {
+                return mValues[index];
+            }
+            index = (index + 1) & mMask;
+        }
+        return NO_VALUE;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != NO_VALUE;
+    }
+
+    /** Associates the non-negative value with the key, replacing any previous value */
+    public void put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("value must not be negative");
+        }
+
+        int index = indexOf(key);
+        while (mValues[index] != NO_VALUE) {
+            if (mKeys[index] == key) {
+                mValues[index] = value;
+                return;
+            }
+            index = (index + 1) & mMask;
+        }
+
+        mKeys[index] = key;
+        mValues[index] = value;
+        mSize++;
+        if (mSize > mKeys.length * LOAD_FACTOR) {
+            rehash(mKeys.length << 1);
+        }
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    private int indexOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mMask;
+    }
+
+    private void allocate(int capacity) {
+        mKeys = new long[capacity];
+        mValues = new int[capacity];
+        Arrays.fill(mValues, NO_VALUE);
+        mMask = capacity - 1;
+    }
+
+    private void rehash(int capacity) {
+        long[] keys = mKeys;
+        int[] values = mValues;
+        allocate(capacity);
+        mSize = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != NO_VALUE) {
+                put(keys[i], values[i]);
+            }
+        }
+    }
+
+}
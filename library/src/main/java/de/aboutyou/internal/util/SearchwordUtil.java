@@ -0,0 +1,22 @@
+package de.aboutyou.internal.util;
+
+import java.util.Locale;
+
+/** The case insensitive matching of searchwords used to filter autocompletions and suggestions locally */
+public abstract class SearchwordUtil {
+
+    /** Returns the form of a searchword or result text that matching is done on */
+    public static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.GERMAN);
+    }
+
+    /**
+     * @param text A result text, e.g. a suggestion or a product name, may be null
+     * @param searchword A searchword, already normalized
+     * @return Whether the text contains the searchword
+     */
+    public static boolean matches(String text, String searchword) {
+        return text != null && normalize(text).contains(searchword);
+    }
+
+}
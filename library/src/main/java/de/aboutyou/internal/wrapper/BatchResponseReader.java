@@ -0,0 +1,86 @@
+package de.aboutyou.internal.wrapper;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.aboutyou.enums.Operation;
+import de.aboutyou.internal.response.AutocompleteResponse;
+import de.aboutyou.internal.response.BasketResponse;
+import de.aboutyou.internal.response.CategoriesResponse;
+import de.aboutyou.internal.response.CategoryTreeResponse;
+import de.aboutyou.internal.response.CollinsResponse;
+import de.aboutyou.internal.response.FacetTypesResponse;
+import de.aboutyou.internal.response.FacetsResponse;
+import de.aboutyou.internal.response.InitiateOrderResponse;
+import de.aboutyou.internal.response.LiveVariantResponse;
+import de.aboutyou.internal.response.ProductSearchResponse;
+import de.aboutyou.internal.response.ProductsResponse;
+import de.aboutyou.internal.response.SuggestResponse;
+import de.aboutyou.request.CollinsRequest;
+import retrofit.mime.TypedInput;
+
+/**
+ * Reads a response envelope holding the answers to several operations. The slots of the envelope are in the
+ * same order as the requests of the corresponding {@link de.aboutyou.internal.wrapper.RequestEnvelope}, each
+ * slot is deserialized into the response type matching its request.
+ */
+public abstract class BatchResponseReader {
+
+    public static List<Object> read(Gson gson, TypedInput body, List<? extends CollinsRequest> requests) throws IOException {
+        List<Object> results = new ArrayList<>(requests.size());
+
+        JsonReader reader = new JsonReader(new InputStreamReader(body.in(), "UTF-8"));
+        try {
+            reader.beginArray();
+            for (CollinsRequest request : requests) {
+                if (!reader.hasNext()) {
+                    throw new JsonParseException(String.format("Expected %d responses, got %d", requests.size(), results.size()));
+                }
+                CollinsResponse<?> response = gson.fromJson(reader, getResponseClass(Operation.fromRequest(request)));
+                results.add(response != null ? response.get() : null);
+            }
+            reader.endArray();
+        } finally {
+            reader.close();
+        }
+
+        return results;
+    }
+
+    public static Class<? extends CollinsResponse<?>> getResponseClass(Operation operation) {
+        switch (operation) {
+            case CATEGORIES:
+                return CategoriesResponse.class;
+            case CATEGORY_TREE:
+                return CategoryTreeResponse.class;
+            case FACETS:
+                return FacetsResponse.class;
+            case FACET_TYPES:
+                return FacetTypesResponse.class;
+            case AUTOCOMPLETE:
+                return AutocompleteResponse.class;
+            case SUGGEST:
+                return SuggestResponse.class;
+            case PRODUCT_SEARCH:
+                return ProductSearchResponse.class;
+            case PRODUCTS:
+                return ProductsResponse.class;
+            case BASKET_MODIFY:
+            case BASKET_GET:
+                return BasketResponse.class;
+            case INITIATE_ORDER:
+                return InitiateOrderResponse.class;
+            case LIVE_VARIANT:
+                return LiveVariantResponse.class;
+            default:
+                throw new IllegalArgumentException(String.format("Unsupported operation %s", operation));
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package de.aboutyou.internal.wrapper;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+import de.aboutyou.models.Product;
+import de.aboutyou.models.ProductSearch;
+import retrofit.mime.TypedInput;
+
+/**
+ * Reads the response envelope of a single product search incrementally. Every product is decoded on its own and
+ * handed to a {@link de.aboutyou.internal.wrapper.ProductSearchStreamReader.ProductHandler} right away, so at most
+ * one product is held by the reader at a time. All other fields of the search result are small and read as usual.
+ */
+public abstract class ProductSearchStreamReader {
+
+    private static final String PRODUCT_SEARCH = "product_search";
+    private static final String PRODUCTS = "products";
+
+    public interface ProductHandler {
+        public void handle(Product product);
+    }
+
+    /**
+     * @return The {@link de.aboutyou.models.ProductSearch} without its products, or null if the response does not
+     * contain a product search
+     */
+    public static ProductSearch read(Gson gson, TypedInput body, ProductHandler handler) throws IOException {
+        JsonReader reader = new JsonReader(new InputStreamReader(body.in(), "UTF-8"));
+        try {
+            reader.beginArray();
+            if (!reader.hasNext()) {
+                throw new JsonParseException("Expected 1 response, got 0");
+            }
+
+            ProductSearch productSearch = null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (PRODUCT_SEARCH.equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    productSearch = readProductSearch(gson, reader, handler);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return productSearch;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static ProductSearch readProductSearch(Gson gson, JsonReader reader, ProductHandler handler) throws IOException {
+        TypeAdapter<Product> productAdapter = gson.getAdapter(Product.class);
+        JsonParser parser = new JsonParser();
+        JsonObject remainder = new JsonObject();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (PRODUCTS.equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    Product product = productAdapter.read(reader);
+                    if (product != null) {
+                        handler.handle(product);
+                    }
+                }
+                reader.endArray();
+            } else {
+                remainder.add(name, parser.parse(reader));
+            }
+        }
+        reader.endObject();
+
+        return gson.fromJson(remainder, ProductSearch.class);
+    }
+
+}
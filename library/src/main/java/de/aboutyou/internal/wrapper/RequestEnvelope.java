@@ -1,6 +1,7 @@
 package de.aboutyou.internal.wrapper;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import de.aboutyou.request.CollinsRequest;
 
@@ -10,8 +11,16 @@ public class RequestEnvelope<T extends CollinsRequest> extends ArrayList<T> {
         return new RequestEnvelope<>(request);
     }
 
+    public static <T extends CollinsRequest> RequestEnvelope<T> wrap(List<? extends T> requests) {
+        return new RequestEnvelope<>(requests);
+    }
+
     private RequestEnvelope(T request) {
         add(request);
     }
 
-}
\ No newline at end of file
+    private RequestEnvelope(List<? extends T> requests) {
+        super(requests);
+    }
+
+}
@@ -1,22 +1,121 @@
 package de.aboutyou.models;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import de.aboutyou.enums.FacetType;
 
-public class Attributes extends HashMap<Integer, List<Long>> {
+/**
+ * The facets of a {@link de.aboutyou.models.Variant}, grouped by facet group id
+ * <p>
+ * Group ids are kept in a sorted int array next to one long array of facet ids per group, so a variant holds a few
+ * primitive arrays instead of boxed keys, lists and values. The index based accessors do not allocate.
+ */
+public class Attributes {
 
-    public List<Long> get(FacetType facetType) {
-        if (contains(facetType)){
-            return get(facetType.getId());
-        } else {
-            return null;
+    private static final int[] NO_GROUPS = new int[0];
+    private static final long[][] NO_FACETS = new long[0][];
+
+    private int[] groupIds = NO_GROUPS;
+    private long[][] facetIds = NO_FACETS;
+
+    /** Sets the facet ids of a group, replacing any previous ones */
+    public void put(int groupId, long[] groupFacetIds) {
+        int index = Arrays.binarySearch(groupIds, groupId);
+        if (index >= 0) {
+            facetIds[index] = groupFacetIds;
+            return;
         }
+
+        int insertAt = -index - 1;
+        int[] newGroupIds = new int[groupIds.length + 1];
+        long[][] newFacetIds = new long[groupIds.length + 1][];
+        System.arraycopy(groupIds, 0, newGroupIds, 0, insertAt);
+        System.arraycopy(facetIds, 0, newFacetIds, 0, insertAt);
+        System.arraycopy(groupIds, insertAt, newGroupIds, insertAt + 1, groupIds.length - insertAt);
+        System.arraycopy(facetIds, insertAt, newFacetIds, insertAt + 1, groupIds.length - insertAt);
+        newGroupIds[insertAt] = groupId;
+        newFacetIds[insertAt] = groupFacetIds;
+
+        groupIds = newGroupIds;
+        facetIds = newFacetIds;
+    }
+
+    /** Returns the number of facet groups */
+    public int size() {
+        return groupIds.length;
+    }
+
+    /** Returns the id of the facet group at the given index, groups are ordered by id */
+    public int getGroupId(int index) {
+        return groupIds[index];
+    }
+
+    /** Returns the facet group at the given index, including groups unknown to this SDK version */
+    public FacetGroup getFacetGroup(int index) {
+        return FacetGroup.valueOf(groupIds[index]);
+    }
+
+    public boolean contains(int groupId) {
+        return Arrays.binarySearch(groupIds, groupId) >= 0;
     }
 
     public boolean contains(FacetType facetType) {
-        return containsKey(facetType.getId());
+        return contains(facetType.getId());
+    }
+
+    /** Returns the number of facets in the group, 0 if the group is not present */
+    public int getFacetCount(int groupId) {
+        int index = Arrays.binarySearch(groupIds, groupId);
+        return index >= 0 ? facetIds[index].length : 0;
+    }
+
+    /** Returns the facet id at the given index within the group */
+    public long getFacetId(int groupId, int index) {
+        int groupIndex = Arrays.binarySearch(groupIds, groupId);
+        if (groupIndex < 0) {
+            throw new IndexOutOfBoundsException(String.format("No facet group %d", groupId));
+        }
+        return facetIds[groupIndex][index];
+    }
+
+    /** Whether the group contains the facet with the given id */
+    public boolean containsFacet(int groupId, long facetId) {
+        int index = Arrays.binarySearch(groupIds, groupId);
+        if (index < 0) {
+            return false;
+        }
+        for (long id : facetIds[index]) {
+            if (id == facetId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Returns a copy of the facet ids of the group, or null if the group is not present */
+    public long[] getFacetIds(int groupId) {
+        int index = Arrays.binarySearch(groupIds, groupId);
+        return index >= 0 ? facetIds[index].clone() : null;
+    }
+
+    /** Returns the facet ids of the group as a new list, or null if the group is not present */
+    public List<Long> get(int groupId) {
+        int index = Arrays.binarySearch(groupIds, groupId);
+        if (index < 0) {
+            return null;
+        }
+
+        List<Long> list = new ArrayList<>(facetIds[index].length);
+        for (long id : facetIds[index]) {
+            list.add(id);
+        }
+        return list;
+    }
+
+    public List<Long> get(FacetType facetType) {
+        return get(facetType.getId());
     }
 
 }
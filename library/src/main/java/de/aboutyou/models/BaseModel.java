@@ -15,8 +15,16 @@ public abstract class BaseModel {
         return errorMessages;
     }
 
+    public void setErrorMessages(List<String> errorMessages) {
+        this.errorMessages = errorMessages;
+    }
+
     public int getErrorCode() {
         return errorCode;
     }
 
+    public void setErrorCode(Integer errorCode) {
+        this.errorCode = errorCode;
+    }
+
 }
@@ -0,0 +1,89 @@
+package de.aboutyou.models;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.aboutyou.enums.FacetType;
+import de.aboutyou.request.AutocompleteRequest;
+import de.aboutyou.request.BasketGetRequest;
+import de.aboutyou.request.BasketModifyRequest;
+import de.aboutyou.request.CategoriesRequest;
+import de.aboutyou.request.CategoryTreeRequest;
+import de.aboutyou.request.CollinsRequest;
+import de.aboutyou.request.FacetTypesRequest;
+import de.aboutyou.request.FacetsRequest;
+import de.aboutyou.request.InitiateOrderRequest;
+import de.aboutyou.request.LiveVariantRequest;
+import de.aboutyou.request.ProductSearchRequest;
+import de.aboutyou.request.ProductsRequest;
+import de.aboutyou.request.SuggestRequest;
+
+/** The results of a {@link de.aboutyou.Batch}, keyed by the request instances added to the batch */
+public class BatchResult {
+
+    private final Map<CollinsRequest, Object> results;
+
+    public BatchResult(List<? extends CollinsRequest> requests, List<Object> results) {
+        this.results = new IdentityHashMap<>(requests.size());
+        for (int i = requests.size() - 1; i >= 0; i--) {
+            this.results.put(requests.get(i), results.get(i));
+        }
+    }
+
+    public List<Category> get(CategoriesRequest request) {
+        return getResult(request);
+    }
+
+    public CategoryTree get(CategoryTreeRequest request) {
+        return getResult(request);
+    }
+
+    public List<Facet> get(FacetsRequest request) {
+        return getResult(request);
+    }
+
+    public List<FacetType> get(FacetTypesRequest request) {
+        return getResult(request);
+    }
+
+    public Autocomplete get(AutocompleteRequest request) {
+        return getResult(request);
+    }
+
+    public Suggest get(SuggestRequest request) {
+        return getResult(request);
+    }
+
+    public ProductSearch get(ProductSearchRequest request) {
+        return getResult(request);
+    }
+
+    public List<Product> get(ProductsRequest request) {
+        return getResult(request);
+    }
+
+    public Basket get(BasketModifyRequest request) {
+        return getResult(request);
+    }
+
+    public Basket get(BasketGetRequest request) {
+        return getResult(request);
+    }
+
+    public InitiateOrder get(InitiateOrderRequest request) {
+        return getResult(request);
+    }
+
+    public List<LiveVariant> get(LiveVariantRequest request) {
+        return getResult(request);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T getResult(CollinsRequest request) {
+        if (!results.containsKey(request)) {
+            throw new IllegalArgumentException("Request is not part of this batch");
+        }
+        return (T) results.get(request);
+    }
+}
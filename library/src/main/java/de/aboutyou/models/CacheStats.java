@@ -0,0 +1,52 @@
+package de.aboutyou.models;
+
+/** A snapshot of the statistics of one of the SDK's in-memory caches */
+public class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final int size;
+    private final int maxSize;
+
+    public CacheStats(long hitCount, long missCount, long evictionCount, int size, int maxSize) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+        this.maxSize = maxSize;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /** The current size of the cache, in the unit of the respective cache */
+    public int getSize() {
+        return size;
+    }
+
+    /** The maximum size of the cache, in the unit of the respective cache */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /** The ratio of hits to all lookups, 0 if there were no lookups yet */
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CacheStats[hits=%d, misses=%d, evictions=%d, size=%d/%d]", hitCount, missCount, evictionCount, size, maxSize);
+    }
+}
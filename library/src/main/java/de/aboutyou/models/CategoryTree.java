@@ -1,17 +1,37 @@
 package de.aboutyou.models;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import de.aboutyou.internal.util.LongIntHashMap;
+
+/**
+ * The tree of categories of an app
+ * <p>
+ * On construction all categories are indexed in pre-order. Looking up a category by id, its depth, its ancestors,
+ * its path from the root and its descendants as well as visiting its sub tree do not allocate.
+ */
 public class CategoryTree {
 
+    public interface Visitor {
+        public void visit(Category category, int depth);
+    }
+
     private List<Category> allCategories;
     private List<Category> activeCategories;
 
+    private Category[] nodes;
+    private int[] depths;
+    private int[] subtreeEnds;
+    private Views[] views;
+    private List<Category> nodeList;
+    private LongIntHashMap index;
+
     public CategoryTree(List<Category> categories) {
-        setupRelations(categories, null);
+        setAllCategories(categories);
 
-        allCategories = categories;
         activeCategories = new ArrayList<>();
         for (Category subCategory : allCategories) {
             if (subCategory.isActive()) {
@@ -20,11 +40,128 @@ public class CategoryTree {
         }
     }
 
-    private void setupRelations(List<Category> categories, Category parent) {
+    private void buildIndex(List<Category> categories) {
+        int count = countCategories(categories);
+        nodes = new Category[count];
+        depths = new int[count];
+        subtreeEnds = new int[count];
+        views = new Views[count];
+        index = new LongIntHashMap(count);
+
+        // a view of the array, so the descendants can be taken from it while it is filled
+        nodeList = Collections.unmodifiableList(Arrays.asList(nodes));
+        addToIndex(categories, null, new Category[0], 0);
+    }
+
+    private int countCategories(List<Category> categories) {
+        int count = 0;
+        if (categories != null) {
+            for (Category category : categories) {
+                count += 1 + countCategories(category.getAllSubCategories());
+            }
+        }
+        return count;
+    }
+
+    private int addToIndex(List<Category> categories, Category parent, Category[] parentPath, int position) {
+        if (categories == null) {
+            return position;
+        }
+
+        int depth = parentPath.length;
         for (Category category : categories) {
+            int categoryPosition = position++;
             category.setParent(parent);
-            setupRelations(category.getAllSubCategories(), category);
+
+            nodes[categoryPosition] = category;
+            depths[categoryPosition] = depth;
+            index.put(category.getId(), categoryPosition);
+
+            Category[] path = Arrays.copyOf(parentPath, depth + 1);
+            path[depth] = category;
+
+            position = addToIndex(category.getAllSubCategories(), category, path, position);
+            subtreeEnds[categoryPosition] = position;
+            views[categoryPosition] = new Views(Collections.unmodifiableList(Arrays.asList(path)),
+                    nodeList.subList(categoryPosition + 1, position));
+        }
+        return position;
+    }
+
+    /** Returns the category with the given id, or null if the tree does not contain it */
+    public Category getCategory(long categoryId) {
+        int position = index.get(categoryId);
+        return position == LongIntHashMap.NO_VALUE ? null : nodes[position];
+    }
+
+    public boolean contains(long categoryId) {
+        return index.containsKey(categoryId);
+    }
+
+    /** Returns the depth of the category with the given id, 0 for root categories, -1 if the tree does not contain it */
+    public int getDepth(long categoryId) {
+        int position = index.get(categoryId);
+        return position == LongIntHashMap.NO_VALUE ? -1 : depths[position];
+    }
+
+    /**
+     * Returns the path from the root category down to and including the category with the given id, e.g. to show a
+     * breadcrumb
+     *
+     * @return An unmodifiable list starting with the root category, or null if the tree does not contain the category
+     */
+    public List<Category> getPath(long categoryId) {
+        int position = index.get(categoryId);
+        return position == LongIntHashMap.NO_VALUE ? null : views[position].path;
+    }
+
+    /**
+     * Returns the ancestors of the category with the given id, starting with the root category and ending with its parent
+     *
+     * @return An unmodifiable list, empty for root categories, or null if the tree does not contain the category
+     */
+    public List<Category> getAncestors(long categoryId) {
+        int position = index.get(categoryId);
+        return position == LongIntHashMap.NO_VALUE ? null : views[position].ancestors;
+    }
+
+    /** Returns the number of categories in the sub tree of the category with the given id, excluding the category itself */
+    public int getDescendantCount(long categoryId) {
+        int position = index.get(categoryId);
+        return position == LongIntHashMap.NO_VALUE ? 0 : subtreeEnds[position] - position - 1;
+    }
+
+    /**
+     * Returns all categories below the category with the given id, in pre-order
+     *
+     * @return An unmodifiable view, or null if the tree does not contain the category
+     */
+    public List<Category> getDescendants(long categoryId) {
+        int position = index.get(categoryId);
+        return position == LongIntHashMap.NO_VALUE ? null : views[position].descendants;
+    }
+
+    /** Visits the category with the given id and all categories below it in pre-order */
+    public void visitSubtree(long categoryId, Visitor visitor) {
+        int position = index.get(categoryId);
+        if (position == LongIntHashMap.NO_VALUE) {
+            return;
         }
+        for (int i = position; i < subtreeEnds[position]; i++) {
+            visitor.visit(nodes[i], depths[i]);
+        }
+    }
+
+    /** Visits all categories of the tree in pre-order */
+    public void visitAll(Visitor visitor) {
+        for (int i = 0; i < nodes.length; i++) {
+            visitor.visit(nodes[i], depths[i]);
+        }
+    }
+
+    /** Returns the total number of categories in the tree */
+    public int size() {
+        return nodes.length;
     }
 
     public List<Category> getAllCategories() {
@@ -33,6 +170,7 @@ public class CategoryTree {
 
     public void setAllCategories(List<Category> allCategories) {
         this.allCategories = allCategories;
+        buildIndex(allCategories);
     }
 
     public List<Category> getActiveCategories() {
@@ -42,4 +180,18 @@ public class CategoryTree {
     public void setActiveCategories(List<Category> activeCategories) {
         this.activeCategories = activeCategories;
     }
+
+    /** The unmodifiable lists returned for a category, built once with the index */
+    private static class Views {
+
+        private final List<Category> path;
+        private final List<Category> ancestors;
+        private final List<Category> descendants;
+
+        private Views(List<Category> path, List<Category> descendants) {
+            this.path = path;
+            this.ancestors = path.subList(0, path.size() - 1);
+            this.descendants = descendants;
+        }
+    }
 }
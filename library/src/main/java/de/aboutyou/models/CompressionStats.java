@@ -0,0 +1,51 @@
+package de.aboutyou.models;
+
+/**
+ * A snapshot of the bytes sent to and received from the shop API, both before encoding and as transferred over the
+ * network
+ */
+public class CompressionStats {
+
+    private final long requestBytes;
+    private final long transferredRequestBytes;
+    private final long responseBytes;
+    private final long transferredResponseBytes;
+
+    public CompressionStats(long requestBytes, long transferredRequestBytes, long responseBytes, long transferredResponseBytes) {
+        this.requestBytes = requestBytes;
+        this.transferredRequestBytes = transferredRequestBytes;
+        this.responseBytes = responseBytes;
+        this.transferredResponseBytes = transferredResponseBytes;
+    }
+
+    /** The size of all request bodies before compression */
+    public long getRequestBytes() {
+        return requestBytes;
+    }
+
+    /** The size of all request bodies as sent, compressed or not */
+    public long getTransferredRequestBytes() {
+        return transferredRequestBytes;
+    }
+
+    /** The size of all response bodies read after decompression */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    /** The size of all response bodies read as received, compressed or not */
+    public long getTransferredResponseBytes() {
+        return transferredResponseBytes;
+    }
+
+    /** The ratio of transferred to uncompressed response bytes, 1 if no response was read yet */
+    public double getResponseCompressionRatio() {
+        return responseBytes == 0 ? 1 : (double) transferredResponseBytes / responseBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CompressionStats[request=%d/%d, response=%d/%d]", transferredRequestBytes, requestBytes,
+                transferredResponseBytes, responseBytes);
+    }
+}
@@ -7,6 +7,8 @@ public class Facet {
     private String name;
     @SerializedName("facet_id")
     private long facetId;
+    @SerializedName("id")
+    private int groupId;
     private String value;
     @SerializedName("group_name")
     private String groupName;
@@ -27,6 +29,15 @@ public class Facet {
         this.facetId = facetId;
     }
 
+    /** Returns the id of the facet group, see {@link de.aboutyou.models.FacetGroup#valueOf(int)} */
+    public int getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(int groupId) {
+        this.groupId = groupId;
+    }
+
     public String getValue() {
         return value;
     }
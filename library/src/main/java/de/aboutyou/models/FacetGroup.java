@@ -0,0 +1,83 @@
+package de.aboutyou.models;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import de.aboutyou.enums.FacetType;
+
+/**
+ * A facet group id along with its {@link de.aboutyou.enums.FacetType}, if the group is known to this SDK version
+ * <p>
+ * Groups added on the server side after the release of the SDK are represented as well instead of being dropped.
+ * There is exactly one instance per id, so instances may be compared by identity.
+ */
+public final class FacetGroup {
+
+    private static final FacetGroup[] KNOWN_GROUPS = new FacetGroup[FacetType.values().length];
+    private static final ConcurrentMap<Integer, FacetGroup> UNKNOWN_GROUPS = new ConcurrentHashMap<>();
+
+    static {
+        for (FacetType facetType : FacetType.values()) {
+            KNOWN_GROUPS[facetType.ordinal()] = new FacetGroup(facetType.getId(), facetType);
+        }
+    }
+
+    private final int id;
+    private final FacetType facetType;
+
+    private FacetGroup(int id, FacetType facetType) {
+        this.id = id;
+        this.facetType = facetType;
+    }
+
+    /** Returns the facet group with the given id; known groups are looked up in constant time */
+    public static FacetGroup valueOf(int id) {
+        FacetType facetType = FacetType.fromInteger(id);
+        if (facetType != null) {
+            return KNOWN_GROUPS[facetType.ordinal()];
+        }
+
+        FacetGroup facetGroup = UNKNOWN_GROUPS.get(id);
+        if (facetGroup == null) {
+            FacetGroup newFacetGroup = new FacetGroup(id, null);
+            facetGroup = UNKNOWN_GROUPS.putIfAbsent(id, newFacetGroup);
+            if (facetGroup == null) {
+                facetGroup = newFacetGroup;
+            }
+        }
+        return facetGroup;
+    }
+
+    public static FacetGroup valueOf(FacetType facetType) {
+        return KNOWN_GROUPS[facetType.ordinal()];
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /** Returns the {@link de.aboutyou.enums.FacetType} of the group, or null if the group is unknown */
+    public FacetType getFacetType() {
+        return facetType;
+    }
+
+    public boolean isKnown() {
+        return facetType != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof FacetGroup && ((FacetGroup) o).id == id;
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return facetType != null ? facetType.name() : String.format("FacetGroup(%d)", id);
+    }
+
+}
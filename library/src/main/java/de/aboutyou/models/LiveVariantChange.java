@@ -0,0 +1,41 @@
+package de.aboutyou.models;
+
+/** A change of the stock or price of a variant, reported by the live variant polling of the ShopApiClient */
+public class LiveVariantChange {
+
+    private final LiveVariant previous;
+    private final LiveVariant current;
+
+    public LiveVariantChange(LiveVariant previous, LiveVariant current) {
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public long getVariantId() {
+        return current.getId();
+    }
+
+    /** The values reported before, null if this is the first report for the variant */
+    public LiveVariant getPrevious() {
+        return previous;
+    }
+
+    public LiveVariant getCurrent() {
+        return current;
+    }
+
+    public boolean isStockChanged() {
+        return previous == null || previous.getAvailableStock() != current.getAvailableStock();
+    }
+
+    public boolean isPriceChanged() {
+        return previous == null || previous.getPrice() != current.getPrice();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LiveVariantChange[id=%d, stock=%s->%d, price=%s->%d]", current.getId(),
+                previous != null ? previous.getAvailableStock() : "?", current.getAvailableStock(),
+                previous != null ? previous.getPrice() : "?", current.getPrice());
+    }
+}
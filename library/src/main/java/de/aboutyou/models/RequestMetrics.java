@@ -0,0 +1,96 @@
+package de.aboutyou.models;
+
+import java.util.List;
+
+import de.aboutyou.enums.Operation;
+import de.aboutyou.enums.RequestOutcome;
+
+/**
+ * Timings, sizes and outcome of a single network call to the shop API
+ * <p>
+ * A call holds one operation, or several if it is a batch. All durations are in nanoseconds. Connecting, sending the
+ * request and waiting for the first byte of the response are reported as one phase, as OkHttp does not expose them
+ * separately. Download and deserialization overlap while a response is parsed from the stream; the download time is
+ * the time spent waiting for bytes, the deserialization time is the rest of the parsing.
+ */
+public class RequestMetrics {
+
+    private final List<Operation> operations;
+    private final RequestOutcome outcome;
+    private final int httpStatus;
+    private final long requestBytes;
+    private final long responseBytes;
+    private final long serializeNanos;
+    private final long timeToHeadersNanos;
+    private final long downloadNanos;
+    private final long deserializeNanos;
+    private final long totalNanos;
+
+    public RequestMetrics(List<Operation> operations, RequestOutcome outcome, int httpStatus, long requestBytes, long responseBytes,
+                          long serializeNanos, long timeToHeadersNanos, long downloadNanos, long deserializeNanos, long totalNanos) {
+        this.operations = operations;
+        this.outcome = outcome;
+        this.httpStatus = httpStatus;
+        this.requestBytes = requestBytes;
+        this.responseBytes = responseBytes;
+        this.serializeNanos = serializeNanos;
+        this.timeToHeadersNanos = timeToHeadersNanos;
+        this.downloadNanos = downloadNanos;
+        this.deserializeNanos = deserializeNanos;
+        this.totalNanos = totalNanos;
+    }
+
+    /** The operations sent with the call, in request order */
+    public List<Operation> getOperations() {
+        return operations;
+    }
+
+    public RequestOutcome getOutcome() {
+        return outcome;
+    }
+
+    /** The HTTP status of the response, 0 if no response was received */
+    public int getHttpStatus() {
+        return httpStatus;
+    }
+
+    /** The number of request body bytes sent, as transferred over the wire, i.e. after compression */
+    public long getRequestBytes() {
+        return requestBytes;
+    }
+
+    /** The number of response body bytes read, as transferred over the wire, i.e. before decompression */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    public long getSerializeNanos() {
+        return serializeNanos;
+    }
+
+    /** Time for connecting, sending the request and waiting for the response headers */
+    public long getTimeToHeadersNanos() {
+        return timeToHeadersNanos;
+    }
+
+    public long getDownloadNanos() {
+        return downloadNanos;
+    }
+
+    public long getDeserializeNanos() {
+        return deserializeNanos;
+    }
+
+    /** Wall time of the whole call */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RequestMetrics[%s %s status=%d, %d/%d bytes, serialize=%dus, headers=%dus, download=%dus, deserialize=%dus, total=%dus]",
+                operations, outcome, httpStatus, requestBytes, responseBytes, serializeNanos / 1000, timeToHeadersNanos / 1000,
+                downloadNanos / 1000, deserializeNanos / 1000, totalNanos / 1000);
+    }
+
+}
@@ -15,6 +15,10 @@ public class LiveVariantRequest extends CollinsRequest {
 
     }
 
+    public List<Long> getVariantIds() {
+        return liveVariant != null ? liveVariant.ids : null;
+    }
+
     public static class Builder extends CollinsRequest.Builder<LiveVariantRequest> {
 
         private List<Long> ids;
@@ -64,6 +64,34 @@ public class ProductSearchRequest extends CollinsRequest {
         }
     }
 
+    public Integer getLimit() {
+        return productSearch.result.limit;
+    }
+
+    public Integer getOffset() {
+        return productSearch.result.offset;
+    }
+
+    /** Returns a copy of this request for the page of results at the given offset, with the same filter and sort order */
+    public ProductSearchRequest withPage(int offset, int limit) {
+        ProductSearch.Result result = new ProductSearch.Result();
+        result.sort = productSearch.result.sort;
+        result.limit = limit;
+        result.offset = offset;
+        result.showCategories = productSearch.result.showCategories;
+        result.showSaleInformation = productSearch.result.showSaleInformation;
+        result.showPriceInformation = productSearch.result.showPriceInformation;
+
+        ProductSearch pageSearch = new ProductSearch();
+        pageSearch.sessionId = productSearch.sessionId;
+        pageSearch.filter = productSearch.filter;
+        pageSearch.result = result;
+
+        ProductSearchRequest pageRequest = new ProductSearchRequest();
+        pageRequest.productSearch = pageSearch;
+        return pageRequest;
+    }
+
     public static class Builder extends CollinsRequest.Builder<ProductSearchRequest> {
 
         private String sessionId;
@@ -15,6 +15,14 @@ public class ProductsRequest extends CollinsRequest {
 
     }
 
+    public List<Long> getProductIds() {
+        return products.ids;
+    }
+
+    public List<ProductFields> getFields() {
+        return products.fields;
+    }
+
     public static class Builder extends CollinsRequest.Builder<ProductsRequest> {
 
         private List<Long> ids;
@@ -17,6 +17,18 @@ public class SuggestRequest extends CollinsRequest {
 
     }
 
+    public String getSearchword() {
+        return suggest.searchword;
+    }
+
+    public List<Long> getCategoryIds() {
+        return suggest.categoryIds;
+    }
+
+    public Integer getLimit() {
+        return suggest.limit;
+    }
+
     public static class Builder extends CollinsRequest.Builder<SuggestRequest> {
 
         private Integer limit;
@@ -0,0 +1,117 @@
+package de.aboutyou;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import de.aboutyou.exceptions.CollinsException;
+import de.aboutyou.exceptions.NetworkException;
+import de.aboutyou.models.Product;
+import de.aboutyou.request.ProductsRequest;
+import de.aboutyou.util.MockClient;
+import retrofit.client.Request;
+import retrofit.client.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncTest extends TestBase {
+
+    @Test
+    public void testValidResponse() throws Exception {
+        ShopApiClient shopApiClient = getNewApiClient(new ValidResponseMockClient());
+
+        ProductsRequest productsRequest = new ProductsRequest.Builder()
+                .filterByProductIds(Arrays.asList(1l))
+                .build();
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicReference<List<Product>> callbackResult = new AtomicReference<>();
+        Future<List<Product>> future = shopApiClient.requestProductsAsync(productsRequest, new ShopApiClient.RequestCallback<List<Product>>() {
+            @Override
+            public void onSuccess(List<Product> result) {
+                callbackResult.set(result);
+                latch.countDown();
+            }
+
+            @Override
+            public void onFailure(CollinsException exception) {
+                latch.countDown();
+            }
+        });
+
+        List<Product> products = future.get(5, TimeUnit.SECONDS);
+        assertNotNull(products);
+        assertEquals("Product 1", products.get(0).getName());
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(callbackResult.get() == products);
+    }
+
+    private class ValidResponseMockClient extends MockClient {
+
+        @Override
+        protected String getResponse() {
+            return "[{\"products\":{\"ids\":{\"1\":{\"name\":\"Product 1\",\"active\":true,\"id\":1}}}}]";
+        }
+
+    }
+
+    @Test
+    public void testNetworkError() throws Exception {
+        ShopApiClient shopApiClient = getNewApiClient(new NetworkErrorMockClient());
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicReference<CollinsException> callbackException = new AtomicReference<>();
+        Future<List<Product>> future = shopApiClient.requestProductsAsync(new ProductsRequest.Builder().build(), new ShopApiClient.RequestCallback<List<Product>>() {
+            @Override
+            public void onSuccess(List<Product> result) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onFailure(CollinsException exception) {
+                callbackException.set(exception);
+                latch.countDown();
+            }
+        });
+
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected an ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof NetworkException);
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(callbackException.get() instanceof NetworkException);
+    }
+
+    private class NetworkErrorMockClient extends MockClient {
+
+        @Override
+        public Response execute(Request request) throws IOException {
+            throw new IOException("Connection refused");
+        }
+
+        @Override
+        protected String getResponse() {
+            return null;
+        }
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingRequest() {
+        getNewApiClient(new ValidResponseMockClient()).requestProductsAsync(null, null);
+    }
+}
@@ -0,0 +1,160 @@
+package de.aboutyou;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import de.aboutyou.exceptions.CollinsException;
+import de.aboutyou.models.Autocomplete;
+import de.aboutyou.models.Suggest;
+import de.aboutyou.util.MockClient;
+
+import static org.junit.Assert.assertEquals;
+
+public class AutocompleteSessionTest extends TestBase {
+
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    @Test
+    public void testPrefixIsServedLocally() {
+        RecordingMockClient mockClient = new RecordingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setAsyncExecutor(DIRECT_EXECUTOR);
+        RecordingListener listener = new RecordingListener();
+
+        AutocompleteSession session = shopApiClient.autocompleteSession(listener).setDebounce(0, TimeUnit.MILLISECONDS);
+        session.setSearchword("Sch");
+        session.setSearchword("Schu");
+        session.setSearchword("Sch");
+
+        assertEquals(1, mockClient.requestBodies.size());
+        assertEquals("[{\"autocompletion\":{\"limit\":10,\"searchword\":\"Sch\"}},{\"suggest\":{\"limit\":10,\"searchword\":\"Sch\"}}]",
+                mockClient.requestBodies.get(0));
+
+        assertEquals(Arrays.asList("Sch", "Schu", "Sch"), listener.searchwords);
+        assertEquals(2, listener.autocompletes.get(0).getProducts().size());
+        assertEquals(1, listener.autocompletes.get(1).getProducts().size());
+        assertEquals("Schuh rot", listener.autocompletes.get(1).getProducts().get(0).getName());
+        assertEquals(0, listener.autocompletes.get(1).getCategories().size());
+        assertEquals(Arrays.asList("schuhe"), new ArrayList<>(listener.suggests.get(1)));
+        assertEquals(2, listener.autocompletes.get(2).getProducts().size());
+    }
+
+    @Test
+    public void testIncompleteResultsAreRequested() {
+        RecordingMockClient mockClient = new RecordingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setAsyncExecutor(DIRECT_EXECUTOR);
+        RecordingListener listener = new RecordingListener();
+
+        AutocompleteSession session = shopApiClient.autocompleteSession(listener)
+                .setDebounce(0, TimeUnit.MILLISECONDS)
+                .setLimit(2)
+                .setEnabled(false, true);
+        session.setSearchword("Sch");
+        session.setSearchword("Schu");
+
+        assertEquals(2, mockClient.requestBodies.size());
+        assertEquals("[{\"suggest\":{\"limit\":2,\"searchword\":\"Schu\"}}]", mockClient.requestBodies.get(1));
+        assertEquals(null, listener.autocompletes.get(1));
+    }
+
+    @Test
+    public void testDebounce() {
+        RecordingMockClient mockClient = new RecordingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setAsyncExecutor(DIRECT_EXECUTOR);
+        RecordingListener listener = new RecordingListener();
+        ManualScheduler scheduler = new ManualScheduler();
+
+        AutocompleteSession session = shopApiClient.autocompleteSession(listener)
+                .setDebounce(100, TimeUnit.MILLISECONDS)
+                .setScheduler(scheduler);
+        session.setSearchword("S");
+        session.setSearchword("Sc");
+        session.setSearchword("Sch");
+
+        assertEquals(3, scheduler.tasks.size());
+        assertEquals(100, scheduler.delayMillis);
+        assertEquals(0, mockClient.requestBodies.size());
+
+        scheduler.runAll();
+
+        assertEquals(1, mockClient.requestBodies.size());
+        assertEquals(Arrays.asList("Sch"), listener.searchwords);
+    }
+
+    /** Collects the scheduled tasks and runs them on demand, as if their delay had passed */
+    private static class ManualScheduler implements AutocompleteSession.Scheduler {
+
+        private final List<FutureTask<?>> tasks = new ArrayList<>();
+        private long delayMillis;
+
+        @Override
+        public Future<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            FutureTask<?> task = new FutureTask<>(command, null);
+            tasks.add(task);
+            delayMillis = unit.toMillis(delay);
+            return task;
+        }
+
+        private void runAll() {
+            for (FutureTask<?> task : tasks) {
+                task.run();
+            }
+        }
+    }
+
+    private static class RecordingListener implements ShopApiClient.AutocompleteListener {
+
+        private final List<String> searchwords = new ArrayList<>();
+        private final List<Autocomplete> autocompletes = new ArrayList<>();
+        private final List<Suggest> suggests = new ArrayList<>();
+
+        @Override
+        public synchronized void onResult(String searchword, Autocomplete autocomplete, Suggest suggest) {
+            searchwords.add(searchword);
+            autocompletes.add(autocomplete);
+            suggests.add(suggest);
+        }
+
+        @Override
+        public void onFailure(String searchword, CollinsException exception) {
+            throw exception;
+        }
+    }
+
+    private class RecordingMockClient extends MockClient {
+
+        private final List<String> requestBodies = new ArrayList<>();
+        private boolean autocomplete;
+
+        @Override
+        protected synchronized void validateRequestBody(String requestBody) {
+            requestBodies.add(requestBody);
+            autocomplete = requestBody.contains("autocompletion");
+        }
+
+        @Override
+        protected String getResponse() {
+            String suggest = "{\"suggest\":[\"schuhe\",\"schal\"]}";
+            if (!autocomplete) {
+                return "[" + suggest + "]";
+            }
+            return "[{\"autocompletion\":{\"products\":[{\"name\":\"Schuh rot\",\"id\":1},{\"name\":\"Schal\",\"id\":2}]," +
+                    "\"categories\":[{\"name\":\"Schals\",\"id\":3}]}}," + suggest + "]";
+        }
+
+    }
+}
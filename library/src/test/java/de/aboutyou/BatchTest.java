@@ -0,0 +1,105 @@
+package de.aboutyou;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import de.aboutyou.models.Basket;
+import de.aboutyou.models.BatchResult;
+import de.aboutyou.models.LiveVariant;
+import de.aboutyou.models.Product;
+import de.aboutyou.request.BasketGetRequest;
+import de.aboutyou.request.LiveVariantRequest;
+import de.aboutyou.request.ProductsRequest;
+import de.aboutyou.util.MockClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class BatchTest extends TestBase {
+
+    @Test
+    public void testValidRequest() {
+        ShopApiClient shopApiClient = getNewApiClient(new ValidRequestMockClient());
+
+        shopApiClient.batch()
+                .add(new ProductsRequest.Builder().filterByProductIds(Arrays.asList(1l)).build())
+                .add(new LiveVariantRequest.Builder().filterByVariantIds(Arrays.asList(2l)).build())
+                .add(new BasketGetRequest.Builder("foobar").build())
+                .execute();
+    }
+
+    private class ValidRequestMockClient extends MockClient {
+
+        @Override
+        protected void validateRequestBody(String requestBody) {
+            assertEquals("[{\"products\":{\"ids\":[1]}},{\"live_variant\":{\"ids\":[2]}},{\"basket\":{\"session_id\":\"foobar\"}}]", requestBody);
+        }
+
+        @Override
+        protected String getResponse() {
+            return "[{\"products\":{}},{\"live_variant\":{}},{\"basket\":{\"order_lines\":[]}}]";
+        }
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyBatch() {
+        getNewApiClient(new ValidRequestMockClient()).batch().execute();
+    }
+
+    @Test
+    public void testValidResponse() {
+        ShopApiClient shopApiClient = getNewApiClient(new ValidResponseMockClient());
+
+        ProductsRequest productsRequest = new ProductsRequest.Builder().filterByProductIds(Arrays.asList(1l)).build();
+        LiveVariantRequest liveVariantRequest = new LiveVariantRequest.Builder().filterByVariantIds(Arrays.asList(2l)).build();
+        BasketGetRequest basketGetRequest = new BasketGetRequest.Builder("foobar").build();
+
+        BatchResult result = shopApiClient.batch()
+                .add(productsRequest)
+                .add(liveVariantRequest)
+                .add(basketGetRequest)
+                .execute();
+
+        List<Product> products = result.get(productsRequest);
+        assertNotNull(products);
+        assertTrue(products.size() == 1);
+        assertEquals("Product 1", products.get(0).getName());
+
+        List<LiveVariant> liveVariants = result.get(liveVariantRequest);
+        assertNotNull(liveVariants);
+        assertTrue(liveVariants.size() == 1);
+        assertTrue(liveVariants.get(0).getAvailableStock() == 5);
+
+        Basket basket = result.get(basketGetRequest);
+        assertNotNull(basket);
+        assertTrue(basket.getOrderLines().size() == 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownRequest() {
+        ShopApiClient shopApiClient = getNewApiClient(new ValidResponseMockClient());
+
+        BatchResult result = shopApiClient.batch()
+                .add(new ProductsRequest.Builder().filterByProductIds(Arrays.asList(1l)).build())
+                .add(new LiveVariantRequest.Builder().filterByVariantIds(Arrays.asList(2l)).build())
+                .add(new BasketGetRequest.Builder("foobar").build())
+                .execute();
+
+        result.get(new ProductsRequest.Builder().build());
+    }
+
+    private class ValidResponseMockClient extends MockClient {
+
+        @Override
+        protected String getResponse() {
+            return "[{\"products\":{\"ids\":{\"1\":{\"name\":\"Product 1\",\"id\":1}}}}," +
+                    "{\"live_variant\":{\"2\":{\"id\":2,\"product_id\":1,\"available_stock\":5,\"price\":1990}}}," +
+                    "{\"basket\":{\"order_lines\":[{\"id\":\"id1\",\"variant_id\":2}]}}]";
+        }
+
+    }
+}
@@ -0,0 +1,117 @@
+package de.aboutyou;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.aboutyou.enums.Endpoint;
+import de.aboutyou.models.Category;
+import de.aboutyou.models.CategoryTree;
+import de.aboutyou.util.MockClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CategoryTreeCacheTest extends TestBase {
+
+    private File cacheDirectory;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheDirectory = Files.createTempDirectory("category-tree-cache").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        for (File file : cacheDirectory.listFiles()) {
+            file.delete();
+        }
+        cacheDirectory.delete();
+    }
+
+    @Test
+    public void testTreeIsRestoredFromDisk() {
+        CountingMockClient mockClient = new CountingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setCategoryTreeCache(cacheDirectory, 1, TimeUnit.HOURS);
+        shopApiClient.requestCategoryTree();
+        assertEquals(1, mockClient.requestCount.get());
+
+        CountingMockClient coldStartMockClient = new CountingMockClient();
+        ShopApiClient coldStartApiClient = getNewApiClient(coldStartMockClient);
+        coldStartApiClient.setCategoryTreeCache(cacheDirectory, 1, TimeUnit.HOURS);
+        CategoryTree categoryTree = coldStartApiClient.requestCategoryTree();
+
+        assertEquals(0, coldStartMockClient.requestCount.get());
+        assertTrue(categoryTree.getAllCategories().size() == 2);
+        assertTrue(categoryTree.getActiveCategories().size() == 1);
+
+        Category damen = categoryTree.getAllCategories().get(0);
+        assertEquals("Damen", damen.getName());
+        assertEquals(1, damen.getAllSubCategories().size());
+
+        Category schuhe = damen.getAllSubCategories().get(0);
+        assertEquals("Schuhe", schuhe.getName());
+        assertEquals(3, schuhe.getId());
+        assertTrue(schuhe.getParent() == damen);
+    }
+
+    @Test
+    public void testTreeIsNotSharedBetweenApps() {
+        CountingMockClient mockClient = new CountingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setCategoryTreeCache(cacheDirectory, 1, TimeUnit.HOURS);
+        shopApiClient.requestCategoryTree();
+
+        ShopApiClient otherApiClient = new ShopApiClient("other", "secret", Endpoint.STAGE, null, mockClient);
+        otherApiClient.setCategoryTreeCache(cacheDirectory, 1, TimeUnit.HOURS);
+        otherApiClient.requestCategoryTree();
+
+        ShopApiClient liveApiClient = new ShopApiClient("other", "secret", Endpoint.LIVE, null, mockClient);
+        liveApiClient.setCategoryTreeCache(cacheDirectory, 1, TimeUnit.HOURS);
+        liveApiClient.requestCategoryTree();
+
+        assertEquals(3, mockClient.requestCount.get());
+    }
+
+    @Test
+    public void testExpiredTreeIsRevalidated() throws InterruptedException {
+        CountingMockClient mockClient = new CountingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setCategoryTreeCache(cacheDirectory, 0, TimeUnit.MILLISECONDS);
+        shopApiClient.requestCategoryTree();
+        Thread.sleep(5);
+
+        CategoryTree categoryTree = shopApiClient.requestCategoryTree();
+        assertTrue(categoryTree.getAllCategories().size() == 2);
+
+        for (int i = 0; i < 100 && mockClient.requestCount.get() < 2; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, mockClient.requestCount.get());
+    }
+
+    private class CountingMockClient extends MockClient {
+
+        private final AtomicInteger requestCount = new AtomicInteger();
+
+        @Override
+        protected void validateRequestBody(String requestBody) {
+            requestCount.incrementAndGet();
+        }
+
+        @Override
+        protected String getResponse() {
+            return "[{\"category_tree\":[" +
+                    "{\"name\":\"Damen\",\"parent\":null,\"sub_categories\":[{\"name\":\"Schuhe\",\"parent\":1,\"sub_categories\":[],\"active\":true,\"position\":1,\"id\":3}],\"active\":true,\"position\":1,\"id\":1}," +
+                    "{\"name\":\"Herren\",\"parent\":null,\"sub_categories\":[],\"active\":false,\"position\":2,\"id\":2}]}]";
+        }
+
+    }
+}
@@ -2,6 +2,11 @@ package de.aboutyou;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import de.aboutyou.models.Category;
 import de.aboutyou.models.CategoryTree;
 import de.aboutyou.util.MockClient;
 
@@ -50,4 +55,52 @@ public class CategoryTreeTest extends TestBase {
         }
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testIndex() {
+        ShopApiClient shopApiClient = getNewApiClient(new NestedResponseMockClient());
+
+        CategoryTree categoryTree = shopApiClient.requestCategoryTree();
+
+        assertEquals(4, categoryTree.size());
+        assertEquals("Schuhe", categoryTree.getCategory(3).getName());
+        assertNull(categoryTree.getCategory(42));
+        assertEquals(2, categoryTree.getDepth(4));
+        assertEquals(-1, categoryTree.getDepth(42));
+
+        List<Category> path = categoryTree.getPath(4);
+        assertEquals(3, path.size());
+        assertEquals("Damen", path.get(0).getName());
+        assertEquals("Sneaker", path.get(2).getName());
+        assertEquals(2, categoryTree.getAncestors(4).size());
+        assertTrue(categoryTree.getAncestors(1).isEmpty());
+        assertTrue(categoryTree.getCategory(4).getParent() == categoryTree.getCategory(3));
+
+        assertEquals(2, categoryTree.getDescendantCount(1));
+        assertEquals("Sneaker", categoryTree.getDescendants(1).get(1).getName());
+        assertTrue(categoryTree.getDescendants(2).isEmpty());
+        assertTrue(categoryTree.getDescendants(1) == categoryTree.getDescendants(1));
+
+        final List<Long> visited = new ArrayList<>();
+        categoryTree.visitSubtree(3, new CategoryTree.Visitor() {
+            @Override
+            public void visit(Category category, int depth) {
+                visited.add(category.getId());
+            }
+        });
+        assertEquals(Arrays.asList(3l, 4l), visited);
+    }
+
+    private class NestedResponseMockClient extends MockClient {
+
+        @Override
+        protected String getResponse() {
+            return "[{\"category_tree\":[" +
+                    "{\"name\":\"Damen\",\"sub_categories\":[" +
+                    "{\"name\":\"Schuhe\",\"parent\":1,\"sub_categories\":[{\"name\":\"Sneaker\",\"parent\":3,\"sub_categories\":[],\"active\":true,\"id\":4}],\"active\":true,\"id\":3}" +
+                    "],\"active\":true,\"position\":1,\"id\":1}," +
+                    "{\"name\":\"Herren\",\"sub_categories\":[],\"active\":false,\"position\":2,\"id\":2}]}]";
+        }
+
+    }
+}
@@ -0,0 +1,98 @@
+package de.aboutyou;
+
+import com.squareup.okhttp.ConnectionPool;
+import com.squareup.okhttp.OkHttpClient;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import de.aboutyou.enums.Operation;
+import de.aboutyou.internal.communication.OperationTimeoutClient;
+import de.aboutyou.request.CategoryTreeRequest;
+import de.aboutyou.request.ProductSearchRequest;
+import de.aboutyou.request.SuggestRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ClientConfigurationTest extends TestBase {
+
+    @Test
+    public void testDefaults() {
+        ClientConfiguration configuration = new ClientConfiguration.Builder().build();
+        OkHttpClient okHttpClient = configuration.createOkHttpClient();
+
+        assertEquals(5000, okHttpClient.getConnectTimeout());
+        assertEquals(10000, okHttpClient.getReadTimeout());
+        assertEquals(10000, configuration.getReadTimeoutMillis(Operation.PRODUCT_SEARCH));
+        assertEquals(5, configuration.getMaxIdleConnections());
+    }
+
+    @Test
+    public void testSharedClient() {
+        OkHttpClient appClient = new OkHttpClient();
+        ConnectionPool connectionPool = new ConnectionPool(2, 1000);
+        appClient.setConnectionPool(connectionPool);
+
+        OkHttpClient okHttpClient = new ClientConfiguration.Builder()
+                .okHttpClient(appClient)
+                .readTimeout(20, TimeUnit.SECONDS)
+                .build()
+                .createOkHttpClient();
+
+        assertNotSame(appClient, okHttpClient);
+        assertSame(connectionPool, okHttpClient.getConnectionPool());
+        assertEquals(20000, okHttpClient.getReadTimeout());
+        assertEquals(0, appClient.getReadTimeout());
+
+        OkHttpClient pooledClient = new ClientConfiguration.Builder()
+                .okHttpClient(appClient)
+                .connectionPool(10, 1, TimeUnit.MINUTES)
+                .build()
+                .createOkHttpClient();
+
+        assertNotSame(connectionPool, pooledClient.getConnectionPool());
+    }
+
+    @Test
+    public void testSharedClientWithDefaultPool() {
+        OkHttpClient appClient = new OkHttpClient();
+
+        OkHttpClient okHttpClient = new ClientConfiguration.Builder()
+                .okHttpClient(appClient)
+                .build()
+                .createOkHttpClient();
+
+        assertSame(ConnectionPool.getDefault(), okHttpClient.getConnectionPool());
+        assertNull(appClient.getConnectionPool());
+
+        OkHttpClient ownClient = new ClientConfiguration.Builder().build().createOkHttpClient();
+        assertNotSame(ConnectionPool.getDefault(), ownClient.getConnectionPool());
+    }
+
+    @Test
+    public void testReadTimeoutPerOperation() {
+        ClientConfiguration configuration = new ClientConfiguration.Builder()
+                .readTimeout(Operation.PRODUCT_SEARCH, 30, TimeUnit.SECONDS)
+                .readTimeout(Operation.SUGGEST, 2, TimeUnit.SECONDS)
+                .build();
+        OkHttpClient okHttpClient = configuration.createOkHttpClient();
+        OperationTimeoutClient client = new OperationTimeoutClient(okHttpClient, configuration.getReadTimeoutsMillis());
+
+        ProductSearchRequest productSearchRequest = new ProductSearchRequest.Builder("foobar").build();
+        SuggestRequest suggestRequest = new SuggestRequest.Builder("foobar").build();
+        CategoryTreeRequest categoryTreeRequest = new CategoryTreeRequest();
+
+        assertEquals(30000, client.select(Arrays.asList(productSearchRequest)).getReadTimeout());
+        assertEquals(2000, client.select(Arrays.asList(suggestRequest)).getReadTimeout());
+        assertSame(okHttpClient, client.select(Arrays.asList(categoryTreeRequest)));
+        assertEquals(10000, client.select(Arrays.asList(suggestRequest, categoryTreeRequest)).getReadTimeout());
+        assertEquals(30000, client.select(Arrays.asList(suggestRequest, productSearchRequest)).getReadTimeout());
+        assertSame(okHttpClient.getConnectionPool(), client.select(Arrays.asList(productSearchRequest)).getConnectionPool());
+    }
+
+}
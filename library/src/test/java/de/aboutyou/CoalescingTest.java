@@ -0,0 +1,138 @@
+package de.aboutyou;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.aboutyou.exceptions.CollinsException;
+import de.aboutyou.internal.communication.RequestCoalescer;
+import de.aboutyou.models.Suggest;
+import de.aboutyou.request.CollinsRequest;
+import de.aboutyou.request.SuggestRequest;
+import de.aboutyou.util.MockClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CoalescingTest extends TestBase {
+
+    private static final int CALLERS = 5;
+
+    @Test
+    public void testConcurrentRequestsAreCoalesced() throws Exception {
+        CountingMockClient mockClient = new CountingMockClient();
+        final ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setCoalescingWindow(500, TimeUnit.MILLISECONDS);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(CALLERS);
+        List<Future<Suggest>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            final String searchword = "Schuh" + i;
+            futures.add(executorService.submit(new Callable<Suggest>() {
+                @Override
+                public Suggest call() throws Exception {
+                    SuggestRequest suggestRequest = new SuggestRequest.Builder(searchword).build();
+                    return shopApiClient.requestSuggest(suggestRequest);
+                }
+            }));
+        }
+
+        for (Future<Suggest> future : futures) {
+            Suggest suggest = future.get();
+            assertNotNull(suggest);
+            assertTrue(suggest.size() == 2);
+            assertEquals("bar", suggest.get(1));
+        }
+        executorService.shutdown();
+
+        assertEquals(1, mockClient.requestCount.get());
+        assertEquals(CALLERS, mockClient.lastSlotCount);
+    }
+
+    @Test
+    public void testDisabledCoalescing() {
+        CountingMockClient mockClient = new CountingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setCoalescingWindow(500, TimeUnit.MILLISECONDS);
+        shopApiClient.setCoalescingWindow(0, TimeUnit.MILLISECONDS);
+
+        SuggestRequest suggestRequest = new SuggestRequest.Builder("Schuh").build();
+        shopApiClient.requestSuggest(suggestRequest);
+        shopApiClient.requestSuggest(suggestRequest);
+
+        assertEquals(2, mockClient.requestCount.get());
+    }
+
+    @Test
+    public void testErrorInBatchReleasesWaitingCallers() throws Exception {
+        final RequestCoalescer coalescer = new RequestCoalescer(new RequestCoalescer.BatchHandler() {
+            @Override
+            public List<Object> execute(List<CollinsRequest> requests) {
+                throw new AssertionError("batch failed");
+            }
+        }, 200, TimeUnit.MILLISECONDS);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            futures.add(executorService.submit(new Callable<Object>() {
+                @Override
+                public Object call() {
+                    return coalescer.execute(new SuggestRequest.Builder("Schuh").build());
+                }
+            }));
+        }
+
+        int collinsExceptions = 0;
+        for (Future<Object> future : futures) {
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                fail("Expected the batch to fail");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof CollinsException) {
+                    collinsExceptions++;
+                } else {
+                    assertTrue(e.getCause() instanceof AssertionError);
+                }
+            }
+        }
+        executorService.shutdown();
+
+        assertEquals(1, collinsExceptions);
+    }
+
+    private class CountingMockClient extends MockClient {
+
+        private final AtomicInteger requestCount = new AtomicInteger();
+        private volatile int lastSlotCount;
+
+        @Override
+        protected void validateRequestBody(String requestBody) {
+            requestCount.incrementAndGet();
+            lastSlotCount = requestBody.split("\"suggest\"").length - 1;
+        }
+
+        @Override
+        protected String getResponse() {
+            StringBuilder response = new StringBuilder("[");
+            for (int i = 0; i < lastSlotCount; i++) {
+                if (i > 0) {
+                    response.append(',');
+                }
+                response.append("{\"suggest\":[\"foo\",\"bar\"]}");
+            }
+            return response.append("]").toString();
+        }
+
+    }
+}
@@ -0,0 +1,158 @@
+package de.aboutyou;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import de.aboutyou.enums.Endpoint;
+import de.aboutyou.models.CompressionStats;
+import de.aboutyou.models.RequestMetrics;
+import de.aboutyou.models.Suggest;
+import de.aboutyou.request.SuggestRequest;
+import retrofit.client.Client;
+import retrofit.client.Header;
+import retrofit.client.Request;
+import retrofit.client.Response;
+import retrofit.mime.TypedByteArray;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CompressionTest extends TestBase {
+
+    private static final String RESPONSE = "[{\"suggest\":[\"foo\",\"bar\",\"foo\",\"bar\",\"foo\",\"bar\",\"foo\",\"bar\",\"foo\",\"bar\"]}]";
+
+    @Test
+    public void testGzipResponse() {
+        GzipMockClient mockClient = new GzipMockClient(true);
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+
+        Suggest suggest = shopApiClient.requestSuggest(new SuggestRequest.Builder("foobar").build());
+
+        assertEquals(10, suggest.size());
+        assertEquals("bar", suggest.get(1));
+        assertEquals("gzip", mockClient.getHeader("Accept-Encoding"));
+
+        CompressionStats stats = shopApiClient.getCompressionStats();
+        assertEquals(RESPONSE.length(), stats.getResponseBytes());
+        assertEquals(mockClient.responseBytes, stats.getTransferredResponseBytes());
+        assertTrue(stats.getTransferredResponseBytes() < stats.getResponseBytes());
+    }
+
+    @Test
+    public void testMetricsReportTransferredBytes() {
+        GzipMockClient mockClient = new GzipMockClient(true);
+        ClientConfiguration configuration = new ClientConfiguration.Builder()
+                .gzipRequests(0)
+                .build();
+        ShopApiClient shopApiClient = new ShopApiClient("", "", Endpoint.STAGE, null, configuration, mockClient);
+        final List<RequestMetrics> metrics = new ArrayList<>();
+        shopApiClient.setMetricsListener(new ShopApiClient.MetricsListener() {
+            @Override
+            public void onRequestFinished(RequestMetrics requestMetrics) {
+                metrics.add(requestMetrics);
+            }
+        });
+
+        shopApiClient.requestSuggest(new SuggestRequest.Builder("foobar").build());
+
+        assertEquals(1, metrics.size());
+        assertEquals(mockClient.requestBody.length, metrics.get(0).getRequestBytes());
+        assertEquals(mockClient.responseBytes, metrics.get(0).getResponseBytes());
+    }
+
+    @Test
+    public void testUncompressedResponse() {
+        GzipMockClient mockClient = new GzipMockClient(false);
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+
+        Suggest suggest = shopApiClient.requestSuggest(new SuggestRequest.Builder("foobar").build());
+
+        assertEquals(10, suggest.size());
+        CompressionStats stats = shopApiClient.getCompressionStats();
+        assertEquals(RESPONSE.length(), stats.getResponseBytes());
+        assertEquals(RESPONSE.length(), stats.getTransferredResponseBytes());
+    }
+
+    @Test
+    public void testGzipRequest() throws IOException {
+        GzipMockClient mockClient = new GzipMockClient(false);
+        ClientConfiguration configuration = new ClientConfiguration.Builder()
+                .gzipRequests(0)
+                .build();
+        ShopApiClient shopApiClient = new ShopApiClient("", "", Endpoint.STAGE, null, configuration, mockClient);
+
+        shopApiClient.requestSuggest(new SuggestRequest.Builder("foobar").build());
+
+        String expectedBody = "[{\"suggest\":{\"searchword\":\"foobar\"}}]";
+        assertEquals("gzip", mockClient.getHeader("Content-Encoding"));
+        assertEquals(expectedBody, new String(gunzip(mockClient.requestBody), "UTF-8"));
+
+        CompressionStats stats = shopApiClient.getCompressionStats();
+        assertEquals(expectedBody.length(), stats.getRequestBytes());
+        assertEquals(mockClient.requestBody.length, stats.getTransferredRequestBytes());
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = in.read(buffer)) > 0) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static class GzipMockClient implements Client {
+
+        private final boolean gzip;
+        private List<Header> requestHeaders;
+        private byte[] requestBody;
+        private long responseBytes;
+
+        private GzipMockClient(boolean gzip) {
+            this.gzip = gzip;
+        }
+
+        @Override
+        public Response execute(Request request) throws IOException {
+            requestHeaders = request.getHeaders();
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            request.getBody().writeTo(body);
+            requestBody = body.toByteArray();
+
+            byte[] response = RESPONSE.getBytes("UTF-8");
+            List<Header> headers = new ArrayList<>();
+            if (gzip) {
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+                GZIPOutputStream out = new GZIPOutputStream(compressed);
+                out.write(response);
+                out.close();
+                response = compressed.toByteArray();
+                headers.add(new Header("Content-Encoding", "gzip"));
+            }
+            responseBytes = response.length;
+            return new Response(request.getUrl(), 200, "no reason", Collections.unmodifiableList(headers),
+                    new TypedByteArray("application/json", response));
+        }
+
+        private String getHeader(String name) {
+            for (Header header : requestHeaders) {
+                if (header.getName().equals(name)) {
+                    return header.getValue();
+                }
+            }
+            return null;
+        }
+    }
+
+}
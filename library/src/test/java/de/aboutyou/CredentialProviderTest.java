@@ -0,0 +1,72 @@
+package de.aboutyou;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import de.aboutyou.request.SuggestRequest;
+import retrofit.client.Client;
+import retrofit.client.Header;
+import retrofit.client.Request;
+import retrofit.client.Response;
+import retrofit.mime.TypedByteArray;
+
+import static org.junit.Assert.assertEquals;
+
+public class CredentialProviderTest extends TestBase {
+
+    @Test
+    public void testCredentialProvider() {
+        AuthorizationRecordingClient client = new AuthorizationRecordingClient();
+        ShopApiClient shopApiClient = getNewApiClient(client);
+        SuggestRequest suggestRequest = new SuggestRequest.Builder("foobar").build();
+
+        shopApiClient.requestSuggest(suggestRequest);
+
+        final String[] credentials = {"100", "secret"};
+        shopApiClient.setCredentialProvider(new ShopApiClient.CredentialProvider() {
+            @Override
+            public String getAppId() {
+                return credentials[0];
+            }
+
+            @Override
+            public String getAppSecret() {
+                return credentials[1];
+            }
+        });
+        shopApiClient.requestSuggest(suggestRequest);
+
+        credentials[1] = "rotated";
+        shopApiClient.requestSuggest(suggestRequest);
+
+        shopApiClient.setCredentialProvider(null);
+        shopApiClient.requestSuggest(suggestRequest);
+
+        assertEquals(4, client.authorizations.size());
+        assertEquals("Basic Og==", client.authorizations.get(0));
+        assertEquals("Basic MTAwOnNlY3JldA==", client.authorizations.get(1));
+        assertEquals("Basic MTAwOnJvdGF0ZWQ=", client.authorizations.get(2));
+        assertEquals("Basic Og==", client.authorizations.get(3));
+    }
+
+    private static class AuthorizationRecordingClient implements Client {
+
+        private final List<String> authorizations = new ArrayList<>();
+
+        @Override
+        public Response execute(Request request) throws IOException {
+            for (Header header : request.getHeaders()) {
+                if (header.getName().equals("Authorization")) {
+                    authorizations.add(header.getValue());
+                }
+            }
+            return new Response(request.getUrl(), 200, "no reason", Collections.<Header>emptyList(),
+                    new TypedByteArray("application/json", "[{\"suggest\":[]}]".getBytes()));
+        }
+    }
+
+}
@@ -0,0 +1,198 @@
+package de.aboutyou;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import de.aboutyou.enums.Endpoint;
+import de.aboutyou.enums.FacetType;
+import de.aboutyou.exceptions.CollinsException;
+import de.aboutyou.models.Attributes;
+import de.aboutyou.models.Facet;
+import de.aboutyou.util.MockClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FacetCatalogTest extends TestBase {
+
+    private File cacheDirectory;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheDirectory = Files.createTempDirectory("facet-catalog").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        for (File file : cacheDirectory.listFiles()) {
+            file.delete();
+        }
+        cacheDirectory.delete();
+    }
+
+    @Test
+    public void testAllPagesAreLoaded() {
+        PagingMockClient mockClient = new PagingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        FacetCatalog facetCatalog = shopApiClient.getFacetCatalog();
+        facetCatalog.preload(Arrays.asList(FacetType.COLOR, FacetType.BRAND));
+
+        assertEquals(4, mockClient.requestCount.get());
+        assertEquals(1200, facetCatalog.getFacets(FacetType.COLOR).size());
+        assertEquals(2, facetCatalog.getFacets(FacetType.BRAND).size());
+        assertTrue(facetCatalog.isLoaded(FacetType.COLOR));
+        assertFalse(facetCatalog.isLoaded(FacetType.SIZE));
+
+        Facet facet = facetCatalog.getFacet(FacetType.COLOR.getId(), 1199);
+        assertEquals("Facet 1199", facet.getName());
+        assertEquals(FacetType.COLOR.getId(), facet.getGroupId());
+        assertNull(facetCatalog.getFacet(FacetType.COLOR, 1200));
+        assertNull(facetCatalog.getFacet(FacetType.SIZE, 1));
+    }
+
+    @Test
+    public void testAttributesAreResolved() {
+        ShopApiClient shopApiClient = getNewApiClient(new PagingMockClient());
+        FacetCatalog facetCatalog = shopApiClient.getFacetCatalog();
+        facetCatalog.preload(Arrays.asList(FacetType.COLOR));
+
+        Attributes attributes = new Attributes();
+        attributes.put(FacetType.COLOR.getId(), new long[]{7, 99999, 5});
+        List<Facet> facets = facetCatalog.getFacets(attributes, FacetType.COLOR);
+
+        assertEquals(2, facets.size());
+        assertEquals(7, facets.get(0).getFacetId());
+        assertEquals(5, facets.get(1).getFacetId());
+        assertTrue(facetCatalog.getFacets(attributes, FacetType.SIZE).isEmpty());
+    }
+
+    @Test
+    public void testCatalogIsRestoredFromDisk() {
+        ShopApiClient shopApiClient = getNewApiClient(new PagingMockClient());
+        shopApiClient.setFacetCatalogCache(cacheDirectory);
+        shopApiClient.getFacetCatalog().preload(Arrays.asList(FacetType.BRAND));
+
+        PagingMockClient coldStartMockClient = new PagingMockClient();
+        ShopApiClient coldStartApiClient = getNewApiClient(coldStartMockClient);
+        coldStartApiClient.setFacetCatalogCache(cacheDirectory);
+        FacetCatalog facetCatalog = coldStartApiClient.getFacetCatalog();
+
+        assertEquals(0, coldStartMockClient.requestCount.get());
+        assertTrue(facetCatalog.isLoaded(FacetType.BRAND));
+        assertTrue(facetCatalog.getLoadTime(FacetType.BRAND) > 0);
+        Facet facet = facetCatalog.getFacet(FacetType.BRAND, 1);
+        assertEquals("Facet 1", facet.getName());
+        assertEquals("facet-1", facet.getValue());
+        assertEquals(FacetType.BRAND.getId(), facet.getGroupId());
+    }
+
+    @Test
+    public void testDamagedCatalogFileIsDropped() throws IOException {
+        ShopApiClient shopApiClient = getNewApiClient(new PagingMockClient());
+        shopApiClient.setFacetCatalogCache(cacheDirectory);
+        shopApiClient.getFacetCatalog().preload(Arrays.asList(FacetType.BRAND));
+
+        File[] files = cacheDirectory.listFiles();
+        assertEquals(1, files.length);
+        RandomAccessFile catalogFile = new RandomAccessFile(files[0], "rw");
+        try {
+            // overwrite the number of groups behind magic and version
+            catalogFile.seek(8);
+            catalogFile.writeInt(-1);
+        } finally {
+            catalogFile.close();
+        }
+
+        ShopApiClient coldStartApiClient = getNewApiClient(new PagingMockClient());
+        coldStartApiClient.setFacetCatalogCache(cacheDirectory);
+        FacetCatalog facetCatalog = coldStartApiClient.getFacetCatalog();
+
+        assertFalse(facetCatalog.isLoaded(FacetType.BRAND));
+        assertNull(facetCatalog.getFacet(FacetType.BRAND, 1));
+        assertFalse(files[0].exists());
+    }
+
+    @Test
+    public void testCatalogIsNotSharedBetweenApps() {
+        ShopApiClient shopApiClient = getNewApiClient(new PagingMockClient());
+        shopApiClient.setFacetCatalogCache(cacheDirectory);
+        shopApiClient.getFacetCatalog().preload(Arrays.asList(FacetType.BRAND));
+
+        ShopApiClient otherApiClient = new ShopApiClient("other", "secret", Endpoint.STAGE, null, new PagingMockClient());
+        otherApiClient.setFacetCatalogCache(cacheDirectory);
+
+        assertFalse(otherApiClient.getFacetCatalog().isLoaded(FacetType.BRAND));
+        assertTrue(shopApiClient.getFacetCatalog().isLoaded(FacetType.BRAND));
+    }
+
+    @Test
+    public void testFailedPreloadKeepsCatalog() {
+        PagingMockClient mockClient = new PagingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        FacetCatalog facetCatalog = shopApiClient.getFacetCatalog();
+        facetCatalog.preload(Arrays.asList(FacetType.BRAND));
+
+        mockClient.failingOffset = 1000;
+        try {
+            facetCatalog.preload(Arrays.asList(FacetType.COLOR, FacetType.BRAND));
+            fail("Expected a CollinsException");
+        } catch (CollinsException e) {
+            // expected
+        }
+
+        assertFalse(facetCatalog.isLoaded(FacetType.COLOR));
+        assertEquals(2, facetCatalog.getFacets(FacetType.BRAND).size());
+    }
+
+    private class PagingMockClient extends MockClient {
+
+        private final Pattern requestPattern = Pattern.compile("\"group_ids\":\\[(\\d+)\\],\"limit\":(\\d+),\"offset\":(\\d+)");
+        private final AtomicInteger requestCount = new AtomicInteger();
+        private final ThreadLocal<Matcher> request = new ThreadLocal<>();
+        private volatile int failingOffset = -1;
+
+        @Override
+        protected void validateRequestBody(String requestBody) {
+            requestCount.incrementAndGet();
+            Matcher matcher = requestPattern.matcher(requestBody);
+            assertTrue(requestBody, matcher.find());
+            request.set(matcher);
+        }
+
+        @Override
+        protected String getResponse() {
+            int groupId = Integer.parseInt(request.get().group(1));
+            int limit = Integer.parseInt(request.get().group(2));
+            int offset = Integer.parseInt(request.get().group(3));
+            if (offset == failingOffset) {
+                return "not json";
+            }
+
+            int hits = groupId == FacetType.COLOR.getId() ? 1200 : 2;
+            StringBuilder response = new StringBuilder("[{\"facets\":{\"facet\":[");
+            for (int i = offset; i < Math.min(hits, offset + limit); i++) {
+                if (i > offset) {
+                    response.append(',');
+                }
+                response.append(String.format("{\"name\":\"Facet %d\",\"facet_id\":%d,\"id\":%d,\"value\":\"facet-%d\",\"group_name\":\"group\"}",
+                        i, i, groupId, i));
+            }
+            return response.append("],\"hits\":").append(hits).append("}}]").toString();
+        }
+
+    }
+}
@@ -5,10 +5,13 @@ import org.junit.Test;
 import java.util.List;
 
 import de.aboutyou.enums.FacetType;
+import de.aboutyou.models.FacetGroup;
 import de.aboutyou.util.MockClient;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class FacetTypesTest extends TestBase {
@@ -53,4 +56,31 @@ public class FacetTypesTest extends TestBase {
         }
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testUnknownFacetGroups() {
+        ShopApiClient shopApiClient = getNewApiClient(new UnknownFacetGroupsMockClient());
+
+        List<FacetGroup> facetGroups = shopApiClient.requestFacetGroups();
+
+        assertEquals(3, facetGroups.size());
+        assertTrue(facetGroups.get(0) == FacetGroup.valueOf(FacetType.SIZE));
+        assertFalse(facetGroups.get(1).isKnown());
+        assertEquals(999, facetGroups.get(1).getId());
+        assertTrue(facetGroups.get(1) == FacetGroup.valueOf(999));
+        assertEquals(FacetType.CARE_SYMBOL, facetGroups.get(2).getFacetType());
+
+        assertEquals(FacetType.SIZE_CODE, FacetType.fromInteger(206));
+        assertNull(FacetType.fromInteger(999));
+        assertNull(FacetType.fromInteger(-1));
+    }
+
+    private class UnknownFacetGroupsMockClient extends MockClient {
+
+        @Override
+        protected String getResponse() {
+            return "[{\"facet_types\":[2,999,247]}]";
+        }
+
+    }
+}
@@ -0,0 +1,209 @@
+package de.aboutyou;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.aboutyou.exceptions.CollinsException;
+import de.aboutyou.internal.cache.LiveVariantCache;
+import de.aboutyou.models.LiveVariant;
+import de.aboutyou.request.LiveVariantRequest;
+import de.aboutyou.util.MockClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LiveVariantCacheTest extends TestBase {
+
+    @Test
+    public void testOnlyMissingIdsAreRequested() {
+        CountingMockClient mockClient = new CountingMockClient(0);
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setLiveVariantCacheTtl(5, TimeUnit.SECONDS);
+
+        List<LiveVariant> first = shopApiClient.requestLiveVariants(request(1l, 2l));
+        List<LiveVariant> second = shopApiClient.requestLiveVariants(request(2l, 3l, 1l));
+
+        assertEquals(2, mockClient.requestCount.get());
+        assertEquals("[{\"live_variant\":{\"ids\":[3]}}]", mockClient.lastRequestBody);
+        assertTrue(first.size() == 2);
+        assertTrue(second.size() == 3);
+        assertEquals(2, second.get(0).getId());
+        assertEquals(3, second.get(1).getId());
+        assertEquals(1, second.get(2).getId());
+        assertEquals(2, shopApiClient.getLiveVariantCacheStats().getHitCount());
+    }
+
+    @Test
+    public void testCacheIsDisabledByDefault() {
+        CountingMockClient mockClient = new CountingMockClient(0);
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+
+        shopApiClient.requestLiveVariants(request(1l, 2l));
+        shopApiClient.requestLiveVariants(request(1l, 2l));
+
+        assertEquals(2, mockClient.requestCount.get());
+        assertEquals(0, shopApiClient.getLiveVariantCacheStats().getSize());
+    }
+
+    @Test
+    public void testExpiredIdsAreRequestedAgain() throws InterruptedException {
+        CountingMockClient mockClient = new CountingMockClient(0);
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setLiveVariantCacheTtl(50, TimeUnit.MILLISECONDS);
+
+        shopApiClient.requestLiveVariants(request(1l));
+        Thread.sleep(100);
+        shopApiClient.requestLiveVariants(request(1l));
+        assertEquals(2, mockClient.requestCount.get());
+
+        shopApiClient.setLiveVariantCacheTtl(0, TimeUnit.MILLISECONDS);
+        shopApiClient.requestLiveVariants(request(1l));
+        assertEquals(3, mockClient.requestCount.get());
+    }
+
+    @Test
+    public void testErrorsAreNotCached() {
+        CountingMockClient mockClient = new CountingMockClient(0);
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setLiveVariantCacheTtl(5, TimeUnit.SECONDS);
+
+        List<LiveVariant> liveVariants = shopApiClient.requestLiveVariants(request(4l));
+        assertTrue(liveVariants.size() == 1);
+        assertEquals(404, (int) liveVariants.get(0).getErrorCode());
+
+        shopApiClient.requestLiveVariants(request(4l));
+        assertEquals(2, mockClient.requestCount.get());
+    }
+
+    @Test
+    public void testConcurrentRequestsAreCollapsed() throws Exception {
+        CountingMockClient mockClient = new CountingMockClient(300);
+        final ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setLiveVariantCacheTtl(5, TimeUnit.SECONDS);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        Future<List<LiveVariant>> first = executorService.submit(new Callable<List<LiveVariant>>() {
+            @Override
+            public List<LiveVariant> call() {
+                return shopApiClient.requestLiveVariants(request(1l, 2l));
+            }
+        });
+        Thread.sleep(100);
+        Future<List<LiveVariant>> second = executorService.submit(new Callable<List<LiveVariant>>() {
+            @Override
+            public List<LiveVariant> call() {
+                return shopApiClient.requestLiveVariants(request(2l, 1l));
+            }
+        });
+
+        List<LiveVariant> firstVariants = first.get();
+        List<LiveVariant> secondVariants = second.get();
+        executorService.shutdown();
+
+        assertEquals(1, mockClient.requestCount.get());
+        assertTrue(firstVariants.size() == 2);
+        assertEquals(1, firstVariants.get(0).getId());
+        assertTrue(secondVariants.size() == 2);
+        assertEquals(2, secondVariants.get(0).getId());
+    }
+
+    @Test
+    public void testErrorInFetchReleasesWaitingCallers() throws Exception {
+        final AtomicInteger fetchCount = new AtomicInteger();
+        final LiveVariantCache cache = new LiveVariantCache(new LiveVariantCache.Fetcher() {
+            @Override
+            public List<LiveVariant> fetch(List<Long> variantIds) {
+                if (fetchCount.incrementAndGet() == 1) {
+                    try {
+                        Thread.sleep(300);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new AssertionError("fetch failed");
+                }
+                LiveVariant liveVariant = new LiveVariant();
+                liveVariant.setId(variantIds.get(0));
+                return Collections.singletonList(liveVariant);
+            }
+        }, 10, 1, TimeUnit.MINUTES);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        Future<List<LiveVariant>> leading = executorService.submit(new Callable<List<LiveVariant>>() {
+            @Override
+            public List<LiveVariant> call() {
+                return cache.get(Arrays.asList(1l));
+            }
+        });
+        Thread.sleep(100);
+        Future<List<LiveVariant>> waiting = executorService.submit(new Callable<List<LiveVariant>>() {
+            @Override
+            public List<LiveVariant> call() {
+                return cache.get(Arrays.asList(1l));
+            }
+        });
+
+        try {
+            leading.get(5, TimeUnit.SECONDS);
+            fail("Expected the fetch to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof AssertionError);
+        }
+        try {
+            waiting.get(5, TimeUnit.SECONDS);
+            fail("Expected the fetch to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof CollinsException);
+        }
+        executorService.shutdown();
+
+        assertEquals(1, cache.get(Arrays.asList(1l)).size());
+        assertEquals(2, fetchCount.get());
+    }
+
+    private static LiveVariantRequest request(Long... variantIds) {
+        return new LiveVariantRequest.Builder().filterByVariantIds(Arrays.asList(variantIds)).build();
+    }
+
+    private class CountingMockClient extends MockClient {
+
+        private final long delayMillis;
+        private final AtomicInteger requestCount = new AtomicInteger();
+        private volatile String lastRequestBody;
+
+        private CountingMockClient(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        protected void validateRequestBody(String requestBody) {
+            requestCount.incrementAndGet();
+            lastRequestBody = requestBody;
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        protected String getResponse() {
+            return "[{\"live_variant\":{" +
+                    "\"1\":{\"id\":\"1\",\"product_id\":\"4711\",\"available_stock\":\"5\",\"price\":\"1990\"}," +
+                    "\"2\":{\"id\":\"2\",\"product_id\":\"4711\",\"available_stock\":\"0\",\"price\":\"1990\"}," +
+                    "\"3\":{\"id\":\"3\",\"product_id\":\"4712\",\"available_stock\":\"1\",\"price\":\"2990\"}," +
+                    "\"4\":{\"error_message\":[\"Variant not found\"],\"error_code\":404,\"id\":4}}}]";
+        }
+
+    }
+}
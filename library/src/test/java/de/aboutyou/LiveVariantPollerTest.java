@@ -0,0 +1,146 @@
+package de.aboutyou;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import de.aboutyou.exceptions.CollinsException;
+import de.aboutyou.models.LiveVariantChange;
+import de.aboutyou.util.MockClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LiveVariantPollerTest extends TestBase {
+
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    @Test
+    public void testOnlyChangesAreReported() throws InterruptedException {
+        StockMockClient mockClient = new StockMockClient();
+        mockClient.stock.put(1l, 5);
+        mockClient.stock.put(2l, 3);
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setAsyncExecutor(DIRECT_EXECUTOR);
+        shopApiClient.setLiveVariantPollInterval(1, 1, TimeUnit.HOURS);
+
+        RecordingListener listener = new RecordingListener();
+        LiveVariantPoller.Subscription subscription = shopApiClient.subscribeLiveVariants(Arrays.asList(1l, 2l), listener);
+
+        List<LiveVariantChange> changes = listener.next();
+        assertEquals(2, changes.size());
+        assertNull(changes.get(0).getPrevious());
+        assertEquals(5, changes.get(0).getCurrent().getAvailableStock());
+
+        mockClient.stock.put(2l, 2);
+        shopApiClient.refreshLiveVariants();
+
+        changes = listener.next();
+        assertEquals(1, changes.size());
+        assertEquals(2, changes.get(0).getVariantId());
+        assertEquals(3, changes.get(0).getPrevious().getAvailableStock());
+        assertEquals(2, changes.get(0).getCurrent().getAvailableStock());
+        assertTrue(changes.get(0).isStockChanged());
+        assertFalse(changes.get(0).isPriceChanged());
+
+        subscription.cancel();
+        assertTrue(subscription.isCancelled());
+    }
+
+    @Test
+    public void testSubscriptionsSharePolls() throws InterruptedException {
+        StockMockClient mockClient = new StockMockClient();
+        mockClient.stock.put(1l, 5);
+        mockClient.stock.put(2l, 3);
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setAsyncExecutor(DIRECT_EXECUTOR);
+        shopApiClient.setLiveVariantPollInterval(1, 1, TimeUnit.HOURS);
+
+        RecordingListener first = new RecordingListener();
+        shopApiClient.subscribeLiveVariants(Arrays.asList(1l), first);
+        assertNotNull(first.next());
+
+        RecordingListener second = new RecordingListener();
+        shopApiClient.subscribeLiveVariants(Arrays.asList(1l, 2l), second);
+        assertEquals(2, second.next().size());
+
+        mockClient.stock.put(1l, 4);
+        shopApiClient.refreshLiveVariants();
+
+        assertEquals(1, first.next().size());
+        assertEquals(1, second.next().size());
+        assertEquals(Arrays.asList(Arrays.asList(1l), Arrays.asList(1l, 2l), Arrays.asList(1l, 2l)), mockClient.requestedIds);
+    }
+
+    private static class RecordingListener implements ShopApiClient.LiveVariantListener {
+
+        private final LinkedBlockingQueue<List<LiveVariantChange>> changes = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onLiveVariantsChanged(List<LiveVariantChange> changes) {
+            this.changes.add(changes);
+        }
+
+        @Override
+        public void onFailure(CollinsException exception) {
+            throw exception;
+        }
+
+        private List<LiveVariantChange> next() throws InterruptedException {
+            return changes.poll(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private class StockMockClient extends MockClient {
+
+        private final Pattern IDS_PATTERN = Pattern.compile("\"ids\":\\[([0-9,]*)\\]");
+
+        private final Map<Long, Integer> stock = new ConcurrentHashMap<>();
+        private final List<List<Long>> requestedIds = new ArrayList<>();
+        private final ThreadLocal<List<Long>> ids = new ThreadLocal<>();
+
+        @Override
+        protected synchronized void validateRequestBody(String requestBody) {
+            Matcher matcher = IDS_PATTERN.matcher(requestBody);
+            List<Long> requested = new ArrayList<>();
+            while (matcher.find()) {
+                for (String id : matcher.group(1).split(",")) {
+                    requested.add(Long.parseLong(id));
+                }
+            }
+            requestedIds.add(requested);
+            ids.set(requested);
+        }
+
+        @Override
+        protected String getResponse() {
+            StringBuilder response = new StringBuilder("[{\"live_variant\":{");
+            for (Long id : ids.get()) {
+                if (response.charAt(response.length() - 1) != '{') {
+                    response.append(',');
+                }
+                response.append('"').append(id).append("\":{\"id\":").append(id).append(",\"product_id\":4711,\"available_stock\":")
+                        .append(stock.get(id)).append(",\"price\":1990}");
+            }
+            return response.append("}}]").toString();
+        }
+
+    }
+}
@@ -0,0 +1,120 @@
+package de.aboutyou;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import de.aboutyou.enums.Operation;
+import de.aboutyou.enums.RequestOutcome;
+import de.aboutyou.exceptions.NetworkException;
+import de.aboutyou.models.RequestMetrics;
+import de.aboutyou.request.CategoryTreeRequest;
+import de.aboutyou.request.SuggestRequest;
+import de.aboutyou.util.MockClient;
+import retrofit.client.Request;
+import retrofit.client.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MetricsTest extends TestBase {
+
+    private static final String SUGGEST_RESPONSE = "[{\"suggest\":[\"foo\",\"bar\"]}]";
+
+    @Test
+    public void testSuccessfulRequestIsReported() {
+        ShopApiClient shopApiClient = getNewApiClient(new SuggestMockClient());
+        RecordingMetricsListener listener = new RecordingMetricsListener();
+        shopApiClient.setMetricsListener(listener);
+
+        shopApiClient.requestSuggest(new SuggestRequest.Builder("foo").build());
+
+        assertEquals(1, listener.metrics.size());
+        RequestMetrics metrics = listener.metrics.get(0);
+        assertEquals(Arrays.asList(Operation.SUGGEST), metrics.getOperations());
+        assertEquals(RequestOutcome.SUCCESS, metrics.getOutcome());
+        assertEquals(200, metrics.getHttpStatus());
+        assertEquals("[{\"suggest\":{\"searchword\":\"foo\"}}]".length(), metrics.getRequestBytes());
+        assertEquals(SUGGEST_RESPONSE.length(), metrics.getResponseBytes());
+        assertTrue(metrics.getTotalNanos() >= metrics.getSerializeNanos() + metrics.getTimeToHeadersNanos() + metrics.getDeserializeNanos());
+    }
+
+    @Test
+    public void testBatchIsReportedOnce() {
+        ShopApiClient shopApiClient = getNewApiClient(new MockClient() {
+            @Override
+            protected String getResponse() {
+                return "[{\"suggest\":[\"foo\"]},{\"category_tree\":[]}]";
+            }
+        });
+        RecordingMetricsListener listener = new RecordingMetricsListener();
+        shopApiClient.setMetricsListener(listener);
+
+        shopApiClient.batch()
+                .add(new SuggestRequest.Builder("foo").build())
+                .add(new CategoryTreeRequest())
+                .execute();
+
+        assertEquals(1, listener.metrics.size());
+        assertEquals(Arrays.asList(Operation.SUGGEST, Operation.CATEGORY_TREE), listener.metrics.get(0).getOperations());
+        assertEquals(RequestOutcome.SUCCESS, listener.metrics.get(0).getOutcome());
+    }
+
+    @Test
+    public void testNetworkErrorIsReported() {
+        ShopApiClient shopApiClient = getNewApiClient(new SuggestMockClient() {
+            @Override
+            public Response execute(Request request) throws IOException {
+                throw new IOException("Connection refused");
+            }
+        });
+        RecordingMetricsListener listener = new RecordingMetricsListener();
+        shopApiClient.setMetricsListener(listener);
+
+        try {
+            shopApiClient.requestSuggest(new SuggestRequest.Builder("foo").build());
+            fail();
+        } catch (NetworkException e) {
+            // expected
+        }
+
+        assertEquals(1, listener.metrics.size());
+        assertEquals(RequestOutcome.NETWORK_ERROR, listener.metrics.get(0).getOutcome());
+        assertEquals(0, listener.metrics.get(0).getHttpStatus());
+    }
+
+    @Test
+    public void testNothingIsReportedWithoutListener() {
+        ShopApiClient shopApiClient = getNewApiClient(new SuggestMockClient());
+        RecordingMetricsListener listener = new RecordingMetricsListener();
+        shopApiClient.setMetricsListener(listener);
+        shopApiClient.setMetricsListener(null);
+
+        shopApiClient.requestSuggest(new SuggestRequest.Builder("foo").build());
+
+        assertTrue(listener.metrics.isEmpty());
+    }
+
+    private static class RecordingMetricsListener implements ShopApiClient.MetricsListener {
+
+        private final List<RequestMetrics> metrics = new ArrayList<>();
+
+        @Override
+        public void onRequestFinished(RequestMetrics metrics) {
+            this.metrics.add(metrics);
+        }
+    }
+
+    private class SuggestMockClient extends MockClient {
+
+        @Override
+        protected String getResponse() {
+            return SUGGEST_RESPONSE;
+        }
+
+    }
+}
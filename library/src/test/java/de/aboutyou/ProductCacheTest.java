@@ -0,0 +1,162 @@
+package de.aboutyou;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import de.aboutyou.enums.ProductFields;
+import de.aboutyou.models.CacheStats;
+import de.aboutyou.models.Product;
+import de.aboutyou.request.ProductSearchRequest;
+import de.aboutyou.request.ProductsRequest;
+import de.aboutyou.util.MockClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ProductCacheTest extends TestBase {
+
+    private static final int CACHE_SIZE = 2000;
+
+    @Test
+    public void testCachedProductIsNotRequestedAgain() {
+        RecordingMockClient mockClient = new RecordingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setProductCacheSize(CACHE_SIZE);
+
+        ProductsRequest productsRequest = new ProductsRequest.Builder()
+                .filterByProductIds(Arrays.asList(1l))
+                .listFields(Arrays.asList(ProductFields.NAME))
+                .build();
+        Product first = shopApiClient.requestProducts(productsRequest).get(0);
+        Product second = shopApiClient.requestProducts(productsRequest).get(0);
+
+        assertEquals(1, mockClient.requestBodies.size());
+        assertTrue(first == second);
+
+        CacheStats stats = shopApiClient.getProductCacheStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+    }
+
+    @Test
+    public void testOnlyMissingIdsAndFieldsAreRequested() {
+        RecordingMockClient mockClient = new RecordingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setProductCacheSize(CACHE_SIZE);
+
+        shopApiClient.requestProducts(new ProductsRequest.Builder()
+                .filterByProductIds(Arrays.asList(1l))
+                .listFields(Arrays.asList(ProductFields.NAME))
+                .build());
+        mockClient.requestBodies.clear();
+
+        List<Product> products = shopApiClient.requestProducts(new ProductsRequest.Builder()
+                .filterByProductIds(Arrays.asList(1l, 2l))
+                .listFields(Arrays.asList(ProductFields.NAME, ProductFields.SALE))
+                .build());
+
+        assertTrue(products.size() == 2);
+        assertEquals(1, products.get(0).getId());
+        assertEquals(2, products.get(1).getId());
+        assertTrue(products.get(0).getSale());
+        assertEquals("Product 1", products.get(0).getName());
+
+        assertEquals(2, mockClient.requestBodies.size());
+        assertTrue(mockClient.requestBodies.contains("[{\"products\":{\"ids\":[1],\"fields\":[\"sale\"]}}]"));
+        assertTrue(mockClient.requestBodies.contains("[{\"products\":{\"ids\":[2],\"fields\":[\"name\",\"sale\"]}}]"));
+    }
+
+    @Test
+    public void testReturnedProductIsNotModifiedByMerge() {
+        RecordingMockClient mockClient = new RecordingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setProductCacheSize(CACHE_SIZE);
+
+        mockClient.response = "[{\"products\":{\"ids\":{\"1\":{\"name\":\"Product 1\",\"id\":1}}}}]";
+        Product first = shopApiClient.requestProducts(new ProductsRequest.Builder()
+                .filterByProductIds(Arrays.asList(1l))
+                .listFields(Arrays.asList(ProductFields.NAME))
+                .build()).get(0);
+
+        mockClient.response = "[{\"products\":{\"ids\":{\"1\":{\"id\":1,\"description_short\":\"Short\"}}}}]";
+        Product second = shopApiClient.requestProducts(new ProductsRequest.Builder()
+                .filterByProductIds(Arrays.asList(1l))
+                .listFields(Arrays.asList(ProductFields.NAME, ProductFields.DESCRIPTION_SHORT))
+                .build()).get(0);
+
+        assertNull(first.getDescriptionShort());
+        assertEquals("Product 1", second.getName());
+        assertEquals("Short", second.getDescriptionShort());
+    }
+
+    @Test
+    public void testCacheIsDisabledByDefault() {
+        RecordingMockClient mockClient = new RecordingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+
+        ProductsRequest productsRequest = new ProductsRequest.Builder()
+                .filterByProductIds(Arrays.asList(1l))
+                .build();
+        shopApiClient.requestProducts(productsRequest);
+        shopApiClient.requestProducts(productsRequest);
+
+        assertEquals(2, mockClient.requestBodies.size());
+        assertEquals(0, shopApiClient.getProductCacheStats().getSize());
+    }
+
+    @Test
+    public void testEviction() {
+        RecordingMockClient mockClient = new RecordingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setProductCacheSize(1);
+
+        shopApiClient.requestProducts(new ProductsRequest.Builder()
+                .filterByProductIds(Arrays.asList(1l, 2l))
+                .build());
+
+        CacheStats stats = shopApiClient.getProductCacheStats();
+        assertEquals(1, stats.getEvictionCount());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    public void testSearchResultsAreCached() {
+        RecordingMockClient mockClient = new RecordingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setProductCacheSize(CACHE_SIZE);
+
+        mockClient.response = "[{\"product_search\":{\"product_count\":1,\"products\":[{\"id\":1,\"name\":\"Product 1\"}]}}]";
+        shopApiClient.requestProductSearch(new ProductSearchRequest.Builder("foobar").build());
+        mockClient.requestBodies.clear();
+
+        List<Product> products = shopApiClient.requestProducts(new ProductsRequest.Builder()
+                .filterByProductIds(Arrays.asList(1l))
+                .build());
+
+        assertEquals(0, mockClient.requestBodies.size());
+        assertEquals("Product 1", products.get(0).getName());
+    }
+
+    private class RecordingMockClient extends MockClient {
+
+        private final List<String> requestBodies = new ArrayList<>();
+        private String response = "[{\"products\":{\"ids\":{" +
+                "\"1\":{\"name\":\"Product 1\",\"id\":1,\"sale\":true}," +
+                "\"2\":{\"name\":\"Product 2\",\"id\":2,\"sale\":false}}}}]";
+
+        @Override
+        protected void validateRequestBody(String requestBody) {
+            requestBodies.add(requestBody);
+        }
+
+        @Override
+        protected String getResponse() {
+            return response;
+        }
+
+    }
+}
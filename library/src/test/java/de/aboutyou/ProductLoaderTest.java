@@ -0,0 +1,161 @@
+package de.aboutyou;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.aboutyou.enums.ProductFields;
+import de.aboutyou.exceptions.CollinsException;
+import de.aboutyou.internal.communication.ProductLoader;
+import de.aboutyou.models.Product;
+import de.aboutyou.request.ProductsRequest;
+import de.aboutyou.util.MockClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ProductLoaderTest extends TestBase {
+
+    @Test
+    public void testConcurrentRequestsAreMerged() throws Exception {
+        CountingMockClient mockClient = new CountingMockClient();
+        final ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setCoalescingWindow(500, TimeUnit.MILLISECONDS);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        Future<List<Product>> first = executorService.submit(new Callable<List<Product>>() {
+            @Override
+            public List<Product> call() throws Exception {
+                ProductsRequest productsRequest = new ProductsRequest.Builder()
+                        .filterByProductIds(Arrays.asList(1l, 2l))
+                        .listFields(Arrays.asList(ProductFields.NAME))
+                        .build();
+                return shopApiClient.requestProducts(productsRequest);
+            }
+        });
+        Future<List<Product>> second = executorService.submit(new Callable<List<Product>>() {
+            @Override
+            public List<Product> call() throws Exception {
+                ProductsRequest productsRequest = new ProductsRequest.Builder()
+                        .filterByProductIds(Arrays.asList(2l, 3l))
+                        .listFields(Arrays.asList(ProductFields.VARIANTS))
+                        .build();
+                return shopApiClient.requestProducts(productsRequest);
+            }
+        });
+
+        List<Product> firstProducts = first.get();
+        List<Product> secondProducts = second.get();
+        executorService.shutdown();
+
+        assertEquals(1, mockClient.requestCount.get());
+        assertTrue(mockClient.lastRequestBody.contains("\"name\""));
+        assertTrue(mockClient.lastRequestBody.contains("\"variants\""));
+
+        assertTrue(firstProducts.size() == 2);
+        assertEquals(1, firstProducts.get(0).getId());
+        assertEquals(2, firstProducts.get(1).getId());
+        assertTrue(secondProducts.size() == 2);
+        assertEquals(2, secondProducts.get(0).getId());
+        assertEquals(3, secondProducts.get(1).getId());
+    }
+
+    @Test
+    public void testDuplicateIdsAreRequestedOnce() {
+        CountingMockClient mockClient = new CountingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+
+        ProductsRequest productsRequest = new ProductsRequest.Builder()
+                .filterByProductIds(Arrays.asList(1l, 1l, 3l))
+                .build();
+        List<Product> products = shopApiClient.requestProducts(productsRequest);
+
+        assertEquals("[{\"products\":{\"ids\":[1,3]}}]", mockClient.lastRequestBody);
+        assertTrue(products.size() == 2);
+    }
+
+    @Test
+    public void testErrorInFetchReleasesWaitingCallers() throws Exception {
+        final AtomicInteger fetchCount = new AtomicInteger();
+        final ProductLoader productLoader = new ProductLoader(new ProductLoader.Fetcher() {
+            @Override
+            public Map<Long, Product> fetch(List<Long> productIds, List<ProductFields> fields) {
+                if (fetchCount.incrementAndGet() == 1) {
+                    try {
+                        Thread.sleep(300);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new AssertionError("fetch failed");
+                }
+                Product product = new Product();
+                product.setId(productIds.get(0));
+                return Collections.singletonMap(product.getId(), product);
+            }
+        });
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        Future<List<Product>> leading = executorService.submit(new Callable<List<Product>>() {
+            @Override
+            public List<Product> call() {
+                return productLoader.load(Arrays.asList(1l), null);
+            }
+        });
+        Thread.sleep(100);
+        Future<List<Product>> waiting = executorService.submit(new Callable<List<Product>>() {
+            @Override
+            public List<Product> call() {
+                return productLoader.load(Arrays.asList(1l), null);
+            }
+        });
+
+        try {
+            leading.get(5, TimeUnit.SECONDS);
+            fail("Expected the fetch to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof AssertionError);
+        }
+        try {
+            waiting.get(5, TimeUnit.SECONDS);
+            fail("Expected the fetch to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof CollinsException);
+        }
+        executorService.shutdown();
+
+        assertEquals(1, productLoader.load(Arrays.asList(1l), null).size());
+        assertEquals(2, fetchCount.get());
+    }
+
+    private class CountingMockClient extends MockClient {
+
+        private final AtomicInteger requestCount = new AtomicInteger();
+        private volatile String lastRequestBody;
+
+        @Override
+        protected void validateRequestBody(String requestBody) {
+            requestCount.incrementAndGet();
+            lastRequestBody = requestBody;
+        }
+
+        @Override
+        protected String getResponse() {
+            return "[{\"products\":{\"ids\":{" +
+                    "\"1\":{\"name\":\"Product 1\",\"id\":1}," +
+                    "\"2\":{\"name\":\"Product 2\",\"id\":2}," +
+                    "\"3\":{\"name\":\"Product 3\",\"id\":3}}}}]";
+        }
+
+    }
+}
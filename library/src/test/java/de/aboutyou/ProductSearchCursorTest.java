@@ -0,0 +1,151 @@
+package de.aboutyou;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import de.aboutyou.models.Product;
+import de.aboutyou.request.ProductSearchRequest;
+import de.aboutyou.util.MockClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ProductSearchCursorTest extends TestBase {
+
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    @Test
+    public void testPrefetch() {
+        PagingMockClient mockClient = new PagingMockClient(25);
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setAsyncExecutor(DIRECT_EXECUTOR);
+
+        ProductSearchCursor cursor = shopApiClient.productSearchCursor(new ProductSearchRequest.Builder("foobar").build(), 10, 5);
+        assertEquals(0, mockClient.offsets.size());
+
+        assertEquals(1, cursor.get(0).getId());
+        assertEquals(Arrays.asList(0), mockClient.offsets);
+
+        assertEquals(5, cursor.get(4).getId());
+        assertEquals(Arrays.asList(0), mockClient.offsets);
+
+        assertEquals(6, cursor.get(5).getId());
+        assertEquals(Arrays.asList(0, 10), mockClient.offsets);
+        assertEquals(25, cursor.getProductCount());
+    }
+
+    @Test
+    public void testPeek() {
+        PagingMockClient mockClient = new PagingMockClient(25);
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        QueueExecutor executor = new QueueExecutor();
+        shopApiClient.setAsyncExecutor(executor);
+
+        ProductSearchCursor cursor = shopApiClient.productSearchCursor(new ProductSearchRequest.Builder("foobar").build(), 10, 0);
+
+        assertNull(cursor.peek(0));
+        assertEquals(1, executor.tasks.size());
+        assertNull(cursor.peek(1));
+        assertEquals(1, executor.tasks.size());
+
+        executor.runAll();
+        assertEquals(2, cursor.peek(1).getId());
+        assertNull(cursor.peek(25));
+        assertEquals(Arrays.asList(0), mockClient.offsets);
+    }
+
+    @Test
+    public void testIteration() {
+        PagingMockClient mockClient = new PagingMockClient(25);
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setAsyncExecutor(DIRECT_EXECUTOR);
+
+        ProductSearchRequest request = new ProductSearchRequest.Builder("foobar")
+                .offset(3)
+                .build();
+
+        List<Long> ids = new ArrayList<>();
+        for (Product product : shopApiClient.productSearchCursor(request, 10, 0)) {
+            ids.add(product.getId());
+        }
+
+        assertEquals(22, ids.size());
+        assertEquals(4, (long) ids.get(0));
+        assertEquals(25, (long) ids.get(21));
+        assertEquals(Arrays.asList(3, 13, 23), mockClient.offsets);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexOutOfBounds() {
+        ShopApiClient shopApiClient = getNewApiClient(new PagingMockClient(5));
+        shopApiClient.setAsyncExecutor(DIRECT_EXECUTOR);
+
+        shopApiClient.productSearchCursor(new ProductSearchRequest.Builder("foobar").build(), 10, 5).get(5);
+    }
+
+    private static class QueueExecutor implements Executor {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        private void runAll() {
+            for (Runnable task : tasks) {
+                task.run();
+            }
+            tasks.clear();
+        }
+    }
+
+    private class PagingMockClient extends MockClient {
+
+        private final Pattern PAGE_PATTERN = Pattern.compile("\"limit\":(\\d+),\"offset\":(\\d+)");
+
+        private final int productCount;
+        private final List<Integer> offsets = new ArrayList<>();
+        private int offset;
+        private int limit;
+
+        private PagingMockClient(int productCount) {
+            this.productCount = productCount;
+        }
+
+        @Override
+        protected void validateRequestBody(String requestBody) {
+            Matcher matcher = PAGE_PATTERN.matcher(requestBody);
+            if (!matcher.find()) {
+                throw new AssertionError(requestBody);
+            }
+            limit = Integer.parseInt(matcher.group(1));
+            offset = Integer.parseInt(matcher.group(2));
+            offsets.add(offset);
+        }
+
+        @Override
+        protected String getResponse() {
+            StringBuilder response = new StringBuilder("[{\"product_search\":{\"product_count\":").append(productCount).append(",\"products\":[");
+            for (int i = offset; i < Math.min(offset + limit, productCount); i++) {
+                if (i > offset) {
+                    response.append(',');
+                }
+                response.append("{\"id\":").append(i + 1).append(",\"name\":\"Product ").append(i + 1).append("\"}");
+            }
+            return response.append("]}}]").toString();
+        }
+
+    }
+}
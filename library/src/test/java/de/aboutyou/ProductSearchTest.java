@@ -2,10 +2,12 @@ package de.aboutyou;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import de.aboutyou.models.Category;
+import de.aboutyou.models.Product;
 import de.aboutyou.models.ProductSearch;
 import de.aboutyou.request.CategoriesRequest;
 import de.aboutyou.request.ProductSearchRequest;
@@ -13,6 +15,7 @@ import de.aboutyou.util.MockClient;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class ProductSearchTest extends TestBase {
@@ -65,4 +68,37 @@ public class ProductSearchTest extends TestBase {
         }
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testStreamedResponse() {
+        ShopApiClient shopApiClient = getNewApiClient(new StreamedResponseMockClient());
+
+        ProductSearchRequest productSearchRequest = new ProductSearchRequest.Builder("foobar")
+                .filterByCategories(Arrays.asList(1l))
+                .build();
+
+        final List<Product> products = new ArrayList<>();
+        ProductSearch productSearch = shopApiClient.requestProductSearch(productSearchRequest, new ShopApiClient.ProductConsumer() {
+            @Override
+            public void onProduct(Product product) {
+                products.add(product);
+            }
+        });
+
+        assertNotNull(productSearch);
+        assertEquals(2, productSearch.getProductCount());
+        assertNull(productSearch.getProducts());
+        assertEquals(2, products.size());
+        assertEquals("Produkt 1", products.get(0).getName());
+        assertEquals(2, products.get(1).getId());
+    }
+
+    private class StreamedResponseMockClient extends MockClient {
+
+        @Override
+        protected String getResponse() {
+            return "[{\"product_search\":{\"products\":[{\"id\":1,\"name\":\"Produkt 1\"},{\"id\":2,\"name\":\"Produkt 2\"}],\"facets\":{},\"product_count\":2}}]";
+        }
+
+    }
+}
@@ -5,12 +5,16 @@ import org.junit.Test;
 import java.util.Arrays;
 import java.util.List;
 
+import de.aboutyou.enums.FacetType;
+import de.aboutyou.enums.ProductFields;
 import de.aboutyou.models.Product;
+import de.aboutyou.models.Variant;
 import de.aboutyou.request.ProductsRequest;
 import de.aboutyou.util.MockClient;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class ProductsTest extends TestBase {
@@ -68,4 +72,48 @@ public class ProductsTest extends TestBase {
         }
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testVariantResponse() {
+        ShopApiClient shopApiClient = getNewApiClient(new VariantResponseMockClient());
+
+        ProductsRequest productsRequest = new ProductsRequest.Builder()
+                .filterByProductIds(Arrays.asList(1l))
+                .listFields(Arrays.asList(ProductFields.VARIANTS, ProductFields.DEFAULT_IMAGE))
+                .build();
+
+        Product product = shopApiClient.requestProducts(productsRequest).get(0);
+
+        assertEquals(1, product.getId());
+        assertTrue(product.getSale());
+        assertEquals(1999, product.getMinPrice().longValue());
+        assertEquals("abc", product.getImage().getHash());
+        assertEquals(400, product.getImage().getDimensions().getWidth());
+
+        Variant variant = product.getVariants().get(0);
+        assertEquals(11, variant.getId());
+        assertEquals(3, variant.getQuantity());
+        assertTrue(variant.getDefaultVariant());
+        assertNotNull(variant.getUpdatedDate());
+        assertNull(variant.getEan());
+        assertEquals(1, variant.getImages().size());
+        assertEquals(Arrays.asList(570l, 571l), variant.getAttributes().get(FacetType.SIZE));
+        assertEquals(2, variant.getAttributes().size());
+        assertEquals(FacetType.COLOR.getId(), variant.getAttributes().getGroupId(0));
+        assertEquals(571l, variant.getAttributes().getFacetId(FacetType.SIZE.getId(), 1));
+        assertTrue(variant.getAttributes().containsFacet(FacetType.COLOR.getId(), 40));
+        assertEquals(0, variant.getAttributes().getFacetCount(FacetType.CUPSIZE.getId()));
+    }
+
+    private class VariantResponseMockClient extends MockClient {
+
+        @Override
+        protected String getResponse() {
+            return "[{\"products\":{\"ids\":{\"1\":{\"id\":1,\"sale\":true,\"min_price\":1999,\"unknown\":{\"a\":[1]}," +
+                    "\"default_image\":{\"hash\":\"abc\",\"ext\":\".jpg\",\"image\":{\"width\":400,\"height\":600}}," +
+                    "\"variants\":[{\"id\":11,\"quantity\":3,\"default\":true,\"ean\":null,\"updated_date\":\"01-04-2014 12:30:00\"," +
+                    "\"images\":[{\"hash\":\"def\"}],\"attributes\":{\"attributes_2\":[570,571],\"attributes_1\":[40]}}]}}}}]";
+        }
+
+    }
+}
@@ -0,0 +1,210 @@
+package de.aboutyou;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.aboutyou.enums.Endpoint;
+import de.aboutyou.enums.FacetType;
+import de.aboutyou.enums.Operation;
+import de.aboutyou.exceptions.CollinsException;
+import de.aboutyou.models.RequestMetrics;
+import de.aboutyou.util.MockClient;
+import retrofit.client.Request;
+import retrofit.client.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ResponseCacheTest extends TestBase {
+
+    private static final String FACET_TYPES_RESPONSE = "[{\"facet_types\":[0,1,2,3,4]}]";
+
+    private File cacheDirectory;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheDirectory = Files.createTempDirectory("response-cache").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        deleteRecursively(cacheDirectory);
+    }
+
+    @Test
+    public void testResponseIsRestoredFromDisk() {
+        CountingMockClient mockClient = new CountingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setResponseCache(cacheDirectory, 1024 * 1024);
+        shopApiClient.requestFacetTypes();
+        assertEquals(1, mockClient.requestCount.get());
+
+        CountingMockClient coldStartMockClient = new CountingMockClient();
+        ShopApiClient coldStartApiClient = getNewApiClient(coldStartMockClient);
+        coldStartApiClient.setResponseCache(cacheDirectory, 1024 * 1024);
+        List<FacetType> facetTypes = coldStartApiClient.requestFacetTypes();
+
+        assertEquals(0, coldStartMockClient.requestCount.get());
+        assertTrue(facetTypes.size() == 5);
+        assertEquals(FacetType.SIZE, facetTypes.get(2));
+        assertEquals(1, coldStartApiClient.getResponseCacheStats().getHitCount());
+    }
+
+    @Test
+    public void testCachedResponseIsNotReported() {
+        CountingMockClient mockClient = new CountingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setResponseCache(cacheDirectory, 1024 * 1024);
+        final List<RequestMetrics> metrics = new ArrayList<>();
+        shopApiClient.setMetricsListener(new ShopApiClient.MetricsListener() {
+            @Override
+            public void onRequestFinished(RequestMetrics requestMetrics) {
+                metrics.add(requestMetrics);
+            }
+        });
+
+        shopApiClient.requestFacetTypes();
+        shopApiClient.requestFacetTypes();
+
+        assertEquals(1, mockClient.requestCount.get());
+        assertEquals(1, metrics.size());
+    }
+
+    @Test
+    public void testStaleResponseIsRevalidated() throws InterruptedException {
+        CountingMockClient mockClient = new CountingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setResponseCache(cacheDirectory, 1024 * 1024);
+        shopApiClient.setResponseCacheTtl(Operation.FACET_TYPES, 0, 1, TimeUnit.HOURS);
+        shopApiClient.requestFacetTypes();
+        Thread.sleep(5);
+
+        List<FacetType> facetTypes = shopApiClient.requestFacetTypes();
+        assertTrue(facetTypes.size() == 5);
+
+        for (int i = 0; i < 100 && mockClient.requestCount.get() < 2; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, mockClient.requestCount.get());
+    }
+
+    @Test
+    public void testExpiredResponseIsUsedOffline() throws InterruptedException {
+        CountingMockClient mockClient = new CountingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setResponseCache(cacheDirectory, 1024 * 1024);
+        shopApiClient.setResponseCacheTtl(Operation.FACET_TYPES, 1, 0, TimeUnit.MILLISECONDS);
+        shopApiClient.requestFacetTypes();
+        Thread.sleep(5);
+
+        mockClient.offline = true;
+        List<FacetType> facetTypes = shopApiClient.requestFacetTypes();
+
+        assertEquals(2, mockClient.requestCount.get());
+        assertTrue(facetTypes.size() == 5);
+    }
+
+    @Test(expected = CollinsException.class)
+    public void testUncachedResponseFailsOffline() {
+        CountingMockClient mockClient = new CountingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setResponseCache(cacheDirectory, 1024 * 1024);
+        shopApiClient.setResponseCacheTtl(Operation.FACET_TYPES, 0, 0, TimeUnit.MILLISECONDS);
+        shopApiClient.requestFacetTypes();
+
+        mockClient.offline = true;
+        shopApiClient.requestFacetTypes();
+    }
+
+    @Test
+    public void testErrorResponseIsNotCached() {
+        CountingMockClient mockClient = new CountingMockClient();
+        mockClient.response = "[{\"facet_types\":{\"error_code\":500,\"error_message\":[\"internal error\"]}}]";
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setResponseCache(cacheDirectory, 1024 * 1024);
+        try {
+            shopApiClient.requestFacetTypes();
+        } catch (CollinsException e) {
+            // expected
+        }
+
+        mockClient.response = FACET_TYPES_RESPONSE;
+        List<FacetType> facetTypes = shopApiClient.requestFacetTypes();
+
+        assertEquals(2, mockClient.requestCount.get());
+        assertTrue(facetTypes.size() == 5);
+    }
+
+    @Test
+    public void testResponsesAreNotSharedBetweenApps() {
+        CountingMockClient mockClient = new CountingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setResponseCache(cacheDirectory, 1024 * 1024);
+        shopApiClient.requestFacetTypes();
+
+        ShopApiClient otherApiClient = new ShopApiClient("other", "secret", Endpoint.STAGE, null, mockClient);
+        otherApiClient.setResponseCache(cacheDirectory, 1024 * 1024);
+        otherApiClient.requestFacetTypes();
+
+        assertEquals(2, mockClient.requestCount.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWriteOperationsAreNotCached() {
+        ShopApiClient shopApiClient = getNewApiClient(new CountingMockClient());
+        shopApiClient.setResponseCacheTtl(Operation.BASKET_MODIFY, 1, 0, TimeUnit.MINUTES);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBasketIsNotCached() {
+        ShopApiClient shopApiClient = getNewApiClient(new CountingMockClient());
+        shopApiClient.setResponseCacheTtl(Operation.BASKET_GET, 1, 0, TimeUnit.MINUTES);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLiveVariantsAreNotCached() {
+        ShopApiClient shopApiClient = getNewApiClient(new CountingMockClient());
+        shopApiClient.setResponseCacheTtl(Operation.LIVE_VARIANT, 1, 0, TimeUnit.MINUTES);
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+
+    private class CountingMockClient extends MockClient {
+
+        private final AtomicInteger requestCount = new AtomicInteger();
+        private volatile boolean offline;
+        private volatile String response = FACET_TYPES_RESPONSE;
+
+        @Override
+        public Response execute(Request request) throws IOException {
+            requestCount.incrementAndGet();
+            if (offline) {
+                throw new IOException("offline");
+            }
+            return super.execute(request);
+        }
+
+        @Override
+        protected String getResponse() {
+            return response;
+        }
+
+    }
+}
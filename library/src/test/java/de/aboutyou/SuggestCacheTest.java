@@ -0,0 +1,124 @@
+package de.aboutyou;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import de.aboutyou.models.CacheStats;
+import de.aboutyou.models.Suggest;
+import de.aboutyou.request.SuggestRequest;
+import de.aboutyou.util.MockClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SuggestCacheTest extends TestBase {
+
+    private static final int CACHE_SIZE = 200;
+
+    @Test
+    public void testCachedSearchwordIsNotRequestedAgain() {
+        RecordingMockClient mockClient = new RecordingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setSuggestCacheSize(CACHE_SIZE);
+
+        Suggest first = shopApiClient.requestSuggest(new SuggestRequest.Builder("Sch").build());
+        Suggest second = shopApiClient.requestSuggest(new SuggestRequest.Builder("sch").build());
+
+        assertEquals(1, mockClient.requestBodies.size());
+        assertEquals(new ArrayList<>(first), new ArrayList<>(second));
+
+        first.clear();
+        Suggest third = shopApiClient.requestSuggest(new SuggestRequest.Builder("sch").build());
+        assertEquals(3, third.size());
+        assertTrue(second != third);
+    }
+
+    @Test
+    public void testCacheIsDisabledByDefault() {
+        RecordingMockClient mockClient = new RecordingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+
+        shopApiClient.requestSuggest(new SuggestRequest.Builder("sch").build());
+        shopApiClient.requestSuggest(new SuggestRequest.Builder("sch").build());
+
+        assertEquals(2, mockClient.requestBodies.size());
+    }
+
+    @Test
+    public void testLongerSearchwordIsFiltered() {
+        RecordingMockClient mockClient = new RecordingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setSuggestCacheSize(CACHE_SIZE);
+
+        shopApiClient.requestSuggest(new SuggestRequest.Builder("sch").limit(10).build());
+        Suggest suggest = shopApiClient.requestSuggest(new SuggestRequest.Builder("Schu").limit(5).build());
+
+        assertEquals(1, mockClient.requestBodies.size());
+        assertEquals(Arrays.asList("schuhe", "Turnschuhe"), new ArrayList<>(suggest));
+
+        CacheStats stats = shopApiClient.getSuggestCacheStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+    }
+
+    @Test
+    public void testIncompleteResultsAreNotFiltered() {
+        RecordingMockClient mockClient = new RecordingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setSuggestCacheSize(CACHE_SIZE);
+
+        shopApiClient.requestSuggest(new SuggestRequest.Builder("sch").limit(3).build());
+        shopApiClient.requestSuggest(new SuggestRequest.Builder("schu").limit(3).build());
+        shopApiClient.requestSuggest(new SuggestRequest.Builder("schuh").build());
+
+        assertEquals(3, mockClient.requestBodies.size());
+    }
+
+    @Test
+    public void testCategoryFilterIsPartOfTheKey() {
+        RecordingMockClient mockClient = new RecordingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setSuggestCacheSize(CACHE_SIZE);
+
+        shopApiClient.requestSuggest(new SuggestRequest.Builder("sch").limit(10).filterByCategories(Arrays.asList(2l, 1l)).build());
+        shopApiClient.requestSuggest(new SuggestRequest.Builder("schu").limit(10).filterByCategories(Arrays.asList(1l, 2l)).build());
+        shopApiClient.requestSuggest(new SuggestRequest.Builder("schu").limit(10).build());
+
+        assertEquals(2, mockClient.requestBodies.size());
+    }
+
+    @Test
+    public void testEviction() {
+        RecordingMockClient mockClient = new RecordingMockClient();
+        ShopApiClient shopApiClient = getNewApiClient(mockClient);
+        shopApiClient.setSuggestCacheSize(1);
+
+        shopApiClient.requestSuggest(new SuggestRequest.Builder("sch").limit(10).build());
+        shopApiClient.requestSuggest(new SuggestRequest.Builder("hose").limit(10).build());
+        shopApiClient.requestSuggest(new SuggestRequest.Builder("schu").limit(10).build());
+
+        assertEquals(3, mockClient.requestBodies.size());
+        CacheStats stats = shopApiClient.getSuggestCacheStats();
+        assertEquals(2, stats.getEvictionCount());
+        assertEquals(1, stats.getSize());
+    }
+
+    private class RecordingMockClient extends MockClient {
+
+        private final List<String> requestBodies = new ArrayList<>();
+
+        @Override
+        protected void validateRequestBody(String requestBody) {
+            requestBodies.add(requestBody);
+        }
+
+        @Override
+        protected String getResponse() {
+            return "[{\"suggest\":[\"schuhe\",\"schal\",\"Turnschuhe\"]}]";
+        }
+
+    }
+}
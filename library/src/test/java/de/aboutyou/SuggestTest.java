@@ -61,7 +61,28 @@ public class SuggestTest extends TestBase {
 
     }
 
-}
+    @Test
+    public void testErrorResponse() {
+        ShopApiClient shopApiClient = getNewApiClient(new ErrorResponseMockClient());
+
+        SuggestRequest suggestRequest = new SuggestRequest.Builder("foobar")
+                .build();
+
+        Suggest suggest = shopApiClient.requestSuggest(suggestRequest);
+
+        assertNotNull(suggest);
+        assertTrue(suggest.isEmpty());
+        assertEquals(400, suggest.getErrorCode());
+        assertEquals("searchword is too short", suggest.getErrorMessages().get(0));
+    }
 
+    private class ErrorResponseMockClient extends MockClient {
+
+        @Override
+        protected String getResponse() {
+            return "[{\"suggest\":{\"error_message\":[\"searchword is too short\"],\"error_code\":400}}]";
+        }
 
+    }
 
+}